@@ -0,0 +1,147 @@
+package com.nacrondx.suitesync.benchmark;
+
+import com.nacrondx.suitesync.SuiteSyncApplication;
+import com.nacrondx.suitesync.config.TestContainersConfiguration;
+import com.nacrondx.suitesync.entity.Room;
+import com.nacrondx.suitesync.repository.RoomRepository;
+import com.nacrondx.suitesync.repository.RoomSearchFilter;
+import com.nacrondx.suitesync.repository.RoomSpecification;
+import com.nacrondx.suitesync.service.RoomCatalog;
+import com.nacrondx.suitesync.service.RoomCatalogService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Compares the Criteria-based {@link RoomSpecification} path with the cached native statements
+ * behind {@link RoomRepository#search} and with the in-memory {@link RoomCatalog}, both on its
+ * own and with the page's rooms then loaded by id. Run with {@code ./gradlew jmh}; the gc profiler
+ * reports allocation per operation alongside latency. Requires Docker for the Postgres container.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RoomSearchBenchmark {
+  private static final int SEEDED_ROOMS = 2_000;
+
+  @Param({"none", "type", "all"})
+  private String filters;
+
+  private ConfigurableApplicationContext context;
+  private RoomRepository roomRepository;
+  private RoomCatalog roomCatalog;
+  private TransactionTemplate transactionTemplate;
+  private RoomSearchFilter filter;
+  private Pageable pageable;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    context =
+        SpringApplication.from(SuiteSyncApplication::main)
+            .with(TestContainersConfiguration.class)
+            .withAdditionalProfiles("test")
+            .run("--server.port=0")
+            .getApplicationContext();
+    roomRepository = context.getBean(RoomRepository.class);
+    transactionTemplate =
+        new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    transactionTemplate.setReadOnly(true);
+
+    seedRooms(context.getBean(JdbcTemplate.class));
+    roomCatalog = context.getBean(RoomCatalogService.class).refresh();
+
+    filter =
+        switch (filters) {
+          case "type" -> new RoomSearchFilter(Room.RoomType.DOUBLE, null, null, null, null, null);
+          case "all" -> new RoomSearchFilter(Room.RoomType.DOUBLE, 2, 80.0, 400.0, null, null);
+          default -> new RoomSearchFilter(null, null, null, null, null, null);
+        };
+    pageable = PageRequest.of(1, 20, Sort.by("pricePerNight", "id"));
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public Page<Room> criteria() {
+    return transactionTemplate.execute(
+        status ->
+            roomRepository.findAll(
+                RoomSpecification.withFilters(
+                    null,
+                    null,
+                    filter.numberOfGuests(),
+                    filter.roomType(),
+                    filter.minPrice(),
+                    filter.maxPrice(),
+                    filter.amenityMask()),
+                pageable));
+  }
+
+  @Benchmark
+  public Page<Room> precompiled() {
+    return transactionTemplate.execute(status -> roomRepository.search(filter, pageable));
+  }
+
+  @Benchmark
+  public Optional<RoomCatalog.Match> catalog() {
+    return roomCatalog.search(
+        filter, pageable.getSort(), pageable.getOffset(), pageable.getPageSize());
+  }
+
+  @Benchmark
+  public List<Room> catalogWithRows() {
+    var roomIds = catalog().orElseThrow().roomIds();
+    return transactionTemplate.execute(status -> roomRepository.findAllById(roomIds));
+  }
+
+  private void seedRooms(JdbcTemplate jdbcTemplate) {
+    var roomTypes = Room.RoomType.values();
+    var rows = new ArrayList<Object[]>(SEEDED_ROOMS);
+    for (int i = 0; i < SEEDED_ROOMS; i++) {
+      rows.add(
+          new Object[] {
+            "B" + i,
+            roomTypes[i % roomTypes.length].name(),
+            1 + i % 4,
+            50.0 + (i * 37) % 450,
+            18.0 + i % 40,
+            1 + i % 20
+          });
+    }
+    jdbcTemplate.batchUpdate(
+        "INSERT INTO rooms (room_number, room_type, max_occupancy, price_per_night, size, floor, "
+            + "status, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, 'AVAILABLE', now(), now())",
+        rows);
+    jdbcTemplate.execute("ANALYZE rooms");
+  }
+}
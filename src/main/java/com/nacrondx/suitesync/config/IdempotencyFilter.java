@@ -0,0 +1,211 @@
+package com.nacrondx.suitesync.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nacrondx.suitesync.model.user.ErrorResponse;
+import com.nacrondx.suitesync.service.IdempotencyService;
+import com.nacrondx.suitesync.service.IdempotencyService.StoredResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.OffsetDateTime;
+import java.util.HexFormat;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+/**
+ * Makes booking creation safe to retry. Requests carrying an {@code Idempotency-Key} header are
+ * hashed and checked with {@link IdempotencyService}; a repeat of a completed request gets the
+ * stored response replayed without reaching the controller. Keys are scoped to the authenticated
+ * user, and server errors are not stored so that the client can retry them.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotencyFilter extends OncePerRequestFilter {
+  public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+  public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+  private static final int MAX_KEY_LENGTH = 255;
+  private static final Set<String> IDEMPOTENT_PATHS =
+      Set.of("/api/v1/bookings", "/api/v1/bookings/group", "/api/v1/bookings/by-type");
+
+  private final IdempotencyService idempotencyService;
+  private final ObjectMapper objectMapper;
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return !HttpMethod.POST.matches(request.getMethod())
+        || !IDEMPOTENT_PATHS.contains(request.getRequestURI())
+        || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null;
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    var userId = currentUserId();
+    if (userId == null) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+
+    var key = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+    if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+      writeError(
+          request,
+          response,
+          HttpStatus.BAD_REQUEST,
+          IDEMPOTENCY_KEY_HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters");
+      return;
+    }
+
+    var body = request.getInputStream().readAllBytes();
+    var requestHash = hash(request, body);
+
+    StoredResponse replay;
+    try {
+      replay = idempotencyService.begin(userId, key, requestHash).orElse(null);
+    } catch (IllegalArgumentException e) {
+      writeError(request, response, HttpStatus.UNPROCESSABLE_ENTITY, e.getMessage());
+      return;
+    } catch (IllegalStateException e) {
+      writeError(request, response, HttpStatus.CONFLICT, e.getMessage());
+      return;
+    }
+
+    if (replay != null) {
+      log.debug("Replaying stored response for Idempotency-Key {}", key);
+      response.setStatus(replay.status());
+      if (replay.contentType() != null) {
+        response.setContentType(replay.contentType());
+      }
+      response.setHeader(REPLAYED_HEADER, "true");
+      response.getOutputStream().write(replay.body());
+      return;
+    }
+
+    var cachingResponse = new ContentCachingResponseWrapper(response);
+    var stored = false;
+    try {
+      filterChain.doFilter(new CachedBodyRequest(request, body), cachingResponse);
+      if (cachingResponse.getStatus() < HttpStatus.INTERNAL_SERVER_ERROR.value()) {
+        idempotencyService.complete(
+            userId,
+            key,
+            new StoredResponse(
+                requestHash,
+                cachingResponse.getStatus(),
+                cachingResponse.getContentType(),
+                cachingResponse.getContentAsByteArray()));
+        stored = true;
+      }
+    } finally {
+      if (!stored) {
+        idempotencyService.abandon(userId, key);
+      }
+      cachingResponse.copyBodyToResponse();
+    }
+  }
+
+  private static Long currentUserId() {
+    var authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication != null
+        && authentication.getPrincipal() instanceof Jwt jwt
+        && jwt.getClaim("userId") instanceof Number userId) {
+      return userId.longValue();
+    }
+    return null;
+  }
+
+  private static String hash(HttpServletRequest request, byte[] body) {
+    try {
+      var digest = MessageDigest.getInstance("SHA-256");
+      digest.update(
+          (request.getMethod() + " " + request.getRequestURI() + "\n")
+              .getBytes(StandardCharsets.UTF_8));
+      return HexFormat.of().formatHex(digest.digest(body));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  private void writeError(
+      HttpServletRequest request, HttpServletResponse response, HttpStatus status, String message)
+      throws IOException {
+    var errorResponse = new ErrorResponse();
+    errorResponse.setTimestamp(OffsetDateTime.now());
+    errorResponse.setStatus(status.value());
+    errorResponse.setError(status.getReasonPhrase());
+    errorResponse.setMessage(message);
+    errorResponse.setPath(request.getRequestURI());
+
+    response.setStatus(status.value());
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    objectMapper.writeValue(response.getOutputStream(), errorResponse);
+  }
+
+  private static class CachedBodyRequest extends HttpServletRequestWrapper {
+    private final byte[] body;
+
+    CachedBodyRequest(HttpServletRequest request, byte[] body) {
+      super(request);
+      this.body = body;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+      var input = new ByteArrayInputStream(body);
+      return new ServletInputStream() {
+        @Override
+        public boolean isFinished() {
+          return input.available() == 0;
+        }
+
+        @Override
+        public boolean isReady() {
+          return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+          throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int read() {
+          return input.read();
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+          return input.read(buffer, offset, length);
+        }
+      };
+    }
+
+    @Override
+    public BufferedReader getReader() {
+      return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+    }
+  }
+}
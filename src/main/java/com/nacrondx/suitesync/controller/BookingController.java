@@ -1,11 +1,18 @@
 package com.nacrondx.suitesync.controller;
 
 import com.nacrondx.suitesync.api.BookingsApi;
+import com.nacrondx.suitesync.model.booking.BookingHoldResponse;
 import com.nacrondx.suitesync.model.booking.BookingPageResponse;
 import com.nacrondx.suitesync.model.booking.BookingResponse;
 import com.nacrondx.suitesync.model.booking.BookingStatus;
+import com.nacrondx.suitesync.model.booking.CreateBookingHoldRequest;
 import com.nacrondx.suitesync.model.booking.CreateBookingRequest;
+import com.nacrondx.suitesync.model.booking.CreateGroupBookingRequest;
+import com.nacrondx.suitesync.model.booking.CreateRoomTypeBookingRequest;
+import com.nacrondx.suitesync.model.booking.GroupBookingResponse;
+import com.nacrondx.suitesync.model.booking.IncludeTotal;
 import com.nacrondx.suitesync.model.booking.UpdateBookingRequest;
+import com.nacrondx.suitesync.service.BookingHoldService;
 import com.nacrondx.suitesync.service.BookingService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -19,6 +26,7 @@ import org.springframework.web.bind.annotation.RestController;
 @Slf4j
 public class BookingController implements BookingsApi {
   private final BookingService bookingService;
+  private final BookingHoldService bookingHoldService;
 
   @Override
   @PreAuthorize("isAuthenticated()")
@@ -29,6 +37,45 @@ public class BookingController implements BookingsApi {
         .body(bookingService.createBooking(createBookingRequest));
   }
 
+  @Override
+  @PreAuthorize("isAuthenticated()")
+  public ResponseEntity<GroupBookingResponse> createGroupBooking(
+      CreateGroupBookingRequest createGroupBookingRequest) {
+    log.info(
+        "Received request to create group booking for {} rooms",
+        createGroupBookingRequest.getRooms().size());
+    return ResponseEntity.status(HttpStatus.CREATED)
+        .body(bookingService.createGroupBooking(createGroupBookingRequest));
+  }
+
+  @Override
+  @PreAuthorize("isAuthenticated()")
+  public ResponseEntity<BookingResponse> createRoomTypeBooking(
+      CreateRoomTypeBookingRequest createRoomTypeBookingRequest) {
+    log.info(
+        "Received request to book a room of type: {}",
+        createRoomTypeBookingRequest.getRoomType());
+    return ResponseEntity.status(HttpStatus.CREATED)
+        .body(bookingService.createRoomTypeBooking(createRoomTypeBookingRequest));
+  }
+
+  @Override
+  @PreAuthorize("isAuthenticated()")
+  public ResponseEntity<BookingHoldResponse> createBookingHold(
+      CreateBookingHoldRequest createBookingHoldRequest) {
+    log.info("Received request to hold room ID: {}", createBookingHoldRequest.getRoomId());
+    return ResponseEntity.status(HttpStatus.CREATED)
+        .body(bookingHoldService.createHold(createBookingHoldRequest));
+  }
+
+  @Override
+  @PreAuthorize("isAuthenticated()")
+  public ResponseEntity<Void> releaseBookingHold(Long holdId) {
+    log.info("Received request to release hold with ID: {}", holdId);
+    bookingHoldService.releaseHold(holdId);
+    return ResponseEntity.noContent().build();
+  }
+
   @Override
   @PreAuthorize("isAuthenticated()")
   public ResponseEntity<BookingResponse> getBookingById(Long bookingId) {
@@ -39,13 +86,14 @@ public class BookingController implements BookingsApi {
   @Override
   @PreAuthorize("isAuthenticated()")
   public ResponseEntity<BookingPageResponse> getAllBookings(
-      BookingStatus status, Integer page, Integer size) {
+      BookingStatus status, Integer page, Integer size, IncludeTotal includeTotal) {
     log.info(
-        "Received request to get all bookings with status: {}, page: {}, size: {}",
+        "Received request to get all bookings with status: {}, page: {}, size: {}, includeTotal: {}",
         status,
         page,
-        size);
-    return ResponseEntity.ok(bookingService.getAllBookings(status, page, size));
+        size,
+        includeTotal);
+    return ResponseEntity.ok(bookingService.getAllBookings(status, page, size, includeTotal));
   }
 
   @Override
@@ -0,0 +1,59 @@
+package com.nacrondx.suitesync.controller;
+
+import com.nacrondx.suitesync.model.booking.BookingStatus;
+import com.nacrondx.suitesync.service.BookingExportFormat;
+import com.nacrondx.suitesync.service.BookingService;
+import java.time.LocalDate;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Streams live and archived bookings straight from a database cursor to the response. Kept
+ * outside the generated {@code BookingsApi} because a streamed body cannot be described by the
+ * OpenAPI generator.
+ */
+@RestController
+@RequiredArgsConstructor
+@Slf4j
+public class BookingExportController {
+  private final BookingService bookingService;
+
+  @GetMapping("/api/v1/bookings/export")
+  @PreAuthorize("hasAnyRole('ADMIN', 'STAFF')")
+  public ResponseEntity<StreamingResponseBody> exportBookings(
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+      @RequestParam(required = false) BookingStatus status,
+      @RequestParam(defaultValue = "NDJSON") BookingExportFormat format) {
+    log.info(
+        "Received request to export bookings from {} to {} with status: {} as {}",
+        from,
+        to,
+        status,
+        format);
+
+    if (!from.isBefore(to)) {
+      throw new IllegalArgumentException("Export range end must be after its start");
+    }
+
+    var filename = "bookings-" + from + "-" + to + "." + format.getFileExtension();
+    StreamingResponseBody body =
+        outputStream -> bookingService.exportBookings(from, to, status, format, outputStream);
+
+    return ResponseEntity.ok()
+        .contentType(format.getMediaType())
+        .header(
+            HttpHeaders.CONTENT_DISPOSITION,
+            ContentDisposition.attachment().filename(filename).build().toString())
+        .body(body);
+  }
+}
@@ -2,9 +2,10 @@ package com.nacrondx.suitesync.controller;
 
 import com.nacrondx.suitesync.api.ReviewsApi;
 import com.nacrondx.suitesync.model.review.CreateReviewRequest;
+import com.nacrondx.suitesync.model.review.ReviewPageResponse;
 import com.nacrondx.suitesync.model.review.ReviewResponse;
 import com.nacrondx.suitesync.service.ReviewService;
-import java.util.List;
+import java.time.OffsetDateTime;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -19,9 +20,11 @@ public class ReviewController implements ReviewsApi {
   private final ReviewService reviewService;
 
   @Override
-  public ResponseEntity<List<ReviewResponse>> getReviewsByRoomId(Long roomId) {
+  public ResponseEntity<ReviewPageResponse> getReviewsByRoomId(
+      Long roomId, OffsetDateTime beforeCreatedAt, Long beforeId, Integer size) {
     log.info("Received request to get reviews for room ID: {}", roomId);
-    return ResponseEntity.ok(reviewService.getReviewsByRoomId(roomId));
+    return ResponseEntity.ok(
+        reviewService.getReviewsByRoomId(roomId, beforeCreatedAt, beforeId, size));
   }
 
   @Override
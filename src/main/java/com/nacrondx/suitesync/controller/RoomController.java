@@ -2,13 +2,23 @@ package com.nacrondx.suitesync.controller;
 
 import com.nacrondx.suitesync.api.RoomsApi;
 import com.nacrondx.suitesync.model.room.AvailabilityResponse;
+import com.nacrondx.suitesync.model.room.BulkAvailabilityResponse;
 import com.nacrondx.suitesync.model.room.CreateRoomRequest;
+import com.nacrondx.suitesync.model.room.IncludeTotal;
+import com.nacrondx.suitesync.model.room.OccupancyHeatmapResponse;
+import com.nacrondx.suitesync.model.room.RankedRoomResponse;
+import com.nacrondx.suitesync.model.room.RoomCalendarResponse;
 import com.nacrondx.suitesync.model.room.RoomPageResponse;
 import com.nacrondx.suitesync.model.room.RoomResponse;
+import com.nacrondx.suitesync.model.room.RoomSortOption;
 import com.nacrondx.suitesync.model.room.RoomType;
+import com.nacrondx.suitesync.model.room.RoomTypeAvailabilityResponse;
 import com.nacrondx.suitesync.model.room.UpdateRoomRequest;
+import com.nacrondx.suitesync.service.OccupancyHeatmapService;
+import com.nacrondx.suitesync.service.RoomRankingService;
 import com.nacrondx.suitesync.service.RoomService;
 import java.time.LocalDate;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -21,6 +31,8 @@ import org.springframework.web.bind.annotation.RestController;
 @Slf4j
 public class RoomController implements RoomsApi {
   private final RoomService roomService;
+  private final RoomRankingService roomRankingService;
+  private final OccupancyHeatmapService occupancyHeatmapService;
 
   @Override
   public ResponseEntity<RoomPageResponse> getAllRooms(
@@ -31,9 +43,14 @@ public class RoomController implements RoomsApi {
       Double minPrice,
       Double maxPrice,
       Integer page,
-      Integer size) {
+      Integer size,
+      RoomSortOption sort,
+      IncludeTotal includeTotal,
+      Boolean includeFacets,
+      String q,
+      List<String> amenities) {
     log.info(
-        "Received request to get all rooms - checkIn: {}, checkOut: {}, guests: {}, type: {}, minPrice: {}, maxPrice: {}, page: {}, size: {}",
+        "Received request to get all rooms - checkIn: {}, checkOut: {}, guests: {}, type: {}, minPrice: {}, maxPrice: {}, page: {}, size: {}, sort: {}, includeTotal: {}, includeFacets: {}, q: {}, amenities: {}",
         checkInDate,
         checkOutDate,
         numberOfGuests,
@@ -41,10 +58,40 @@ public class RoomController implements RoomsApi {
         minPrice,
         maxPrice,
         page,
-        size);
+        size,
+        sort,
+        includeTotal,
+        includeFacets,
+        q,
+        amenities);
     return ResponseEntity.ok(
         roomService.getAllRooms(
-            checkInDate, checkOutDate, numberOfGuests, roomType, minPrice, maxPrice, page, size));
+            checkInDate,
+            checkOutDate,
+            numberOfGuests,
+            roomType,
+            minPrice,
+            maxPrice,
+            page,
+            size,
+            sort,
+            includeTotal,
+            includeFacets,
+            q,
+            amenities));
+  }
+
+  @Override
+  public ResponseEntity<List<RankedRoomResponse>> getTopRatedRooms(
+      Integer limit, RoomType roomType, Double minPrice, Double maxPrice) {
+    log.info(
+        "Received request to get top rated rooms - limit: {}, type: {}, minPrice: {}, maxPrice: {}",
+        limit,
+        roomType,
+        minPrice,
+        maxPrice);
+    return ResponseEntity.ok(
+        roomRankingService.getTopRatedRooms(limit, roomType, minPrice, maxPrice));
   }
 
   @Override
@@ -86,4 +133,46 @@ public class RoomController implements RoomsApi {
         checkOutDate);
     return ResponseEntity.ok(roomService.checkRoomAvailability(roomId, checkInDate, checkOutDate));
   }
+
+  @Override
+  @PreAuthorize("hasAnyRole('ADMIN', 'STAFF')")
+  public ResponseEntity<OccupancyHeatmapResponse> getOccupancyHeatmap() {
+    log.info("Received request to get occupancy heatmap");
+    return ResponseEntity.ok(occupancyHeatmapService.getHeatmap());
+  }
+
+  @Override
+  public ResponseEntity<RoomCalendarResponse> getRoomCalendar(
+      Long roomId, LocalDate from, LocalDate to) {
+    log.info("Received request to get calendar for room ID: {} from {} to {}", roomId, from, to);
+    return ResponseEntity.ok(roomService.getRoomCalendar(roomId, from, to));
+  }
+
+  @Override
+  public ResponseEntity<RoomTypeAvailabilityResponse> checkRoomTypeAvailability(
+      RoomType roomType, LocalDate checkInDate, LocalDate checkOutDate) {
+    log.info(
+        "Received request to check availability for room type: {} from {} to {}",
+        roomType,
+        checkInDate,
+        checkOutDate);
+    return ResponseEntity.ok(
+        roomService.checkRoomTypeAvailability(roomType, checkInDate, checkOutDate));
+  }
+
+  @Override
+  public ResponseEntity<BulkAvailabilityResponse> checkRoomsAvailability(
+      LocalDate checkInDate,
+      LocalDate checkOutDate,
+      List<Long> roomIds,
+      Integer numberOfGuests,
+      RoomType roomType,
+      Double minPrice,
+      Double maxPrice) {
+    log.info(
+        "Received request to check availability of rooms from {} to {}", checkInDate, checkOutDate);
+    return ResponseEntity.ok(
+        roomService.checkRoomsAvailability(
+            checkInDate, checkOutDate, roomIds, numberOfGuests, roomType, minPrice, maxPrice));
+  }
 }
@@ -2,6 +2,7 @@ package com.nacrondx.suitesync.controller;
 
 import com.nacrondx.suitesync.api.UsersApi;
 import com.nacrondx.suitesync.model.user.CreateUserRequest;
+import com.nacrondx.suitesync.model.user.IncludeTotal;
 import com.nacrondx.suitesync.model.user.UpdateUserRequest;
 import com.nacrondx.suitesync.model.user.UserPageResponse;
 import com.nacrondx.suitesync.model.user.UserResponse;
@@ -54,7 +55,7 @@ public class UserController implements UsersApi {
   @Override
   @PreAuthorize("hasRole('ADMIN')")
   public ResponseEntity<UserPageResponse> getAllUsers(
-      UserType userType, Integer page, Integer size) {
-    return ResponseEntity.ok(userService.getAllUsers(userType, page, size));
+      UserType userType, Integer page, Integer size, IncludeTotal includeTotal) {
+    return ResponseEntity.ok(userService.getAllUsers(userType, page, size, includeTotal));
   }
 }
@@ -0,0 +1,88 @@
+package com.nacrondx.suitesync.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.proxy.HibernateProxy;
+
+@Entity
+@Immutable
+@Table(name = "bookings_archive")
+@Getter
+@ToString
+@RequiredArgsConstructor
+@Builder
+@AllArgsConstructor
+public class ArchivedBooking {
+  @Id private Long id;
+
+  @Column(name = "user_id", nullable = false)
+  private Long userId;
+
+  @Column(name = "room_id", nullable = false)
+  private Long roomId;
+
+  @Column(name = "check_in_date", nullable = false)
+  private LocalDate checkInDate;
+
+  @Column(name = "check_out_date", nullable = false)
+  private LocalDate checkOutDate;
+
+  @Column(name = "number_of_guests", nullable = false)
+  private Integer numberOfGuests;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 20)
+  private Booking.BookingStatus status;
+
+  @Column(name = "special_requests", length = 500)
+  private String specialRequests;
+
+  @Column(name = "total_price", nullable = false)
+  private Double totalPrice;
+
+  @Column(name = "created_at", nullable = false)
+  private LocalDateTime createdAt;
+
+  @Column(name = "updated_at", nullable = false)
+  private LocalDateTime updatedAt;
+
+  @Column(name = "archived_at", nullable = false)
+  private LocalDateTime archivedAt;
+
+  @Override
+  public final boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null) return false;
+    Class<?> oEffectiveClass =
+        o instanceof HibernateProxy
+            ? ((HibernateProxy) o).getHibernateLazyInitializer().getPersistentClass()
+            : o.getClass();
+    Class<?> thisEffectiveClass =
+        this instanceof HibernateProxy
+            ? ((HibernateProxy) this).getHibernateLazyInitializer().getPersistentClass()
+            : this.getClass();
+    if (thisEffectiveClass != oEffectiveClass) return false;
+    ArchivedBooking archivedBooking = (ArchivedBooking) o;
+    return getId() != null && Objects.equals(getId(), archivedBooking.getId());
+  }
+
+  @Override
+  public final int hashCode() {
+    return this instanceof HibernateProxy
+        ? ((HibernateProxy) this).getHibernateLazyInitializer().getPersistentClass().hashCode()
+        : getClass().hashCode();
+  }
+}
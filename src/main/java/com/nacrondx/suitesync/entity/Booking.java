@@ -4,6 +4,7 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -32,16 +33,20 @@ import org.hibernate.proxy.HibernateProxy;
 @Builder
 @AllArgsConstructor
 public class Booking {
+  public static final int MAX_STAY_NIGHTS = 90;
+
   @Id
   @GeneratedValue(strategy = GenerationType.IDENTITY)
   private Long id;
 
-  @ManyToOne
+  @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "user_id", nullable = false)
+  @ToString.Exclude
   private User user;
 
-  @ManyToOne
+  @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "room_id", nullable = false)
+  @ToString.Exclude
   private Room room;
 
   @Column(name = "check_in_date", nullable = false)
@@ -58,6 +63,11 @@ public class Booking {
   @Builder.Default
   private BookingStatus status = BookingStatus.PENDING;
 
+  // Set when the guest booked by room type, so the assigned room may be moved later
+  @Column(name = "room_flexible", nullable = false)
+  @Builder.Default
+  private boolean roomFlexible = false;
+
   @Column(name = "special_requests", length = 500)
   private String specialRequests;
 
@@ -64,12 +64,29 @@ public class Room {
   @Builder.Default
   private RoomStatus status = RoomStatus.AVAILABLE;
 
+  @Column(name = "average_rating", nullable = false, updatable = false)
+  @Builder.Default
+  private Double averageRating = 0.0;
+
+  @Column(name = "review_count", nullable = false, updatable = false)
+  @Builder.Default
+  private Integer reviewCount = 0;
+
   @ElementCollection
   @CollectionTable(name = "room_amenities", joinColumns = @JoinColumn(name = "room_id"))
   @Column(name = "amenity")
   @Builder.Default
   private List<String> amenities = new ArrayList<>();
 
+  // Flat copy of the amenities that feeds the generated full-text search_vector column
+  @Column(name = "amenities_text", nullable = false)
+  @Builder.Default
+  private String amenitiesText = "";
+
+  @Column(name = "amenity_mask", nullable = false)
+  @Builder.Default
+  private Long amenityMask = 0L;
+
   @ElementCollection
   @CollectionTable(name = "room_images", joinColumns = @JoinColumn(name = "room_id"))
   @Column(name = "image_url")
@@ -89,6 +106,12 @@ public class Room {
     if (status == null) {
       status = RoomStatus.AVAILABLE;
     }
+    if (averageRating == null) {
+      averageRating = 0.0;
+    }
+    if (reviewCount == null) {
+      reviewCount = 0;
+    }
   }
 
   @PreUpdate
@@ -0,0 +1,6 @@
+package com.nacrondx.suitesync.event;
+
+import java.time.LocalDate;
+
+public record BookingCancelledEvent(
+    Long bookingId, Long roomId, LocalDate checkInDate, LocalDate checkOutDate) {}
@@ -0,0 +1,6 @@
+package com.nacrondx.suitesync.event;
+
+import java.util.List;
+import java.util.Set;
+
+public record BookingChangedEvent(List<Long> bookingIds, Set<Long> roomIds) {}
@@ -0,0 +1,13 @@
+package com.nacrondx.suitesync.event;
+
+import com.nacrondx.suitesync.entity.BookingHold;
+
+public record BookingHoldChangedEvent(BookingHold hold, boolean released) {
+  public static BookingHoldChangedEvent created(BookingHold hold) {
+    return new BookingHoldChangedEvent(hold, false);
+  }
+
+  public static BookingHoldChangedEvent released(BookingHold hold) {
+    return new BookingHoldChangedEvent(hold, true);
+  }
+}
@@ -0,0 +1,11 @@
+package com.nacrondx.suitesync.event;
+
+import com.nacrondx.suitesync.entity.Booking;
+import java.util.List;
+import java.util.Set;
+
+public record BookingStatusChangedEvent(
+    List<Long> bookingIds,
+    Set<Long> roomIds,
+    Booking.BookingStatus previousStatus,
+    Booking.BookingStatus status) {}
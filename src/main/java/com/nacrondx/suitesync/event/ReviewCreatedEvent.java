@@ -0,0 +1,3 @@
+package com.nacrondx.suitesync.event;
+
+public record ReviewCreatedEvent(Long reviewId, Long roomId, int rating) {}
@@ -0,0 +1,20 @@
+package com.nacrondx.suitesync.event;
+
+import com.nacrondx.suitesync.entity.Room;
+
+public record RoomChangedEvent(
+    Long roomId,
+    String roomNumber,
+    Room.RoomType roomType,
+    Double pricePerNight,
+    boolean deleted) {
+  public static RoomChangedEvent saved(Room room) {
+    return new RoomChangedEvent(
+        room.getId(), room.getRoomNumber(), room.getRoomType(), room.getPricePerNight(), false);
+  }
+
+  public static RoomChangedEvent deleted(Room room) {
+    return new RoomChangedEvent(
+        room.getId(), room.getRoomNumber(), room.getRoomType(), room.getPricePerNight(), true);
+  }
+}
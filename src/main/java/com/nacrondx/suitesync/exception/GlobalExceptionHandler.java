@@ -1,5 +1,6 @@
 package com.nacrondx.suitesync.exception;
 
+import com.nacrondx.suitesync.model.booking.RoomUnavailableResponse;
 import com.nacrondx.suitesync.model.user.ErrorResponse;
 import java.time.OffsetDateTime;
 import lombok.extern.slf4j.Slf4j;
@@ -29,14 +30,16 @@ public class GlobalExceptionHandler {
   }
 
   @ExceptionHandler(RoomNotAvailableException.class)
-  public ResponseEntity<ErrorResponse> handleRoomNotAvailableException(
+  public ResponseEntity<RoomUnavailableResponse> handleRoomNotAvailableException(
       RoomNotAvailableException ex, WebRequest request) {
-    var errorResponse = new ErrorResponse();
+    var errorResponse = new RoomUnavailableResponse();
     errorResponse.setTimestamp(OffsetDateTime.now());
     errorResponse.setStatus(HttpStatus.CONFLICT.value());
     errorResponse.setError(HttpStatus.CONFLICT.getReasonPhrase());
     errorResponse.setMessage(ex.getMessage());
     errorResponse.setPath(request.getDescription(false).replace("uri=", ""));
+    errorResponse.setAlternatives(ex.getAlternatives());
+    errorResponse.setSimilarRoomAlternatives(ex.getSimilarRoomAlternatives());
     log.debug(ex.getMessage(), ex);
 
     return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
@@ -1,7 +1,24 @@
 package com.nacrondx.suitesync.exception;
 
+import com.nacrondx.suitesync.model.booking.AlternativeWindow;
+import java.util.List;
+import lombok.Getter;
+
+@Getter
 public class RoomNotAvailableException extends RuntimeException {
+  private final List<AlternativeWindow> alternatives;
+  private final List<AlternativeWindow> similarRoomAlternatives;
+
   public RoomNotAvailableException(String message) {
+    this(message, List.of(), List.of());
+  }
+
+  public RoomNotAvailableException(
+      String message,
+      List<AlternativeWindow> alternatives,
+      List<AlternativeWindow> similarRoomAlternatives) {
     super(message);
+    this.alternatives = alternatives;
+    this.similarRoomAlternatives = similarRoomAlternatives;
   }
 }
@@ -0,0 +1,8 @@
+package com.nacrondx.suitesync.repository;
+
+import com.nacrondx.suitesync.entity.ArchivedBooking;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ArchivedBookingRepository extends JpaRepository<ArchivedBooking, Long> {}
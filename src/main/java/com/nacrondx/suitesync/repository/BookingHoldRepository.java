@@ -0,0 +1,44 @@
+package com.nacrondx.suitesync.repository;
+
+import com.nacrondx.suitesync.entity.BookingHold;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface BookingHoldRepository extends JpaRepository<BookingHold, Long> {
+  List<BookingHold> findByExpiresAtAfter(LocalDateTime now);
+
+  @Query(
+      "SELECT COUNT(h) > 0 FROM BookingHold h WHERE h.roomId = :roomId "
+          + "AND h.expiresAt > :now AND (:excludedHoldId IS NULL OR h.id <> :excludedHoldId) "
+          + "AND h.checkInDate <= :checkOutDate AND h.checkOutDate >= :checkInDate")
+  boolean existsActiveOverlap(
+      @Param("roomId") Long roomId,
+      @Param("checkInDate") LocalDate checkInDate,
+      @Param("checkOutDate") LocalDate checkOutDate,
+      @Param("now") LocalDateTime now,
+      @Param("excludedHoldId") Long excludedHoldId);
+
+  @Query(
+      "SELECT DISTINCT h.roomId FROM BookingHold h WHERE h.roomId IN :roomIds "
+          + "AND h.expiresAt > :now "
+          + "AND h.checkInDate <= :checkOutDate AND h.checkOutDate >= :checkInDate")
+  List<Long> findHeldRoomIds(
+      @Param("roomIds") Collection<Long> roomIds,
+      @Param("checkInDate") LocalDate checkInDate,
+      @Param("checkOutDate") LocalDate checkOutDate,
+      @Param("now") LocalDateTime now);
+
+  @Modifying
+  @Transactional
+  @Query("DELETE FROM BookingHold h WHERE h.expiresAt <= :now")
+  int deleteExpired(@Param("now") LocalDateTime now);
+}
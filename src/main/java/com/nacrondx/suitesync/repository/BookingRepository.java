@@ -2,25 +2,163 @@ package com.nacrondx.suitesync.repository;
 
 import com.nacrondx.suitesync.entity.Booking;
 import com.nacrondx.suitesync.entity.Booking.BookingStatus;
+import jakarta.persistence.QueryHint;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
-import org.springframework.data.domain.Page;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
-  Page<Booking> findByStatus(BookingStatus status, Pageable pageable);
+  @Query(
+      "SELECT b.id AS id, b.user.id AS userId, b.room.id AS roomId, "
+          + "b.checkInDate AS checkInDate, b.checkOutDate AS checkOutDate, "
+          + "b.numberOfGuests AS numberOfGuests, b.status AS status, "
+          + "b.specialRequests AS specialRequests, b.totalPrice AS totalPrice, "
+          + "b.createdAt AS createdAt, b.updatedAt AS updatedAt FROM Booking b")
+  Slice<BookingView> findViewSliceBy(Pageable pageable);
+
+  @Query(
+      "SELECT b.id AS id, b.user.id AS userId, b.room.id AS roomId, "
+          + "b.checkInDate AS checkInDate, b.checkOutDate AS checkOutDate, "
+          + "b.numberOfGuests AS numberOfGuests, b.status AS status, "
+          + "b.specialRequests AS specialRequests, b.totalPrice AS totalPrice, "
+          + "b.createdAt AS createdAt, b.updatedAt AS updatedAt "
+          + "FROM Booking b WHERE b.status = :status")
+  Slice<BookingView> findViewSliceByStatus(
+      @Param("status") BookingStatus status, Pageable pageable);
+
+  long countByStatus(BookingStatus status);
+
+  @Modifying(clearAutomatically = true)
+  @Query(
+      "UPDATE Booking b SET b.status = :status, b.updatedAt = :updatedAt "
+          + "WHERE b.id = :id AND b.status IN :currentStatuses "
+          + "AND (b.user.id = :userId OR :privileged = TRUE)")
+  int updateStatusIfCurrentIn(
+      @Param("id") Long id,
+      @Param("currentStatuses") List<BookingStatus> currentStatuses,
+      @Param("status") BookingStatus status,
+      @Param("updatedAt") LocalDateTime updatedAt,
+      @Param("userId") Long userId,
+      @Param("privileged") boolean privileged);
+
+  @QueryHints({
+    @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+    @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  // Archived bookings are part of the history being exported; the archive branch is a range scan
+  // on its check-in index, so it reads nothing unless the range reaches archived stays
+  @Query(
+      "SELECT b.id AS id, b.user.id AS userId, b.room.id AS roomId, "
+          + "b.checkInDate AS checkInDate, b.checkOutDate AS checkOutDate, "
+          + "b.numberOfGuests AS numberOfGuests, b.status AS status, "
+          + "b.specialRequests AS specialRequests, b.totalPrice AS totalPrice, "
+          + "b.createdAt AS createdAt, b.updatedAt AS updatedAt FROM Booking b "
+          + "WHERE b.checkInDate >= :from AND b.checkInDate < :to "
+          + "AND (:status IS NULL OR b.status = :status) "
+          + "UNION ALL "
+          + "SELECT a.id, a.userId, a.roomId, a.checkInDate, a.checkOutDate, a.numberOfGuests, "
+          + "a.status, a.specialRequests, a.totalPrice, a.createdAt, a.updatedAt "
+          + "FROM ArchivedBooking a "
+          + "WHERE a.checkInDate >= :from AND a.checkInDate < :to "
+          + "AND (:status IS NULL OR a.status = :status) "
+          + "ORDER BY checkInDate, id")
+  Stream<BookingView> streamForExport(
+      @Param("from") LocalDate from,
+      @Param("to") LocalDate to,
+      @Param("status") BookingStatus status);
 
+  default List<Booking> findOverlappingBookings(
+      Long roomId, LocalDate checkInDate, LocalDate checkOutDate) {
+    return findOverlappingBookingsSince(
+        roomId, checkInDate.minusDays(Booking.MAX_STAY_NIGHTS), checkInDate, checkOutDate);
+  }
+
+  // The lower bound on check-in is implied by the maximum stay and lets Postgres prune every
+  // partition older than it
   @Query(
       "SELECT b FROM Booking b WHERE b.room.id = :roomId "
           + "AND b.status NOT IN ('CANCELLED', 'CHECKED_OUT') "
+          + "AND b.checkInDate >= :earliestCheckInDate "
           + "AND ((b.checkInDate <= :checkOutDate AND b.checkOutDate >= :checkInDate))")
-  List<Booking> findOverlappingBookings(
+  List<Booking> findOverlappingBookingsSince(
       @Param("roomId") Long roomId,
+      @Param("earliestCheckInDate") LocalDate earliestCheckInDate,
+      @Param("checkInDate") LocalDate checkInDate,
+      @Param("checkOutDate") LocalDate checkOutDate);
+
+  default List<Long> findOverlappingRoomIds(
+      Collection<Long> roomIds, LocalDate checkInDate, LocalDate checkOutDate) {
+    return findOverlappingRoomIdsSince(
+        roomIds, checkInDate.minusDays(Booking.MAX_STAY_NIGHTS), checkInDate, checkOutDate);
+  }
+
+  @Query(
+      "SELECT DISTINCT b.room.id FROM Booking b WHERE b.room.id IN :roomIds "
+          + "AND b.status NOT IN ('CANCELLED', 'CHECKED_OUT') "
+          + "AND b.checkInDate >= :earliestCheckInDate "
+          + "AND b.checkInDate <= :checkOutDate AND b.checkOutDate >= :checkInDate")
+  List<Long> findOverlappingRoomIdsSince(
+      @Param("roomIds") Collection<Long> roomIds,
+      @Param("earliestCheckInDate") LocalDate earliestCheckInDate,
       @Param("checkInDate") LocalDate checkInDate,
       @Param("checkOutDate") LocalDate checkOutDate);
+
+  default boolean existsOverlappingBooking(
+      Long roomId, LocalDate checkInDate, LocalDate checkOutDate, Long excludedBookingId) {
+    return existsOverlappingBookingSince(
+        roomId,
+        checkInDate.minusDays(Booking.MAX_STAY_NIGHTS),
+        checkInDate,
+        checkOutDate,
+        excludedBookingId);
+  }
+
+  @Query(
+      "SELECT COUNT(b) > 0 FROM Booking b WHERE b.room.id = :roomId "
+          + "AND b.id <> :excludedBookingId "
+          + "AND b.status NOT IN ('CANCELLED', 'CHECKED_OUT') "
+          + "AND b.checkInDate >= :earliestCheckInDate "
+          + "AND b.checkInDate <= :checkOutDate AND b.checkOutDate >= :checkInDate")
+  boolean existsOverlappingBookingSince(
+      @Param("roomId") Long roomId,
+      @Param("earliestCheckInDate") LocalDate earliestCheckInDate,
+      @Param("checkInDate") LocalDate checkInDate,
+      @Param("checkOutDate") LocalDate checkOutDate,
+      @Param("excludedBookingId") Long excludedBookingId);
+
+  interface BookingView {
+    Long getId();
+
+    Long getUserId();
+
+    Long getRoomId();
+
+    LocalDate getCheckInDate();
+
+    LocalDate getCheckOutDate();
+
+    Integer getNumberOfGuests();
+
+    BookingStatus getStatus();
+
+    String getSpecialRequests();
+
+    Double getTotalPrice();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+  }
 }
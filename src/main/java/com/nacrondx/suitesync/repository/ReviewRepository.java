@@ -1,11 +1,54 @@
 package com.nacrondx.suitesync.repository;
 
 import com.nacrondx.suitesync.entity.Review;
+import java.time.LocalDateTime;
 import java.util.List;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface ReviewRepository extends JpaRepository<Review, Long> {
-  List<Review> findByRoomIdOrderByCreatedAtDesc(Long roomId);
+  @Query(
+      "SELECT r.id AS id, r.room.id AS roomId, r.user.id AS userId, "
+          + "u.firstName AS userFirstName, u.lastName AS userLastName, r.rating AS rating, "
+          + "r.comment AS comment, r.createdAt AS createdAt, r.updatedAt AS updatedAt "
+          + "FROM Review r JOIN r.user u WHERE r.room.id = :roomId "
+          + "ORDER BY r.createdAt DESC, r.id DESC")
+  List<ReviewView> findPageByRoomId(@Param("roomId") Long roomId, Pageable pageable);
+
+  @Query(
+      "SELECT r.id AS id, r.room.id AS roomId, r.user.id AS userId, "
+          + "u.firstName AS userFirstName, u.lastName AS userLastName, r.rating AS rating, "
+          + "r.comment AS comment, r.createdAt AS createdAt, r.updatedAt AS updatedAt "
+          + "FROM Review r JOIN r.user u WHERE r.room.id = :roomId "
+          + "AND (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id)) "
+          + "ORDER BY r.createdAt DESC, r.id DESC")
+  List<ReviewView> findPageByRoomIdBefore(
+      @Param("roomId") Long roomId,
+      @Param("createdAt") LocalDateTime createdAt,
+      @Param("id") Long id,
+      Pageable pageable);
+
+  interface ReviewView {
+    Long getId();
+
+    Long getRoomId();
+
+    Long getUserId();
+
+    String getUserFirstName();
+
+    String getUserLastName();
+
+    Integer getRating();
+
+    String getComment();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+  }
 }
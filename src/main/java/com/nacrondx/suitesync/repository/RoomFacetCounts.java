@@ -0,0 +1,10 @@
+package com.nacrondx.suitesync.repository;
+
+import com.nacrondx.suitesync.entity.Room;
+import java.util.Map;
+
+/** Matching room counts per facet value; price buckets are keyed by their index. */
+public record RoomFacetCounts(
+    Map<Room.RoomType, Long> roomTypes,
+    Map<Integer, Long> maxOccupancies,
+    Map<Integer, Long> priceBuckets) {}
@@ -1,14 +1,79 @@
 package com.nacrondx.suitesync.repository;
 
 import com.nacrondx.suitesync.entity.Room;
+import jakarta.persistence.LockModeType;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface RoomRepository extends JpaRepository<Room, Long>, JpaSpecificationExecutor<Room> {
+public interface RoomRepository
+    extends JpaRepository<Room, Long>, JpaSpecificationExecutor<Room>, RoomSearchRepository {
   Optional<Room> findByRoomNumber(String roomNumber);
 
   boolean existsByRoomNumber(String roomNumber);
+
+  // Locking in id order keeps concurrent multi-room bookings from deadlocking on each other
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT r FROM Room r WHERE r.id IN :ids ORDER BY r.id")
+  List<Room> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+  @Query(
+      value =
+          "SELECT r.id FROM rooms r WHERE r.room_type = :roomType "
+              + "AND r.status IN ('AVAILABLE', 'OCCUPIED') AND r.max_occupancy >= :guests "
+              + "AND NOT EXISTS (SELECT 1 FROM bookings b WHERE b.room_id = r.id "
+              + "AND b.check_in_date >= :checkInLowerBound AND b.check_in_date <= :checkOut "
+              + "AND b.check_out_date >= :checkIn "
+              + "AND b.status NOT IN ('CANCELLED', 'CHECKED_OUT')) "
+              + "AND NOT EXISTS (SELECT 1 FROM booking_holds h WHERE h.room_id = r.id "
+              + "AND h.expires_at > CURRENT_TIMESTAMP AND h.check_in_date <= :checkOut "
+              + "AND h.check_out_date >= :checkIn) "
+              + "ORDER BY r.max_occupancy, r.id",
+      nativeQuery = true)
+  List<Long> findFreeRoomIds(
+      @Param("roomType") String roomType,
+      @Param("guests") Integer guests,
+      @Param("checkInLowerBound") LocalDate checkInLowerBound,
+      @Param("checkIn") LocalDate checkIn,
+      @Param("checkOut") LocalDate checkOut);
+
+  @Modifying
+  @Query(
+      value =
+          "UPDATE rooms SET review_count = review_count + 1, "
+              + "average_rating = (average_rating * review_count + :rating) / (review_count + 1) "
+              + "WHERE id = :roomId",
+      nativeQuery = true)
+  int recordRating(@Param("roomId") Long roomId, @Param("rating") int rating);
+
+  @Query(
+      "SELECT r.id AS roomId, r.roomNumber AS roomNumber, r.roomType AS roomType, "
+          + "r.pricePerNight AS pricePerNight, COUNT(v.id) AS reviewCount, "
+          + "COALESCE(SUM(v.rating), 0) AS ratingSum "
+          + "FROM Room r LEFT JOIN Review v ON v.room = r "
+          + "GROUP BY r.id, r.roomNumber, r.roomType, r.pricePerNight")
+  List<RoomRatingView> findRatingStatistics();
+
+  interface RoomRatingView {
+    Long getRoomId();
+
+    String getRoomNumber();
+
+    Room.RoomType getRoomType();
+
+    Double getPricePerNight();
+
+    Long getReviewCount();
+
+    Long getRatingSum();
+  }
 }
@@ -0,0 +1,33 @@
+package com.nacrondx.suitesync.repository;
+
+import com.nacrondx.suitesync.entity.Room;
+import java.time.LocalDate;
+
+/**
+ * Room search criteria; null fields are not filtered on. The stay dates are given together and
+ * limit the search to rooms with no active booking or hold overlapping the stay.
+ */
+public record RoomSearchFilter(
+    Room.RoomType roomType,
+    Integer numberOfGuests,
+    Double minPrice,
+    Double maxPrice,
+    String text,
+    Long amenityMask,
+    LocalDate checkInDate,
+    LocalDate checkOutDate) {
+
+  public RoomSearchFilter(
+      Room.RoomType roomType,
+      Integer numberOfGuests,
+      Double minPrice,
+      Double maxPrice,
+      String text,
+      Long amenityMask) {
+    this(roomType, numberOfGuests, minPrice, maxPrice, text, amenityMask, null, null);
+  }
+
+  public boolean hasStay() {
+    return checkInDate != null;
+  }
+}
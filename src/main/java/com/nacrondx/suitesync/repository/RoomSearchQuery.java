@@ -0,0 +1,142 @@
+package com.nacrondx.suitesync.repository;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Renders the native SQL behind room searches. The statement text depends only on which filters
+ * are present and on the sort, never on the filter values, so every combination maps to one
+ * stable string. Those strings are kept in a small LRU cache so they are built once, and the
+ * stable text lets the JDBC prepared-statement cache and the Postgres plan cache be reused.
+ */
+class RoomSearchQuery {
+  static final int MAX_CACHED_STATEMENTS = 128;
+
+  private static final String TEXT_QUERY = "websearch_to_tsquery('english', :text)";
+
+  private static final Map<String, String> SORT_COLUMNS =
+      Map.of(
+          "id", "r.id",
+          "pricePerNight", "r.price_per_night",
+          "size", "r.size",
+          "floor", "r.floor",
+          "averageRating", "r.average_rating",
+          "roomNumber", "r.room_number",
+          "relevance", "ts_rank(r.search_vector, " + TEXT_QUERY + ")");
+
+  private final Map<String, String> statements =
+      Collections.synchronizedMap(
+          new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+              return size() > MAX_CACHED_STATEMENTS;
+            }
+          });
+
+  String select(RoomSearchFilter filter, Sort sort) {
+    return statements.computeIfAbsent(
+        "select:" + filterKey(filter) + ":" + sort,
+        key ->
+            "SELECT r.* FROM rooms r"
+                + where(filter)
+                + orderBy(filter, sort)
+                + " LIMIT :limit OFFSET :offset");
+  }
+
+  String count(RoomSearchFilter filter) {
+    return statements.computeIfAbsent(
+        "count:" + filterKey(filter), key -> "SELECT COUNT(*) FROM rooms r" + where(filter));
+  }
+
+  /**
+   * Counts the matching rooms per room type, per capacity and per price bucket in one scan, each
+   * row tagged with the GROUPING bitmask of the set it belongs to.
+   */
+  String facets(RoomSearchFilter filter) {
+    return statements.computeIfAbsent(
+        "facets:" + filterKey(filter),
+        key ->
+            "SELECT GROUPING(room_type, max_occupancy, price_bucket) AS grouping_set, "
+                + "room_type, max_occupancy, price_bucket, COUNT(*) AS rooms FROM ("
+                + "SELECT r.room_type, r.max_occupancy, "
+                + "CAST(FLOOR(r.price_per_night / :priceBucketWidth) AS integer) AS price_bucket "
+                + "FROM rooms r"
+                + where(filter)
+                + ") matching "
+                + "GROUP BY GROUPING SETS ((room_type), (max_occupancy), (price_bucket))");
+  }
+
+  int size() {
+    return statements.size();
+  }
+
+  private static String filterKey(RoomSearchFilter filter) {
+    var key = new StringBuilder(7);
+    key.append(filter.roomType() != null ? 'T' : '-');
+    key.append(filter.numberOfGuests() != null ? 'G' : '-');
+    key.append(filter.minPrice() != null ? 'L' : '-');
+    key.append(filter.maxPrice() != null ? 'H' : '-');
+    key.append(filter.text() != null ? 'Q' : '-');
+    key.append(filter.amenityMask() != null ? 'A' : '-');
+    key.append(filter.hasStay() ? 'D' : '-');
+    return key.toString();
+  }
+
+  private static String where(RoomSearchFilter filter) {
+    var sql = new StringBuilder(" WHERE r.status IN ('AVAILABLE', 'OCCUPIED')");
+
+    if (filter.roomType() != null) {
+      sql.append(" AND r.room_type = :roomType");
+    }
+    if (filter.numberOfGuests() != null) {
+      sql.append(" AND r.max_occupancy >= :numberOfGuests");
+    }
+    if (filter.minPrice() != null) {
+      sql.append(" AND r.price_per_night >= :minPrice");
+    }
+    if (filter.maxPrice() != null) {
+      sql.append(" AND r.price_per_night <= :maxPrice");
+    }
+    if (filter.text() != null) {
+      sql.append(" AND r.search_vector @@ ").append(TEXT_QUERY);
+    }
+    if (filter.amenityMask() != null) {
+      sql.append(" AND (r.amenity_mask & :amenityMask) = :amenityMask");
+    }
+    if (filter.hasStay()) {
+      // Same inclusive overlap as the booking and hold checks; the lower bound on check-in is
+      // implied by the maximum stay and lets Postgres prune the older booking partitions
+      sql.append(" AND NOT EXISTS (SELECT 1 FROM bookings b WHERE b.room_id = r.id")
+          .append(" AND b.status NOT IN ('CANCELLED', 'CHECKED_OUT')")
+          .append(" AND b.check_in_date >= :earliestCheckInDate")
+          .append(" AND b.check_in_date <= :checkOutDate AND b.check_out_date >= :checkInDate)")
+          .append(" AND NOT EXISTS (SELECT 1 FROM booking_holds h WHERE h.room_id = r.id")
+          .append(" AND h.expires_at > :now")
+          .append(" AND h.check_in_date <= :checkOutDate AND h.check_out_date >= :checkInDate)");
+    }
+    return sql.toString();
+  }
+
+  private static String orderBy(RoomSearchFilter filter, Sort sort) {
+    if (sort.isUnsorted()) {
+      return " ORDER BY r.id ASC";
+    }
+
+    var sql = new StringBuilder(" ORDER BY ");
+    var separator = "";
+    for (var order : sort) {
+      var column = SORT_COLUMNS.get(order.getProperty());
+      if (column == null) {
+        throw new IllegalArgumentException("Unsupported sort property: " + order.getProperty());
+      }
+      if (order.getProperty().equals("relevance") && filter.text() == null) {
+        throw new IllegalArgumentException("Sorting by relevance requires a text query");
+      }
+      sql.append(separator).append(column).append(order.isAscending() ? " ASC" : " DESC");
+      separator = ", ";
+    }
+    return sql.toString();
+  }
+}
@@ -0,0 +1,16 @@
+package com.nacrondx.suitesync.repository;
+
+import com.nacrondx.suitesync.entity.Room;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+public interface RoomSearchRepository {
+  Page<Room> search(RoomSearchFilter filter, Pageable pageable);
+
+  Slice<Room> searchSlice(RoomSearchFilter filter, Pageable pageable);
+
+  long countMatching(RoomSearchFilter filter);
+
+  RoomFacetCounts countFacets(RoomSearchFilter filter, double priceBucketWidth);
+}
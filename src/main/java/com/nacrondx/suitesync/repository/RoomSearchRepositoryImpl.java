@@ -0,0 +1,111 @@
+package com.nacrondx.suitesync.repository;
+
+import com.nacrondx.suitesync.entity.Booking;
+import com.nacrondx.suitesync.entity.Room;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.TreeMap;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.support.PageableExecutionUtils;
+
+class RoomSearchRepositoryImpl implements RoomSearchRepository {
+  // GROUPING(room_type, max_occupancy, price_bucket) sets the bit of every column left out
+  private static final int ROOM_TYPE_SET = 0b011;
+  private static final int MAX_OCCUPANCY_SET = 0b101;
+  private static final int PRICE_BUCKET_SET = 0b110;
+
+  private final RoomSearchQuery searchQuery = new RoomSearchQuery();
+
+  @PersistenceContext private EntityManager entityManager;
+
+  @Override
+  public Page<Room> search(RoomSearchFilter filter, Pageable pageable) {
+    var rooms = fetch(filter, pageable, pageable.getPageSize());
+
+    // Skips the count entirely when this page already shows where the results end
+    return PageableExecutionUtils.getPage(rooms, pageable, () -> countMatching(filter));
+  }
+
+  @Override
+  public Slice<Room> searchSlice(RoomSearchFilter filter, Pageable pageable) {
+    var rooms = fetch(filter, pageable, pageable.getPageSize() + 1);
+
+    boolean hasNext = rooms.size() > pageable.getPageSize();
+    var content = hasNext ? rooms.subList(0, pageable.getPageSize()) : rooms;
+    return new SliceImpl<>(content, pageable, hasNext);
+  }
+
+  @Override
+  public long countMatching(RoomSearchFilter filter) {
+    var query = entityManager.createNativeQuery(searchQuery.count(filter), Long.class);
+    bindFilter(query, filter);
+    return ((Number) query.getSingleResult()).longValue();
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public RoomFacetCounts countFacets(RoomSearchFilter filter, double priceBucketWidth) {
+    var query = entityManager.createNativeQuery(searchQuery.facets(filter));
+    bindFilter(query, filter);
+    query.setParameter("priceBucketWidth", priceBucketWidth);
+
+    var roomTypes = new EnumMap<Room.RoomType, Long>(Room.RoomType.class);
+    var maxOccupancies = new TreeMap<Integer, Long>();
+    var priceBuckets = new TreeMap<Integer, Long>();
+    for (var row : (List<Object[]>) query.getResultList()) {
+      long count = ((Number) row[4]).longValue();
+      switch (((Number) row[0]).intValue()) {
+        case ROOM_TYPE_SET -> roomTypes.put(Room.RoomType.valueOf((String) row[1]), count);
+        case MAX_OCCUPANCY_SET -> maxOccupancies.put(((Number) row[2]).intValue(), count);
+        case PRICE_BUCKET_SET -> priceBuckets.put(((Number) row[3]).intValue(), count);
+        default -> throw new IllegalStateException("Unexpected grouping set " + row[0]);
+      }
+    }
+    return new RoomFacetCounts(roomTypes, maxOccupancies, priceBuckets);
+  }
+
+  @SuppressWarnings("unchecked")
+  private List<Room> fetch(RoomSearchFilter filter, Pageable pageable, int limit) {
+    var query =
+        entityManager.createNativeQuery(searchQuery.select(filter, pageable.getSort()), Room.class);
+    bindFilter(query, filter);
+    query.setParameter("limit", limit);
+    query.setParameter("offset", pageable.getOffset());
+    return query.getResultList();
+  }
+
+  private static void bindFilter(Query query, RoomSearchFilter filter) {
+    if (filter.roomType() != null) {
+      query.setParameter("roomType", filter.roomType().name());
+    }
+    if (filter.numberOfGuests() != null) {
+      query.setParameter("numberOfGuests", filter.numberOfGuests());
+    }
+    if (filter.minPrice() != null) {
+      query.setParameter("minPrice", filter.minPrice());
+    }
+    if (filter.maxPrice() != null) {
+      query.setParameter("maxPrice", filter.maxPrice());
+    }
+    if (filter.text() != null) {
+      query.setParameter("text", filter.text());
+    }
+    if (filter.amenityMask() != null) {
+      query.setParameter("amenityMask", filter.amenityMask());
+    }
+    if (filter.hasStay()) {
+      query.setParameter("checkInDate", filter.checkInDate());
+      query.setParameter("checkOutDate", filter.checkOutDate());
+      query.setParameter(
+          "earliestCheckInDate", filter.checkInDate().minusDays(Booking.MAX_STAY_NIGHTS));
+      query.setParameter("now", LocalDateTime.now());
+    }
+  }
+}
@@ -16,7 +16,8 @@ public class RoomSpecification {
       Integer numberOfGuests,
       Room.RoomType roomType,
       Double minPrice,
-      Double maxPrice) {
+      Double maxPrice,
+      Long amenityMask) {
     return (root, query, criteriaBuilder) -> {
       var predicates = new ArrayList<Predicate>();
 
@@ -36,6 +37,17 @@ public class RoomSpecification {
         predicates.add(criteriaBuilder.lessThanOrEqualTo(root.get("pricePerNight"), maxPrice));
       }
 
+      if (amenityMask != null) {
+        predicates.add(
+            criteriaBuilder.equal(
+                criteriaBuilder.function(
+                    "bitand",
+                    Long.class,
+                    root.get("amenityMask"),
+                    criteriaBuilder.literal(amenityMask)),
+                amenityMask));
+      }
+
       predicates.add(
           criteriaBuilder.or(
               criteriaBuilder.equal(root.get("status"), Room.RoomStatus.AVAILABLE),
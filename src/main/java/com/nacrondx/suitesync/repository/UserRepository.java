@@ -2,6 +2,8 @@ package com.nacrondx.suitesync.repository;
 
 import com.nacrondx.suitesync.entity.User;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -10,4 +12,10 @@ public interface UserRepository extends JpaRepository<User, Long> {
   Optional<User> findByEmail(String email);
 
   boolean existsByEmail(String email);
+
+  Slice<User> findSliceBy(Pageable pageable);
+
+  Slice<User> findSliceByUserType(User.UserType userType, Pageable pageable);
+
+  long countByUserType(User.UserType userType);
 }
@@ -0,0 +1,203 @@
+package com.nacrondx.suitesync.service;
+
+import com.nacrondx.suitesync.entity.Booking;
+import com.nacrondx.suitesync.entity.Room;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Suggests the nearest free stays of the same length when a room is taken for the requested
+ * dates, both in that room and in the other rooms of its type. All bookings and holds of those
+ * rooms around the request are read with one query, ordered by room and check-in, and the free
+ * gaps of each room are found in a single pass over that list.
+ */
+@Service
+@RequiredArgsConstructor
+public class AlternativeWindowService {
+  private static final String BUSY_INTERVALS_SQL =
+      "SELECT room_id, check_in_date, check_out_date FROM ("
+          + "SELECT b.room_id, b.check_in_date, b.check_out_date FROM bookings b "
+          + "WHERE b.room_id IN (:roomIds) AND b.status NOT IN ('CANCELLED', 'CHECKED_OUT') "
+          + "AND b.check_in_date >= :earliestCheckIn AND b.check_in_date <= :searchEnd "
+          + "AND b.check_out_date >= :searchStart "
+          + "UNION ALL "
+          + "SELECT h.room_id, h.check_in_date, h.check_out_date FROM booking_holds h "
+          + "WHERE h.room_id IN (:roomIds) AND h.expires_at > CURRENT_TIMESTAMP "
+          + "AND h.check_in_date <= :searchEnd AND h.check_out_date >= :searchStart) busy "
+          + "ORDER BY room_id, check_in_date";
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  @Value("${app.availability.alternatives.limit:3}")
+  private int limit;
+
+  @Value("${app.availability.alternatives.search-days:30}")
+  private int searchDays;
+
+  public Alternatives find(Room room, LocalDate checkInDate, LocalDate checkOutDate) {
+    int nights = (int) ChronoUnit.DAYS.between(checkInDate, checkOutDate);
+    var earliest = max(LocalDate.now(), checkInDate.minusDays(searchDays));
+    var latest = checkInDate.plusDays(searchDays);
+    if (latest.isBefore(earliest)) {
+      return Alternatives.NONE;
+    }
+
+    var rooms = new LinkedHashMap<Long, RoomRate>();
+    jdbcTemplate.query(
+        "SELECT id, room_number, price_per_night FROM rooms "
+            + "WHERE id = :roomId OR (room_type = :roomType AND status = 'AVAILABLE') ORDER BY id",
+        new MapSqlParameterSource("roomId", room.getId())
+            .addValue("roomType", room.getRoomType().name()),
+        rs -> {
+          rooms.put(
+              rs.getLong("id"),
+              new RoomRate(
+                  rs.getLong("id"), rs.getString("room_number"), rs.getDouble("price_per_night")));
+        });
+
+    var busyByRoom = new LinkedHashMap<Long, List<Interval>>();
+    rooms.keySet().forEach(roomId -> busyByRoom.put(roomId, new ArrayList<>()));
+    jdbcTemplate.query(
+        BUSY_INTERVALS_SQL,
+        new MapSqlParameterSource("roomIds", rooms.keySet())
+            .addValue("searchStart", earliest)
+            .addValue("searchEnd", latest.plusDays(nights))
+            .addValue("earliestCheckIn", earliest.minusDays(Booking.MAX_STAY_NIGHTS)),
+        rs -> {
+          busyByRoom
+              .get(rs.getLong("room_id"))
+              .add(
+                  new Interval(
+                      rs.getObject("check_in_date", LocalDate.class),
+                      rs.getObject("check_out_date", LocalDate.class)));
+        });
+
+    var sameRoom = new ArrayList<Window>();
+    var similarRooms = new ArrayList<Window>();
+    busyByRoom.forEach(
+        (roomId, busy) -> {
+          var rate = rooms.get(roomId);
+          var target = roomId.equals(room.getId()) ? sameRoom : similarRooms;
+          if (target == sameRoom && room.getStatus() != Room.RoomStatus.AVAILABLE) {
+            return;
+          }
+          for (var date : nearestCheckIns(busy, checkInDate, nights, earliest, latest, limit)) {
+            target.add(
+                new Window(
+                    rate.roomId(),
+                    rate.roomNumber(),
+                    date,
+                    date.plusDays(nights),
+                    nights * rate.pricePerNight()));
+          }
+        });
+
+    var byDistance =
+        Comparator.<Window>comparingLong(
+                window -> Math.abs(ChronoUnit.DAYS.between(checkInDate, window.checkInDate())))
+            .thenComparing(Window::checkInDate)
+            .thenComparing(Window::totalPrice)
+            .thenComparing(Window::roomId);
+    similarRooms.sort(byDistance);
+    var nearestSimilar = similarRooms.subList(0, Math.min(limit, similarRooms.size()));
+    return new Alternatives(List.copyOf(sameRoom), List.copyOf(nearestSimilar));
+  }
+
+  /**
+   * Returns up to {@code limit} check-in dates between {@code earliest} and {@code latest} that
+   * start a free stay of {@code nights}, nearest to {@code requested} first. {@code busy} must be
+   * sorted by check-in date; a stay is free when it shares no day with any busy interval,
+   * check-out days included.
+   */
+  static List<LocalDate> nearestCheckIns(
+      List<Interval> busy,
+      LocalDate requested,
+      int nights,
+      LocalDate earliest,
+      LocalDate latest,
+      int limit) {
+    var candidates = new ArrayList<LocalDate>();
+    var freeFrom = earliest;
+    for (var interval : busy) {
+      if (interval.checkInDate().isAfter(freeFrom)) {
+        addNearest(
+            candidates,
+            freeFrom,
+            min(latest, interval.checkInDate().minusDays(nights + 1L)),
+            requested,
+            limit);
+      }
+      freeFrom = max(freeFrom, interval.checkOutDate().plusDays(1));
+    }
+    addNearest(candidates, freeFrom, latest, requested, limit);
+
+    candidates.sort(
+        Comparator.<LocalDate>comparingLong(
+                date -> Math.abs(ChronoUnit.DAYS.between(requested, date)))
+            .thenComparing(Comparator.naturalOrder()));
+    return List.copyOf(candidates.subList(0, Math.min(limit, candidates.size())));
+  }
+
+  /** Adds the {@code limit} dates of {@code from..to} closest to {@code requested}. */
+  private static void addNearest(
+      List<LocalDate> candidates, LocalDate from, LocalDate to, LocalDate requested, int limit) {
+    if (to.isBefore(from)) {
+      return;
+    }
+    var anchor = requested.isBefore(from) ? from : requested.isAfter(to) ? to : requested;
+    candidates.add(anchor);
+    var below = anchor.minusDays(1);
+    var above = anchor.plusDays(1);
+    for (int added = 1; added < limit; added++) {
+      boolean belowOpen = !below.isBefore(from);
+      boolean aboveOpen = !above.isAfter(to);
+      if (!belowOpen && !aboveOpen) {
+        return;
+      }
+      boolean takeBelow =
+          belowOpen
+              && (!aboveOpen
+                  || ChronoUnit.DAYS.between(below, requested)
+                      <= ChronoUnit.DAYS.between(requested, above));
+      if (takeBelow) {
+        candidates.add(below);
+        below = below.minusDays(1);
+      } else {
+        candidates.add(above);
+        above = above.plusDays(1);
+      }
+    }
+  }
+
+  private static LocalDate min(LocalDate a, LocalDate b) {
+    return a.isBefore(b) ? a : b;
+  }
+
+  private static LocalDate max(LocalDate a, LocalDate b) {
+    return a.isAfter(b) ? a : b;
+  }
+
+  record Interval(LocalDate checkInDate, LocalDate checkOutDate) {}
+
+  private record RoomRate(Long roomId, String roomNumber, double pricePerNight) {}
+
+  public record Window(
+      Long roomId,
+      String roomNumber,
+      LocalDate checkInDate,
+      LocalDate checkOutDate,
+      double totalPrice) {}
+
+  public record Alternatives(List<Window> sameRoom, List<Window> similarRooms) {
+    static final Alternatives NONE = new Alternatives(List.of(), List.of());
+  }
+}
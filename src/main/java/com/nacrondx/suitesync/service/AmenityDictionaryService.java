@@ -0,0 +1,112 @@
+package com.nacrondx.suitesync.service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Gives every distinct amenity, compared case-insensitively, its own bit in {@code
+ * rooms.amenity_mask}, so "has all of these amenities" becomes a single AND on the mask instead of
+ * one join per amenity. Bits 0 to 62 are handed out in order of first use; bit 63 is never
+ * assigned and stands for amenities that no room has.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AmenityDictionaryService {
+  static final int MAX_AMENITIES = 63;
+
+  public static final long UNKNOWN_AMENITY = 1L << MAX_AMENITIES;
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  /**
+   * Returns the mask of a room's amenities, adding unseen amenities to the dictionary in the
+   * caller's transaction. New entries are numbered under a table lock, so concurrent room writes
+   * never hand out the same bit twice.
+   */
+  public long assign(Collection<String> amenities) {
+    var names = normalize(amenities);
+    if (names.isEmpty()) {
+      return 0L;
+    }
+
+    var bits = lookup(names);
+    if (bits.size() < names.size()) {
+      jdbcTemplate
+          .getJdbcTemplate()
+          .execute("LOCK TABLE amenity_dictionary IN SHARE ROW EXCLUSIVE MODE");
+      bits = lookup(names);
+      int next =
+          jdbcTemplate.queryForObject(
+              "SELECT COALESCE(MAX(bit) + 1, 0) FROM amenity_dictionary",
+              new MapSqlParameterSource(),
+              Integer.class);
+      for (var name : names) {
+        if (bits.containsKey(name)) {
+          continue;
+        }
+        if (next >= MAX_AMENITIES) {
+          throw new IllegalStateException(
+              "Amenity dictionary is full, cannot add amenity '" + name + "'");
+        }
+        jdbcTemplate.update(
+            "INSERT INTO amenity_dictionary (bit, name) VALUES (:bit, :name)",
+            new MapSqlParameterSource("bit", next).addValue("name", name));
+        log.info("Assigned bit {} to amenity '{}'", next, name);
+        bits.put(name, next++);
+      }
+    }
+    return mask(bits.values());
+  }
+
+  /**
+   * Returns the mask a room must fully contain to have every one of the amenities; any amenity
+   * missing from the dictionary sets {@link #UNKNOWN_AMENITY} so that nothing matches.
+   */
+  public long required(Collection<String> amenities) {
+    var names = normalize(amenities);
+    if (names.isEmpty()) {
+      return 0L;
+    }
+
+    var bits = lookup(names);
+    long mask = mask(bits.values());
+    return bits.size() < names.size() ? mask | UNKNOWN_AMENITY : mask;
+  }
+
+  private Map<String, Integer> lookup(Set<String> names) {
+    var bits = new HashMap<String, Integer>();
+    jdbcTemplate.query(
+        "SELECT bit, name FROM amenity_dictionary WHERE name IN (:names)",
+        new MapSqlParameterSource("names", names),
+        rs -> {
+          bits.put(rs.getString("name"), rs.getInt("bit"));
+        });
+    return bits;
+  }
+
+  private static Set<String> normalize(Collection<String> amenities) {
+    return amenities.stream()
+        .map(amenity -> amenity.strip().toLowerCase(Locale.ROOT))
+        .filter(amenity -> !amenity.isEmpty())
+        .collect(Collectors.toCollection(TreeSet::new));
+  }
+
+  private static long mask(Collection<Integer> bits) {
+    long mask = 0L;
+    for (int bit : bits) {
+      mask |= 1L << bit;
+    }
+    return mask;
+  }
+}
@@ -0,0 +1,108 @@
+package com.nacrondx.suitesync.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.function.BooleanSupplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves checked-out and cancelled bookings past the retention age from {@code bookings} into
+ * {@code bookings_archive}. Each batch is a single {@code DELETE ... RETURNING} feeding an insert,
+ * committed in its own transaction so row locks and WAL stay bounded however large the backlog.
+ */
+@Service
+@Slf4j
+public class BookingArchiveService {
+  private static final String LEASE_NAME = "booking-archive";
+  private static final Duration LEASE_DURATION = Duration.ofMinutes(30);
+
+  private static final String ARCHIVE_BATCH_SQL =
+      "WITH moved AS ("
+          + "DELETE FROM bookings WHERE (id, check_in_date) IN ("
+          + "SELECT id, check_in_date FROM bookings "
+          + "WHERE status IN ('CHECKED_OUT', 'CANCELLED') "
+          + "AND check_out_date < ? AND check_in_date < ? "
+          + "ORDER BY check_out_date LIMIT ? FOR UPDATE SKIP LOCKED) "
+          + "RETURNING id, user_id, room_id, check_in_date, check_out_date, number_of_guests, "
+          + "status, special_requests, total_price, created_at, updated_at) "
+          + "INSERT INTO bookings_archive (id, user_id, room_id, check_in_date, check_out_date, "
+          + "number_of_guests, status, special_requests, total_price, created_at, updated_at) "
+          + "SELECT id, user_id, room_id, check_in_date, check_out_date, number_of_guests, "
+          + "status, special_requests, total_price, created_at, updated_at FROM moved";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final SchedulerLeaseService schedulerLeaseService;
+  private final Counter archivedRows;
+  private final Timer batchTimer;
+
+  @Value("${app.bookings.archive.age-days:365}")
+  private int ageDays;
+
+  @Value("${app.bookings.archive.batch-size:1000}")
+  private int batchSize;
+
+  public BookingArchiveService(
+      JdbcTemplate jdbcTemplate,
+      TransactionTemplate transactionTemplate,
+      SchedulerLeaseService schedulerLeaseService,
+      MeterRegistry meterRegistry) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = transactionTemplate;
+    this.schedulerLeaseService = schedulerLeaseService;
+    this.archivedRows =
+        Counter.builder("bookings.archive.rows")
+            .description("Bookings moved into the archive")
+            .register(meterRegistry);
+    this.batchTimer =
+        Timer.builder("bookings.archive.batch")
+            .description("Time taken to archive one batch of bookings")
+            .register(meterRegistry);
+  }
+
+  @Scheduled(cron = "${app.bookings.archive.cron:0 30 3 * * *}")
+  public void archiveFinishedBookings() {
+    schedulerLeaseService.runWithRenewableLease(
+        LEASE_NAME,
+        LEASE_DURATION,
+        lease -> archiveBookingsCheckedOutBefore(LocalDate.now().minusDays(ageDays), lease::renew));
+  }
+
+  public long archiveBookingsCheckedOutBefore(LocalDate cutoff) {
+    return archiveBookingsCheckedOutBefore(cutoff, () -> true);
+  }
+
+  /** Archives batch after batch while {@code keepGoing} allows another one. */
+  private long archiveBookingsCheckedOutBefore(LocalDate cutoff, BooleanSupplier keepGoing) {
+    log.info("Archiving bookings checked out before {}", cutoff);
+
+    long total = 0;
+    int moved;
+    do {
+      moved = batchTimer.record(() -> archiveBatch(cutoff));
+      archivedRows.increment(moved);
+      total += moved;
+      if (moved > 0) {
+        log.debug("Archived batch of {} bookings ({} so far)", moved, total);
+      }
+    } while (moved == batchSize && keepGoing.getAsBoolean());
+
+    log.info("Successfully archived {} bookings checked out before {}", total, cutoff);
+    return total;
+  }
+
+  private int archiveBatch(LocalDate cutoff) {
+    var moved =
+        transactionTemplate.execute(
+            status -> jdbcTemplate.update(ARCHIVE_BATCH_SQL, cutoff, cutoff, batchSize));
+    return moved != null ? moved : 0;
+  }
+}
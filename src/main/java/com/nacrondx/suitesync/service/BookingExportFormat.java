@@ -0,0 +1,15 @@
+package com.nacrondx.suitesync.service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+
+@Getter
+@RequiredArgsConstructor
+public enum BookingExportFormat {
+  NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+  CSV(MediaType.parseMediaType("text/csv"), "csv");
+
+  private final MediaType mediaType;
+  private final String fileExtension;
+}
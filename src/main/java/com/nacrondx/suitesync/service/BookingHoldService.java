@@ -0,0 +1,152 @@
+package com.nacrondx.suitesync.service;
+
+import com.nacrondx.suitesync.entity.BookingHold;
+import com.nacrondx.suitesync.event.BookingHoldChangedEvent;
+import com.nacrondx.suitesync.exception.ResourceNotFoundException;
+import com.nacrondx.suitesync.exception.RoomNotAvailableException;
+import com.nacrondx.suitesync.model.booking.BookingHoldResponse;
+import com.nacrondx.suitesync.model.booking.CreateBookingHoldRequest;
+import com.nacrondx.suitesync.repository.BookingHoldRepository;
+import com.nacrondx.suitesync.repository.BookingRepository;
+import com.nacrondx.suitesync.repository.RoomRepository;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BookingHoldService {
+  public static final String HELD_MESSAGE = "Room is held by another guest for the selected dates";
+
+  private final BookingHoldRepository bookingHoldRepository;
+  private final BookingRepository bookingRepository;
+  private final RoomRepository roomRepository;
+  private final HoldRegistry holdRegistry;
+  private final ApplicationEventPublisher eventPublisher;
+
+  @Value("${app.bookings.holds.default-minutes:10}")
+  private int defaultHoldMinutes;
+
+  @Transactional
+  public BookingHoldResponse createHold(CreateBookingHoldRequest request) {
+    log.info("Creating hold for room ID: {}", request.getRoomId());
+
+    BookingService.validateStayDates(request.getCheckInDate(), request.getCheckOutDate());
+
+    // Locking the room serialises holds and bookings racing for it
+    var rooms = roomRepository.findAllByIdForUpdate(List.of(request.getRoomId()));
+    if (rooms.isEmpty()) {
+      throw new ResourceNotFoundException("Room not found with ID: " + request.getRoomId());
+    }
+
+    if (!bookingRepository
+        .findOverlappingBookings(
+            request.getRoomId(), request.getCheckInDate(), request.getCheckOutDate())
+        .isEmpty()) {
+      throw new RoomNotAvailableException("Room is not available for the selected dates");
+    }
+    assertNotHeld(request.getRoomId(), request.getCheckInDate(), request.getCheckOutDate(), null);
+
+    int holdMinutes =
+        request.getHoldMinutes() != null ? request.getHoldMinutes() : defaultHoldMinutes;
+    var hold =
+        bookingHoldRepository.save(
+            BookingHold.builder()
+                .roomId(request.getRoomId())
+                .userId(currentUserId())
+                .checkInDate(request.getCheckInDate())
+                .checkOutDate(request.getCheckOutDate())
+                .expiresAt(LocalDateTime.now().plusMinutes(holdMinutes))
+                .build());
+    eventPublisher.publishEvent(BookingHoldChangedEvent.created(hold));
+
+    log.info("Successfully created hold with ID: {} until {}", hold.getId(), hold.getExpiresAt());
+    return mapToBookingHoldResponse(hold);
+  }
+
+  @Transactional
+  public void releaseHold(Long holdId) {
+    log.info("Releasing hold with ID: {}", holdId);
+
+    var hold = findActiveOwnHold(holdId);
+    bookingHoldRepository.delete(hold);
+    eventPublisher.publishEvent(BookingHoldChangedEvent.released(hold));
+
+    log.info("Successfully released hold with ID: {}", holdId);
+  }
+
+  /**
+   * Checks that no other active hold covers any of the given nights. Holds taken on this node are
+   * answered from memory; otherwise the table is consulted so holds taken elsewhere still count.
+   */
+  public void assertNotHeld(
+      Long roomId, LocalDate checkInDate, LocalDate checkOutDate, Long excludedHoldId) {
+    if (isHeld(roomId, checkInDate, checkOutDate, excludedHoldId)) {
+      throw new RoomNotAvailableException(HELD_MESSAGE);
+    }
+  }
+
+  public boolean isHeld(
+      Long roomId, LocalDate checkInDate, LocalDate checkOutDate, Long excludedHoldId) {
+    return holdRegistry.isHeld(roomId, checkInDate, checkOutDate, excludedHoldId)
+        || bookingHoldRepository.existsActiveOverlap(
+            roomId, checkInDate, checkOutDate, LocalDateTime.now(), excludedHoldId);
+  }
+
+  public List<Long> findHeldRoomIds(
+      Collection<Long> roomIds, LocalDate checkInDate, LocalDate checkOutDate) {
+    return bookingHoldRepository.findHeldRoomIds(
+        roomIds, checkInDate, checkOutDate, LocalDateTime.now());
+  }
+
+  /** Removes the caller's hold once it has been turned into a booking for the same stay. */
+  public void consumeHold(Long holdId, Long roomId, LocalDate checkInDate, LocalDate checkOutDate) {
+    var hold = findActiveOwnHold(holdId);
+    if (!hold.getRoomId().equals(roomId)
+        || hold.getCheckInDate().isAfter(checkInDate)
+        || hold.getCheckOutDate().isBefore(checkOutDate)) {
+      throw new IllegalArgumentException("Hold " + holdId + " does not cover the requested stay");
+    }
+
+    bookingHoldRepository.delete(hold);
+    eventPublisher.publishEvent(BookingHoldChangedEvent.released(hold));
+  }
+
+  private BookingHold findActiveOwnHold(Long holdId) {
+    var userId = currentUserId();
+    return bookingHoldRepository
+        .findById(holdId)
+        .filter(hold -> hold.getUserId().equals(userId))
+        .filter(hold -> hold.getExpiresAt().isAfter(LocalDateTime.now()))
+        .orElseThrow(() -> new ResourceNotFoundException("Hold not found with ID: " + holdId));
+  }
+
+  private static Long currentUserId() {
+    var authentication = SecurityContextHolder.getContext().getAuthentication();
+    var jwt = (Jwt) authentication.getPrincipal();
+    return ((Number) jwt.getClaim("userId")).longValue();
+  }
+
+  private BookingHoldResponse mapToBookingHoldResponse(BookingHold hold) {
+    var response = new BookingHoldResponse();
+    response.setId(hold.getId());
+    response.setRoomId(hold.getRoomId());
+    response.setUserId(hold.getUserId());
+    response.setCheckInDate(hold.getCheckInDate());
+    response.setCheckOutDate(hold.getCheckOutDate());
+    response.setExpiresAt(OffsetDateTime.of(hold.getExpiresAt(), ZoneOffset.UTC));
+    return response;
+  }
+}
@@ -0,0 +1,70 @@
+package com.nacrondx.suitesync.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps monthly partitions of the bookings table created ahead of time so new bookings never land
+ * in the default partition. When a retention period is configured, partitions whose month lies
+ * entirely before it are detached rather than deleted, which removes them from every query without
+ * generating dead tuples for vacuum to clean up.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BookingPartitionService {
+  private static final String LEASE_NAME = "booking-partitions";
+  private static final Duration LEASE_DURATION = Duration.ofMinutes(30);
+
+  private final JdbcTemplate jdbcTemplate;
+  private final SchedulerLeaseService schedulerLeaseService;
+
+  @Value("${app.bookings.partitions.months-ahead:12}")
+  private int monthsAhead;
+
+  @Value("${app.bookings.partitions.retention-months:0}")
+  private int retentionMonths;
+
+  @EventListener(ApplicationReadyEvent.class)
+  @Scheduled(cron = "${app.bookings.partitions.cron:0 0 3 * * *}")
+  public void maintainPartitionsWithLease() {
+    schedulerLeaseService.runWithLease(LEASE_NAME, LEASE_DURATION, this::maintainPartitions);
+  }
+
+  public void maintainPartitions() {
+    var currentMonth = LocalDate.now().withDayOfMonth(1);
+
+    int created = 0;
+    for (int i = 0; i <= monthsAhead; i++) {
+      var month = currentMonth.plusMonths(i);
+      var partitionCreated =
+          jdbcTemplate.queryForObject("SELECT ensure_bookings_partition(?)", Boolean.class, month);
+      if (Boolean.TRUE.equals(partitionCreated)) {
+        log.info("Created bookings partition for {}", month);
+        created++;
+      }
+    }
+
+    if (retentionMonths > 0) {
+      var detached =
+          jdbcTemplate.queryForList(
+              "SELECT detach_bookings_partitions_before(?)",
+              String.class,
+              currentMonth.minusMonths(retentionMonths));
+      detached.forEach(partition -> log.info("Detached bookings partition {}", partition));
+    }
+
+    log.info(
+        "Bookings partitions maintained up to {} ({} created)",
+        currentMonth.plusMonths(monthsAhead),
+        created);
+  }
+}
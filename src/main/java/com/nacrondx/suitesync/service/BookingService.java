@@ -1,21 +1,54 @@
 package com.nacrondx.suitesync.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nacrondx.suitesync.entity.ArchivedBooking;
 import com.nacrondx.suitesync.entity.Booking;
+import com.nacrondx.suitesync.entity.Room;
+import com.nacrondx.suitesync.entity.User;
+import com.nacrondx.suitesync.event.BookingCancelledEvent;
+import com.nacrondx.suitesync.event.BookingChangedEvent;
 import com.nacrondx.suitesync.exception.ResourceNotFoundException;
 import com.nacrondx.suitesync.exception.RoomNotAvailableException;
+import com.nacrondx.suitesync.model.booking.AlternativeWindow;
 import com.nacrondx.suitesync.model.booking.BookingPageResponse;
 import com.nacrondx.suitesync.model.booking.BookingResponse;
 import com.nacrondx.suitesync.model.booking.BookingStatus;
 import com.nacrondx.suitesync.model.booking.CreateBookingRequest;
+import com.nacrondx.suitesync.model.booking.CreateGroupBookingRequest;
+import com.nacrondx.suitesync.model.booking.CreateRoomTypeBookingRequest;
+import com.nacrondx.suitesync.model.booking.GroupBookingResponse;
+import com.nacrondx.suitesync.model.booking.IncludeTotal;
 import com.nacrondx.suitesync.model.booking.UpdateBookingRequest;
+import com.nacrondx.suitesync.repository.ArchivedBookingRepository;
 import com.nacrondx.suitesync.repository.BookingRepository;
+import com.nacrondx.suitesync.repository.BookingRepository.BookingView;
 import com.nacrondx.suitesync.repository.RoomRepository;
 import com.nacrondx.suitesync.repository.UserRepository;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
@@ -25,22 +58,43 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 @Slf4j
 public class BookingService {
+  private static final String CSV_HEADER =
+      "id,userId,roomId,checkInDate,checkOutDate,numberOfGuests,status,totalPrice,"
+          + "specialRequests,createdAt,updatedAt";
+
+  private static final String GROUP_BOOKING_INSERT_SQL =
+      "INSERT INTO bookings (id, user_id, room_id, check_in_date, check_out_date, "
+          + "number_of_guests, status, special_requests, total_price, created_at, updated_at) "
+          + "VALUES (:id, :userId, :roomId, :checkInDate, :checkOutDate, :numberOfGuests, "
+          + ":status, :specialRequests, :totalPrice, :now, :now)";
+
+  private static final List<Booking.BookingStatus> CANCELLABLE_STATUSES =
+      List.of(Booking.BookingStatus.PENDING, Booking.BookingStatus.CONFIRMED);
+
   private final BookingRepository bookingRepository;
+  private final ArchivedBookingRepository archivedBookingRepository;
+  private final BookingHoldService bookingHoldService;
+  private final RoomTypeInventoryService roomTypeInventoryService;
+  private final RoomAssignmentService roomAssignmentService;
+  private final AlternativeWindowService alternativeWindowService;
   private final RoomRepository roomRepository;
   private final UserRepository userRepository;
+  private final TotalCountService totalCountService;
+  private final ObjectMapper objectMapper;
+  private final ApplicationEventPublisher eventPublisher;
+  private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
 
   @Transactional
   public BookingResponse createBooking(CreateBookingRequest request) {
     log.info("Creating booking for room ID: {}", request.getRoomId());
 
-    if (request.getCheckOutDate().isBefore(request.getCheckInDate())
-        || request.getCheckOutDate().isEqual(request.getCheckInDate())) {
-      throw new IllegalArgumentException("Check-out date must be after check-in date");
-    }
+    validateStayDates(request.getCheckInDate(), request.getCheckOutDate());
 
+    // Locking the room serialises this booking with holds and other bookings racing for it, so
+    // the overlap and hold checks below cannot both pass for two of them
     var room =
-        roomRepository
-            .findById(request.getRoomId())
+        roomRepository.findAllByIdForUpdate(List.of(request.getRoomId())).stream()
+            .findFirst()
             .orElseThrow(
                 () ->
                     new ResourceNotFoundException(
@@ -56,94 +110,605 @@ public class BookingService {
             request.getRoomId(), request.getCheckInDate(), request.getCheckOutDate());
 
     if (!overlappingBookings.isEmpty()) {
-      throw new RoomNotAvailableException("Room is not available for the selected dates");
+      throw roomNotAvailable(
+          "Room is not available for the selected dates",
+          room,
+          request.getCheckInDate(),
+          request.getCheckOutDate());
+    }
+    if (bookingHoldService.isHeld(
+        request.getRoomId(),
+        request.getCheckInDate(),
+        request.getCheckOutDate(),
+        request.getHoldId())) {
+      throw roomNotAvailable(
+          BookingHoldService.HELD_MESSAGE,
+          room,
+          request.getCheckInDate(),
+          request.getCheckOutDate());
     }
 
-    var authentication = SecurityContextHolder.getContext().getAuthentication();
-    var jwt = (Jwt) authentication.getPrincipal();
-    var userId = jwt.getClaim("userId");
-
-    var user =
-        userRepository
-            .findById(((Number) userId).longValue())
-            .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + userId));
+    var user = currentUser();
+    if (request.getHoldId() != null) {
+      bookingHoldService.consumeHold(
+          request.getHoldId(),
+          request.getRoomId(),
+          request.getCheckInDate(),
+          request.getCheckOutDate());
+    }
 
-    long numberOfNights =
-        java.time.temporal.ChronoUnit.DAYS.between(
-            request.getCheckInDate(), request.getCheckOutDate());
-    double totalPrice = numberOfNights * room.getPricePerNight();
+    roomTypeInventoryService.reserve(
+        room.getRoomType(), request.getCheckInDate(), request.getCheckOutDate(), 1, false);
 
-    var booking =
-        Booking.builder()
-            .user(user)
-            .room(room)
-            .checkInDate(request.getCheckInDate())
-            .checkOutDate(request.getCheckOutDate())
-            .numberOfGuests(request.getNumberOfGuests())
-            .specialRequests(request.getSpecialRequests())
-            .totalPrice(totalPrice)
-            .status(Booking.BookingStatus.PENDING)
-            .build();
-
-    var savedBooking = bookingRepository.save(booking);
+    var savedBooking =
+        saveBooking(
+            user,
+            room,
+            request.getCheckInDate(),
+            request.getCheckOutDate(),
+            request.getNumberOfGuests(),
+            request.getSpecialRequests(),
+            false);
     log.info("Successfully created booking with ID: {}", savedBooking.getId());
     return mapToBookingResponse(savedBooking);
   }
 
+  @Transactional
+  public BookingResponse createRoomTypeBooking(CreateRoomTypeBookingRequest request) {
+    log.info("Creating booking for room type: {}", request.getRoomType());
+
+    var checkInDate = request.getCheckInDate();
+    var checkOutDate = request.getCheckOutDate();
+    validateStayDates(checkInDate, checkOutDate);
+
+    var roomType = Room.RoomType.valueOf(request.getRoomType().name());
+    var candidateRoomIds =
+        roomRepository.findFreeRoomIds(
+            roomType.name(),
+            request.getNumberOfGuests(),
+            checkInDate.minusDays(Booking.MAX_STAY_NIGHTS),
+            checkInDate,
+            checkOutDate);
+    var rankedRoomIds =
+        roomAssignmentService.rank(
+            candidateRoomIds, checkInDate, checkOutDate, request.getNumberOfGuests());
+
+    // The candidate scan runs without locks, so the candidates are locked and re-checked in case a
+    // booking or hold landed in between. They are locked together in id order, and before the
+    // inventory counters, which is the order every other booking path takes its locks in.
+    Room room = null;
+    if (!rankedRoomIds.isEmpty()) {
+      var lockedRooms =
+          roomRepository.findAllByIdForUpdate(rankedRoomIds).stream()
+              .collect(Collectors.toMap(Room::getId, Function.identity()));
+      var bookedRoomIds =
+          new HashSet<>(
+              bookingRepository.findOverlappingRoomIds(rankedRoomIds, checkInDate, checkOutDate));
+      for (var roomId : rankedRoomIds) {
+        if (lockedRooms.containsKey(roomId)
+            && !bookedRoomIds.contains(roomId)
+            && !bookingHoldService.isHeld(roomId, checkInDate, checkOutDate, null)) {
+          room = lockedRooms.get(roomId);
+          break;
+        }
+      }
+    }
+    if (room == null) {
+      throw new RoomNotAvailableException(
+          "No "
+              + roomType
+              + " room for "
+              + request.getNumberOfGuests()
+              + " guests is available for the selected dates");
+    }
+    roomTypeInventoryService.reserve(roomType, checkInDate, checkOutDate, 1, true);
+
+    var savedBooking =
+        saveBooking(
+            currentUser(),
+            room,
+            checkInDate,
+            checkOutDate,
+            request.getNumberOfGuests(),
+            request.getSpecialRequests(),
+            true);
+    log.info(
+        "Successfully created booking with ID: {} in room {}",
+        savedBooking.getId(),
+        room.getRoomNumber());
+    return mapToBookingResponse(savedBooking);
+  }
+
+  @Transactional
+  public GroupBookingResponse createGroupBooking(CreateGroupBookingRequest request) {
+    log.info("Creating group booking for {} rooms", request.getRooms().size());
+
+    var checkInDate = request.getCheckInDate();
+    var checkOutDate = request.getCheckOutDate();
+    validateStayDates(checkInDate, checkOutDate);
+
+    var guestsByRoomId = new LinkedHashMap<Long, Integer>();
+    for (var roomRequest : request.getRooms()) {
+      if (guestsByRoomId.put(roomRequest.getRoomId(), roomRequest.getNumberOfGuests()) != null) {
+        throw new IllegalArgumentException(
+            "Room " + roomRequest.getRoomId() + " appears more than once in the group");
+      }
+    }
+
+    var rooms = roomRepository.findAllByIdForUpdate(guestsByRoomId.keySet());
+    if (rooms.size() != guestsByRoomId.size()) {
+      var missingRoomIds = new ArrayList<>(guestsByRoomId.keySet());
+      rooms.forEach(room -> missingRoomIds.remove(room.getId()));
+      throw new ResourceNotFoundException("Rooms not found with IDs: " + missingRoomIds);
+    }
+
+    for (var room : rooms) {
+      if (guestsByRoomId.get(room.getId()) > room.getMaxOccupancy()) {
+        throw new IllegalArgumentException(
+            "Number of guests exceeds capacity of room "
+                + room.getRoomNumber()
+                + " ("
+                + room.getMaxOccupancy()
+                + ")");
+      }
+    }
+
+    var unavailableRoomIds =
+        bookingRepository.findOverlappingRoomIds(
+            guestsByRoomId.keySet(), checkInDate, checkOutDate);
+    if (!unavailableRoomIds.isEmpty()) {
+      throw new RoomNotAvailableException(
+          "Rooms " + unavailableRoomIds + " are not available for the selected dates");
+    }
+    var heldRoomIds =
+        bookingHoldService.findHeldRoomIds(guestsByRoomId.keySet(), checkInDate, checkOutDate);
+    if (!heldRoomIds.isEmpty()) {
+      throw new RoomNotAvailableException(
+          "Rooms " + heldRoomIds + " are held by another guest for the selected dates");
+    }
+
+    var roomsByType = new EnumMap<Room.RoomType, Integer>(Room.RoomType.class);
+    rooms.forEach(room -> roomsByType.merge(room.getRoomType(), 1, Integer::sum));
+    roomTypeInventoryService.reserveAll(roomsByType, checkInDate, checkOutDate);
+
+    var user = currentUser();
+    var ids =
+        namedParameterJdbcTemplate
+            .getJdbcTemplate()
+            .queryForList(
+                "SELECT nextval('bookings_id_seq') FROM generate_series(1, ?)",
+                Long.class,
+                rooms.size());
+    var now = LocalDateTime.now();
+
+    var bookings = new ArrayList<BookingResponse>(rooms.size());
+    var parameters = new MapSqlParameterSource[rooms.size()];
+    double groupTotalPrice = 0;
+    for (int i = 0; i < rooms.size(); i++) {
+      var room = rooms.get(i);
+      var totalPrice = calculateTotalPrice(checkInDate, checkOutDate, room);
+      groupTotalPrice += totalPrice;
+      parameters[i] =
+          new MapSqlParameterSource()
+              .addValue("id", ids.get(i))
+              .addValue("userId", user.getId())
+              .addValue("roomId", room.getId())
+              .addValue("checkInDate", checkInDate)
+              .addValue("checkOutDate", checkOutDate)
+              .addValue("numberOfGuests", guestsByRoomId.get(room.getId()))
+              .addValue("status", Booking.BookingStatus.PENDING.name())
+              .addValue("specialRequests", request.getSpecialRequests())
+              .addValue("totalPrice", totalPrice)
+              .addValue("now", now);
+
+      var response = new BookingResponse();
+      response.setId(ids.get(i));
+      response.setUserId(user.getId());
+      response.setRoomId(room.getId());
+      response.setCheckInDate(checkInDate);
+      response.setCheckOutDate(checkOutDate);
+      response.setNumberOfGuests(guestsByRoomId.get(room.getId()));
+      response.setStatus(BookingStatus.PENDING);
+      response.setSpecialRequests(request.getSpecialRequests());
+      response.setTotalPrice(totalPrice);
+      response.setCreatedAt(OffsetDateTime.of(now, ZoneOffset.UTC));
+      response.setUpdatedAt(OffsetDateTime.of(now, ZoneOffset.UTC));
+      bookings.add(response);
+    }
+
+    namedParameterJdbcTemplate.batchUpdate(GROUP_BOOKING_INSERT_SQL, parameters);
+    eventPublisher.publishEvent(new BookingChangedEvent(ids, Set.copyOf(guestsByRoomId.keySet())));
+
+    var response = new GroupBookingResponse();
+    response.setBookings(bookings);
+    response.setTotalPrice(groupTotalPrice);
+    log.info("Successfully created group booking with IDs: {}", ids);
+    return response;
+  }
+
   @Transactional(readOnly = true)
   public BookingResponse getBookingById(Long bookingId) {
     log.info("Fetching booking with ID: {}", bookingId);
 
-    var booking =
-        bookingRepository
+    var booking = bookingRepository.findById(bookingId);
+    if (booking.isPresent()) {
+      log.info("Successfully fetched booking with ID: {}", bookingId);
+      return mapToBookingResponse(booking.get());
+    }
+
+    var archivedBooking =
+        archivedBookingRepository
             .findById(bookingId)
             .orElseThrow(
                 () -> new ResourceNotFoundException("Booking not found with ID: " + bookingId));
 
-    log.info("Successfully fetched booking with ID: {}", bookingId);
-    return mapToBookingResponse(booking);
+    log.info("Successfully fetched archived booking with ID: {}", bookingId);
+    return mapToBookingResponse(archivedBooking);
   }
 
   @Transactional(readOnly = true)
-  public BookingPageResponse getAllBookings(BookingStatus status, Integer page, Integer size) {
-    log.info("Fetching all bookings with status: {}, page: {}, size: {}", status, page, size);
+  public BookingPageResponse getAllBookings(
+      BookingStatus status, Integer page, Integer size, IncludeTotal includeTotal) {
+    log.info(
+        "Fetching all bookings with status: {}, page: {}, size: {}, includeTotal: {}",
+        status,
+        page,
+        size,
+        includeTotal);
 
     int pageNumber = page != null ? page : 0;
     int pageSize = size != null ? size : 20;
 
     var pageable = PageRequest.of(pageNumber, pageSize);
-    var bookingPage =
-        status != null
-            ? bookingRepository.findByStatus(Booking.BookingStatus.valueOf(status.name()), pageable)
-            : bookingRepository.findAll(pageable);
+    var entityStatus = status != null ? Booking.BookingStatus.valueOf(status.name()) : null;
+    var bookingSlice =
+        entityStatus != null
+            ? bookingRepository.findViewSliceByStatus(entityStatus, pageable)
+            : bookingRepository.findViewSliceBy(pageable);
+
+    var total =
+        totalCountService.resolve(
+            includeTotal != null
+                ? TotalCountService.Mode.valueOf(includeTotal.name())
+                : TotalCountService.Mode.EXACT,
+            bookingSlice,
+            "bookings:" + entityStatus,
+            () ->
+                entityStatus != null
+                    ? bookingRepository.countByStatus(entityStatus)
+                    : bookingRepository.count(),
+            () ->
+                entityStatus != null
+                    ? totalCountService.estimateQueryRows(
+                        "SELECT 1 FROM bookings WHERE status = ?", entityStatus.name())
+                    : totalCountService.estimateTableRows("bookings"));
 
     var response = new BookingPageResponse();
-    response.setContent(bookingPage.getContent().stream().map(this::mapToBookingResponse).toList());
-    response.setPage(bookingPage.getNumber());
-    response.setSize(bookingPage.getSize());
-    response.setTotalElements(bookingPage.getTotalElements());
-    response.setTotalPages(bookingPage.getTotalPages());
+    response.setContent(
+        bookingSlice.getContent().stream().map(this::mapToBookingResponse).toList());
+    response.setPage(bookingSlice.getNumber());
+    response.setSize(bookingSlice.getSize());
+    response.setHasNext(bookingSlice.hasNext());
+    response.setTotalElements(total.totalElements());
+    response.setTotalPages(total.totalPages());
+    response.setTotalEstimated(total.estimated());
 
     log.info(
         "Successfully fetched {} bookings out of {} total",
-        bookingPage.getNumberOfElements(),
-        bookingPage.getTotalElements());
+        bookingSlice.getNumberOfElements(),
+        total.totalElements());
 
     return response;
   }
 
+  @Transactional(readOnly = true)
+  public long exportBookings(
+      LocalDate from,
+      LocalDate to,
+      BookingStatus status,
+      BookingExportFormat format,
+      OutputStream outputStream)
+      throws IOException {
+    log.info("Exporting bookings from {} to {} with status: {} as {}", from, to, status, format);
+
+    var entityStatus = status != null ? Booking.BookingStatus.valueOf(status.name()) : null;
+    var writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+    long exported = 0;
+
+    if (format == BookingExportFormat.CSV) {
+      writer.write(CSV_HEADER);
+      writer.newLine();
+    }
+
+    try (var bookings = bookingRepository.streamForExport(from, to, entityStatus)) {
+      for (var booking : (Iterable<BookingView>) bookings::iterator) {
+        if (format == BookingExportFormat.CSV) {
+          writeCsvRow(writer, booking);
+        } else {
+          writer.write(objectMapper.writeValueAsString(mapToBookingResponse(booking)));
+        }
+        writer.newLine();
+        exported++;
+      }
+    }
+
+    writer.flush();
+    log.info("Successfully exported {} bookings from {} to {}", exported, from, to);
+    return exported;
+  }
+
   @Transactional
   public BookingResponse updateBooking(Long bookingId, UpdateBookingRequest request) {
     log.info("Updating booking with ID: {}", bookingId);
-    // TODO: Implement booking update logic
-    throw new UnsupportedOperationException("Booking update not yet implemented");
+
+    // Other guests' bookings are reported as missing so their IDs cannot be probed
+    var booking =
+        bookingRepository
+            .findById(bookingId)
+            .filter(this::isModifiableByCaller)
+            .orElseThrow(
+                () -> new ResourceNotFoundException("Booking not found with ID: " + bookingId));
+
+    if (booking.getStatus() != Booking.BookingStatus.PENDING
+        && booking.getStatus() != Booking.BookingStatus.CONFIRMED) {
+      throw new IllegalStateException(
+          "Booking with status " + booking.getStatus() + " cannot be updated");
+    }
+
+    var room = booking.getRoom();
+    var checkInDate =
+        request.getCheckInDate() != null ? request.getCheckInDate() : booking.getCheckInDate();
+    var checkOutDate =
+        request.getCheckOutDate() != null ? request.getCheckOutDate() : booking.getCheckOutDate();
+    validateStayDates(checkInDate, checkOutDate);
+
+    if (request.getNumberOfGuests() != null) {
+      if (request.getNumberOfGuests() > room.getMaxOccupancy()) {
+        throw new IllegalArgumentException(
+            "Number of guests exceeds room capacity of " + room.getMaxOccupancy());
+      }
+      booking.setNumberOfGuests(request.getNumberOfGuests());
+    }
+
+    if (!checkInDate.equals(booking.getCheckInDate())
+        || !checkOutDate.equals(booking.getCheckOutDate())) {
+      // Nights shared with the current stay are already held by this booking, so only the nights
+      // it gains need to be checked against other bookings. The room lock keeps those checks from
+      // racing with other changes, bookings and holds for the same room.
+      roomRepository.findAllByIdForUpdate(List.of(room.getId()));
+      for (var addedNights :
+          addedNights(
+              booking.getCheckInDate(), booking.getCheckOutDate(), checkInDate, checkOutDate)) {
+        if (bookingRepository.existsOverlappingBooking(
+            room.getId(), addedNights.checkInDate(), addedNights.checkOutDate(), bookingId)) {
+          throw new RoomNotAvailableException("Room is not available for the selected dates");
+        }
+        bookingHoldService.assertNotHeld(
+            room.getId(), addedNights.checkInDate(), addedNights.checkOutDate(), null);
+      }
+
+      roomTypeInventoryService.release(
+          room.getRoomType(), booking.getCheckInDate(), booking.getCheckOutDate());
+      roomTypeInventoryService.reserve(room.getRoomType(), checkInDate, checkOutDate, 1, false);
+
+      booking.setCheckInDate(checkInDate);
+      booking.setCheckOutDate(checkOutDate);
+      booking.setTotalPrice(calculateTotalPrice(checkInDate, checkOutDate, room));
+    }
+
+    if (request.getSpecialRequests() != null) {
+      booking.setSpecialRequests(request.getSpecialRequests());
+    }
+
+    var updatedBooking = bookingRepository.save(booking);
+    eventPublisher.publishEvent(
+        new BookingChangedEvent(List.of(bookingId), Set.of(updatedBooking.getRoom().getId())));
+    log.info("Successfully updated booking with ID: {}", bookingId);
+    return mapToBookingResponse(updatedBooking);
   }
 
   @Transactional
   public BookingResponse cancelBooking(Long bookingId) {
     log.info("Cancelling booking with ID: {}", bookingId);
-    // TODO: Implement booking cancellation logic
-    throw new UnsupportedOperationException("Booking cancellation not yet implemented");
+
+    // Ownership is part of the conditional update, so a guest can never cancel someone else's
+    // booking even for a moment
+    int cancelled =
+        bookingRepository.updateStatusIfCurrentIn(
+            bookingId,
+            CANCELLABLE_STATUSES,
+            Booking.BookingStatus.CANCELLED,
+            LocalDateTime.now(),
+            currentUserId(),
+            isPrivilegedCaller());
+
+    var booking =
+        bookingRepository
+            .findById(bookingId)
+            .filter(this::isModifiableByCaller)
+            .orElseThrow(
+                () -> new ResourceNotFoundException("Booking not found with ID: " + bookingId));
+
+    if (cancelled == 0) {
+      throw new IllegalStateException(
+          "Booking with status " + booking.getStatus() + " cannot be cancelled");
+    }
+    roomTypeInventoryService.releaseBookings(List.of(bookingId));
+
+    eventPublisher.publishEvent(
+        new BookingCancelledEvent(
+            booking.getId(),
+            booking.getRoom().getId(),
+            booking.getCheckInDate(),
+            booking.getCheckOutDate()));
+    log.info("Successfully cancelled booking with ID: {}", bookingId);
+    return mapToBookingResponse(booking);
+  }
+
+  private RoomNotAvailableException roomNotAvailable(
+      String message, Room room, LocalDate checkInDate, LocalDate checkOutDate) {
+    var alternatives = alternativeWindowService.find(room, checkInDate, checkOutDate);
+    return new RoomNotAvailableException(
+        message,
+        alternatives.sameRoom().stream().map(BookingService::mapToAlternativeWindow).toList(),
+        alternatives.similarRooms().stream().map(BookingService::mapToAlternativeWindow).toList());
+  }
+
+  private static AlternativeWindow mapToAlternativeWindow(AlternativeWindowService.Window window) {
+    var response = new AlternativeWindow();
+    response.setRoomId(window.roomId());
+    response.setRoomNumber(window.roomNumber());
+    response.setCheckInDate(window.checkInDate());
+    response.setCheckOutDate(window.checkOutDate());
+    response.setTotalPrice(window.totalPrice());
+    return response;
+  }
+
+  private Booking saveBooking(
+      User user,
+      Room room,
+      LocalDate checkInDate,
+      LocalDate checkOutDate,
+      Integer numberOfGuests,
+      String specialRequests,
+      boolean roomFlexible) {
+    var booking =
+        bookingRepository.save(
+            Booking.builder()
+                .user(user)
+                .room(room)
+                .checkInDate(checkInDate)
+                .checkOutDate(checkOutDate)
+                .numberOfGuests(numberOfGuests)
+                .specialRequests(specialRequests)
+                .totalPrice(calculateTotalPrice(checkInDate, checkOutDate, room))
+                .status(Booking.BookingStatus.PENDING)
+                .roomFlexible(roomFlexible)
+                .build());
+    eventPublisher.publishEvent(
+        new BookingChangedEvent(List.of(booking.getId()), Set.of(room.getId())));
+    return booking;
+  }
+
+  private User currentUser() {
+    var userId = currentUserId();
+
+    return userRepository
+        .findById(userId)
+        .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + userId));
+  }
+
+  private static Long currentUserId() {
+    var jwt = (Jwt) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+    return ((Number) jwt.getClaim("userId")).longValue();
+  }
+
+  /** Staff and admins may change any booking, guests only their own. */
+  private static boolean isPrivilegedCaller() {
+    return SecurityContextHolder.getContext().getAuthentication().getAuthorities().stream()
+        .anyMatch(
+            authority ->
+                authority.getAuthority().equals("ROLE_ADMIN")
+                    || authority.getAuthority().equals("ROLE_STAFF"));
+  }
+
+  private boolean isModifiableByCaller(Booking booking) {
+    return isPrivilegedCaller() || booking.getUser().getId().equals(currentUserId());
+  }
+
+  static void validateStayDates(LocalDate checkInDate, LocalDate checkOutDate) {
+    if (!checkOutDate.isAfter(checkInDate)) {
+      throw new IllegalArgumentException("Check-out date must be after check-in date");
+    }
+
+    var latestCheckOutDate = checkInDate.plusDays(Booking.MAX_STAY_NIGHTS);
+    if (checkOutDate.isAfter(latestCheckOutDate)) {
+      throw new IllegalArgumentException(
+          "Bookings cannot be longer than " + Booking.MAX_STAY_NIGHTS + " nights");
+    }
+  }
+
+  private static double calculateTotalPrice(
+      LocalDate checkInDate, LocalDate checkOutDate, Room room) {
+    return ChronoUnit.DAYS.between(checkInDate, checkOutDate) * room.getPricePerNight();
+  }
+
+  static List<NightRange> addedNights(
+      LocalDate oldCheckIn, LocalDate oldCheckOut, LocalDate newCheckIn, LocalDate newCheckOut) {
+    if (!newCheckIn.isBefore(oldCheckOut) || !newCheckOut.isAfter(oldCheckIn)) {
+      return List.of(new NightRange(newCheckIn, newCheckOut));
+    }
+
+    var added = new ArrayList<NightRange>(2);
+    if (newCheckIn.isBefore(oldCheckIn)) {
+      added.add(new NightRange(newCheckIn, oldCheckIn));
+    }
+    if (newCheckOut.isAfter(oldCheckOut)) {
+      added.add(new NightRange(oldCheckOut, newCheckOut));
+    }
+    return added;
+  }
+
+  private static void writeCsvRow(Writer writer, BookingView booking) throws IOException {
+    writer.write(
+        String.join(
+            ",",
+            String.valueOf(booking.getId()),
+            String.valueOf(booking.getUserId()),
+            String.valueOf(booking.getRoomId()),
+            booking.getCheckInDate().toString(),
+            booking.getCheckOutDate().toString(),
+            String.valueOf(booking.getNumberOfGuests()),
+            booking.getStatus().name(),
+            String.valueOf(booking.getTotalPrice()),
+            escapeCsv(booking.getSpecialRequests()),
+            OffsetDateTime.of(booking.getCreatedAt(), ZoneOffset.UTC).toString(),
+            OffsetDateTime.of(booking.getUpdatedAt(), ZoneOffset.UTC).toString()));
+  }
+
+  private static String escapeCsv(String value) {
+    if (value == null) {
+      return "";
+    }
+    if (value.contains(",")
+        || value.contains("\"")
+        || value.contains("\n")
+        || value.contains("\r")) {
+      return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+    return value;
+  }
+
+  private BookingResponse mapToBookingResponse(BookingView booking) {
+    var response = new BookingResponse();
+    response.setId(booking.getId());
+    response.setUserId(booking.getUserId());
+    response.setRoomId(booking.getRoomId());
+    response.setCheckInDate(booking.getCheckInDate());
+    response.setCheckOutDate(booking.getCheckOutDate());
+    response.setNumberOfGuests(booking.getNumberOfGuests());
+    response.setStatus(BookingStatus.fromValue(booking.getStatus().name()));
+    response.setSpecialRequests(booking.getSpecialRequests());
+    response.setTotalPrice(booking.getTotalPrice());
+    response.setCreatedAt(OffsetDateTime.of(booking.getCreatedAt(), ZoneOffset.UTC));
+    response.setUpdatedAt(OffsetDateTime.of(booking.getUpdatedAt(), ZoneOffset.UTC));
+    return response;
+  }
+
+  private BookingResponse mapToBookingResponse(ArchivedBooking booking) {
+    var response = new BookingResponse();
+    response.setId(booking.getId());
+    response.setUserId(booking.getUserId());
+    response.setRoomId(booking.getRoomId());
+    response.setCheckInDate(booking.getCheckInDate());
+    response.setCheckOutDate(booking.getCheckOutDate());
+    response.setNumberOfGuests(booking.getNumberOfGuests());
+    response.setStatus(BookingStatus.fromValue(booking.getStatus().name()));
+    response.setSpecialRequests(booking.getSpecialRequests());
+    response.setTotalPrice(booking.getTotalPrice());
+    response.setCreatedAt(OffsetDateTime.of(booking.getCreatedAt(), ZoneOffset.UTC));
+    response.setUpdatedAt(OffsetDateTime.of(booking.getUpdatedAt(), ZoneOffset.UTC));
+    return response;
   }
 
   private BookingResponse mapToBookingResponse(Booking booking) {
@@ -161,4 +726,6 @@ public class BookingService {
     response.setUpdatedAt(OffsetDateTime.of(booking.getUpdatedAt(), ZoneOffset.UTC));
     return response;
   }
+
+  record NightRange(LocalDate checkInDate, LocalDate checkOutDate) {}
 }
@@ -0,0 +1,135 @@
+package com.nacrondx.suitesync.service;
+
+import com.nacrondx.suitesync.entity.Booking;
+import com.nacrondx.suitesync.event.BookingStatusChangedEvent;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.function.BooleanSupplier;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Applies time-driven status changes: pending bookings whose stay has already ended are cancelled,
+ * and checked-in bookings past their check-out date are checked out. Bookings are created pending
+ * and nothing confirms them yet, so a pending booking is only expired once its dates have passed.
+ * Rows are updated in place by bounded set-based statements, each committed separately, and the
+ * bookings touched by a batch are announced once it commits.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BookingStatusTransitionService {
+  private static final String LEASE_NAME = "booking-status-transitions";
+  private static final Duration LEASE_DURATION = Duration.ofMinutes(5);
+
+  private static final String EXPIRE_PENDING_SQL =
+      "UPDATE bookings b SET status = 'CANCELLED', updated_at = now() "
+          + "FROM (SELECT id, check_in_date FROM bookings "
+          + "WHERE status = 'PENDING' AND check_out_date < ? "
+          + "LIMIT ? FOR UPDATE SKIP LOCKED) due "
+          + "WHERE b.id = due.id AND b.check_in_date = due.check_in_date "
+          + "RETURNING b.id, b.room_id";
+
+  private static final String CHECK_OUT_SQL =
+      "UPDATE bookings b SET status = 'CHECKED_OUT', updated_at = now() "
+          + "FROM (SELECT id, check_in_date FROM bookings "
+          + "WHERE status = 'CHECKED_IN' AND check_out_date < ? "
+          + "LIMIT ? FOR UPDATE SKIP LOCKED) due "
+          + "WHERE b.id = due.id AND b.check_in_date = due.check_in_date "
+          + "RETURNING b.id, b.room_id";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final ApplicationEventPublisher eventPublisher;
+  private final SchedulerLeaseService schedulerLeaseService;
+  private final RoomTypeInventoryService roomTypeInventoryService;
+
+  @Value("${app.bookings.status.batch-size:500}")
+  private int batchSize;
+
+  @Scheduled(cron = "${app.bookings.status.cron:0 */5 * * * *}")
+  public void applyScheduledTransitions() {
+    schedulerLeaseService.runWithRenewableLease(
+        LEASE_NAME, LEASE_DURATION, lease -> applyTransitions(lease::renew));
+  }
+
+  public void applyTransitions() {
+    applyTransitions(() -> true);
+  }
+
+  /** Runs batch after batch while {@code keepGoing} allows another one. */
+  private void applyTransitions(BooleanSupplier keepGoing) {
+    var today = LocalDate.now();
+
+    long cancelled =
+        transitionInBatches(
+            keepGoing,
+            EXPIRE_PENDING_SQL,
+            Booking.BookingStatus.PENDING,
+            Booking.BookingStatus.CANCELLED,
+            today);
+    long checkedOut = 0;
+    if (keepGoing.getAsBoolean()) {
+      checkedOut =
+          transitionInBatches(
+              keepGoing,
+              CHECK_OUT_SQL,
+              Booking.BookingStatus.CHECKED_IN,
+              Booking.BookingStatus.CHECKED_OUT,
+              today);
+    }
+
+    log.info(
+        "Applied booking status transitions: {} pending cancelled, {} checked out",
+        cancelled,
+        checkedOut);
+  }
+
+  private long transitionInBatches(
+      BooleanSupplier keepGoing,
+      String sql,
+      Booking.BookingStatus previousStatus,
+      Booking.BookingStatus status,
+      Object... conditions) {
+    var args = new Object[conditions.length + 1];
+    System.arraycopy(conditions, 0, args, 0, conditions.length);
+    args[conditions.length] = batchSize;
+
+    long total = 0;
+    int updated;
+    do {
+      var changed =
+          transactionTemplate.execute(
+              transaction -> {
+                var bookingIds = new ArrayList<Long>();
+                var roomIds = new HashSet<Long>();
+                jdbcTemplate.query(
+                    sql,
+                    rs -> {
+                      bookingIds.add(rs.getLong("id"));
+                      roomIds.add(rs.getLong("room_id"));
+                    },
+                    args);
+                if (!bookingIds.isEmpty()) {
+                  if (status == Booking.BookingStatus.CANCELLED) {
+                    roomTypeInventoryService.releaseBookings(bookingIds);
+                  }
+                  eventPublisher.publishEvent(
+                      new BookingStatusChangedEvent(bookingIds, roomIds, previousStatus, status));
+                }
+                return bookingIds.size();
+              });
+      updated = changed != null ? changed : 0;
+      total += updated;
+    } while (updated == batchSize && keepGoing.getAsBoolean());
+    return total;
+  }
+}
@@ -0,0 +1,165 @@
+package com.nacrondx.suitesync.service;
+
+import com.nacrondx.suitesync.entity.BookingHold;
+import com.nacrondx.suitesync.event.BookingHoldChangedEvent;
+import com.nacrondx.suitesync.repository.BookingHoldRepository;
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * In-memory mirror of the active rows in {@code booking_holds}. Expiry is driven by a hashed timer
+ * wheel: each hold is dropped into the slot for the tick on which it expires, and a single thread
+ * advances one slot per tick, so expiring a hold never requires scanning or polling the table.
+ * Holds whose deadline lies more than one revolution ahead simply stay in their slot until the
+ * wheel comes round to it again at the right tick.
+ */
+@Component
+@Slf4j
+public class HoldRegistry {
+  private static final long TICK_MILLIS = 1_000;
+  private static final int WHEEL_SIZE = 512;
+
+  private final BookingHoldRepository bookingHoldRepository;
+
+  private final Map<Long, BookingHold> holds = new ConcurrentHashMap<>();
+  private final List<Queue<WheelEntry>> wheel =
+      IntStream.range(0, WHEEL_SIZE)
+          .<Queue<WheelEntry>>mapToObj(slot -> new ConcurrentLinkedQueue<>())
+          .toList();
+  private final ScheduledExecutorService ticker;
+  private final long startMillis = System.currentTimeMillis();
+
+  private volatile long currentTick;
+
+  @Autowired
+  public HoldRegistry(BookingHoldRepository bookingHoldRepository) {
+    this(
+        bookingHoldRepository,
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              var thread = new Thread(runnable, "hold-registry-wheel");
+              thread.setDaemon(true);
+              return thread;
+            }));
+  }
+
+  /** Ticks the wheel on the given executor; tests call {@link #advance} themselves instead. */
+  HoldRegistry(BookingHoldRepository bookingHoldRepository, ScheduledExecutorService ticker) {
+    this.bookingHoldRepository = bookingHoldRepository;
+    this.ticker = ticker;
+    ticker.scheduleAtFixedRate(this::advance, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void load() {
+    var now = LocalDateTime.now();
+    int expired = bookingHoldRepository.deleteExpired(now);
+    bookingHoldRepository.findByExpiresAtAfter(now).forEach(this::add);
+    log.info("Loaded {} active booking holds ({} expired holds removed)", holds.size(), expired);
+  }
+
+  public void add(BookingHold hold) {
+    holds.put(hold.getId(), hold);
+
+    long expiresAtMillis =
+        hold.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    long deadlineTick =
+        Math.max(
+            currentTick + 1,
+            (expiresAtMillis - startMillis + TICK_MILLIS - 1) / TICK_MILLIS);
+    wheel.get((int) (deadlineTick % WHEEL_SIZE)).add(new WheelEntry(hold, deadlineTick));
+  }
+
+  public void remove(Long holdId) {
+    holds.remove(holdId);
+  }
+
+  /**
+   * Mirrors a hold created or removed by a committed transaction. Applying it only after commit
+   * keeps rolled-back holds out of memory and keeps holds whose row survived a rollback in it.
+   */
+  @TransactionalEventListener
+  public void onHoldChanged(BookingHoldChangedEvent event) {
+    if (event.released()) {
+      remove(event.hold().getId());
+    } else {
+      add(event.hold());
+    }
+  }
+
+  public BookingHold get(Long holdId) {
+    var hold = holds.get(holdId);
+    return hold != null && hold.getExpiresAt().isAfter(LocalDateTime.now()) ? hold : null;
+  }
+
+  public boolean isHeld(
+      Long roomId, LocalDate checkInDate, LocalDate checkOutDate, Long excludedHoldId) {
+    var now = LocalDateTime.now();
+    for (var hold : holds.values()) {
+      if (hold.getRoomId().equals(roomId)
+          && !hold.getId().equals(excludedHoldId)
+          && hold.getExpiresAt().isAfter(now)
+          && hold.overlaps(checkInDate, checkOutDate)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  public int size() {
+    return holds.size();
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    ticker.shutdownNow();
+  }
+
+  /** Moves the wheel on by one tick, expiring the holds due in the slot it leaves. */
+  void advance() {
+    long tick = currentTick;
+    var slot = wheel.get((int) (tick % WHEEL_SIZE));
+    for (var iterator = slot.iterator(); iterator.hasNext(); ) {
+      var entry = iterator.next();
+      if (entry.deadlineTick() > tick) {
+        continue;
+      }
+      iterator.remove();
+      var holdId = entry.hold().getId();
+      if (holds.get(holdId) == entry.hold() && holds.remove(holdId, entry.hold())) {
+        expire(entry.hold());
+      }
+    }
+    currentTick = tick + 1;
+  }
+
+  private void expire(BookingHold hold) {
+    try {
+      bookingHoldRepository.deleteAllByIdInBatch(List.of(hold.getId()));
+      log.debug("Expired booking hold {} on room {}", hold.getId(), hold.getRoomId());
+    } catch (DataAccessException e) {
+      // The row is already ignored by every query once expired and is swept on the next startup
+      log.warn("Failed to delete expired booking hold {}", hold.getId(), e);
+    }
+  }
+
+  private record WheelEntry(BookingHold hold, long deadlineTick) {}
+}
@@ -0,0 +1,236 @@
+package com.nacrondx.suitesync.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Remembers the response to each request made with an idempotency key so that a retry gets the
+ * original response instead of repeating the work. Recent responses are kept in a bounded LRU map
+ * in front of the {@code request_idempotency} table, and a duplicate that arrives while the first
+ * request is still running waits for its result. A key is reserved in the table before the request
+ * runs, which stops duplicates sent to other nodes from running it a second time. A reservation
+ * that is still open after the stale timeout is treated as left behind by a crashed node and
+ * handed to the next request with that key.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotencyService {
+  private static final int MAX_CACHED_RESPONSES = 10_000;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  private final Map<String, CachedResponse> completed =
+      Collections.synchronizedMap(
+          new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+              return size() > MAX_CACHED_RESPONSES;
+            }
+          });
+  private final Map<String, CompletableFuture<StoredResponse>> inFlight =
+      new ConcurrentHashMap<>();
+
+  @Value("${app.idempotency.wait-timeout-ms:30000}")
+  private long waitTimeoutMillis;
+
+  @Value("${app.idempotency.stale-after-ms:3600000}")
+  private long staleAfterMillis;
+
+  @Value("${app.idempotency.retention-hours:24}")
+  private long retentionHours;
+
+  /**
+   * Returns the stored response for a key that has already been used, or an empty result once the
+   * caller has reserved the key and must run the request, then call {@link #complete} or {@link
+   * #abandon}.
+   *
+   * @throws IllegalArgumentException if the key was used for a different request
+   * @throws IllegalStateException if the original request is still running elsewhere
+   */
+  public Optional<StoredResponse> begin(Long userId, String key, String requestHash) {
+    var cacheKey = cacheKey(userId, key);
+    while (true) {
+      var cached = completed.get(cacheKey);
+      if (cached != null) {
+        return Optional.of(verified(cached.response(), requestHash));
+      }
+
+      var running = inFlight.putIfAbsent(cacheKey, new CompletableFuture<>());
+      if (running == null) {
+        return reserve(userId, key, requestHash);
+      }
+
+      var result = await(running);
+      if (result != null) {
+        return Optional.of(verified(result, requestHash));
+      }
+    }
+  }
+
+  public void complete(Long userId, String key, StoredResponse response) {
+    jdbcTemplate.update(
+        "UPDATE request_idempotency SET status_code = ?, content_type = ?, response_body = ? "
+            + "WHERE user_id = ? AND idempotency_key = ?",
+        response.status(),
+        response.contentType(),
+        response.body(),
+        userId,
+        key);
+
+    var cacheKey = cacheKey(userId, key);
+    completed.put(cacheKey, new CachedResponse(response, Instant.now()));
+    release(cacheKey, response);
+  }
+
+  public void abandon(Long userId, String key) {
+    try {
+      jdbcTemplate.update(
+          "DELETE FROM request_idempotency "
+              + "WHERE user_id = ? AND idempotency_key = ? AND status_code IS NULL",
+          userId,
+          key);
+    } finally {
+      release(cacheKey(userId, key), null);
+    }
+  }
+
+  @Scheduled(cron = "${app.idempotency.purge-cron:0 15 * * * *}")
+  public void purgeExpired() {
+    int purged =
+        jdbcTemplate.update(
+            "DELETE FROM request_idempotency "
+                + "WHERE created_at < now() - make_interval(hours => ?)",
+            retentionHours);
+
+    // Only the responses whose records were just purged go; the rest stay cached
+    var cutoff = Instant.now().minus(Duration.ofHours(retentionHours));
+    synchronized (completed) {
+      completed.values().removeIf(cached -> cached.createdAt().isBefore(cutoff));
+    }
+    log.info("Purged {} idempotency records older than {} hours", purged, retentionHours);
+  }
+
+  private Optional<StoredResponse> reserve(Long userId, String key, String requestHash) {
+    var cacheKey = cacheKey(userId, key);
+    List<CachedResponse> stored;
+    try {
+      int inserted =
+          jdbcTemplate.update(
+              "INSERT INTO request_idempotency "
+                  + "(user_id, idempotency_key, request_hash, created_at) "
+                  + "VALUES (?, ?, ?, now()) ON CONFLICT DO NOTHING",
+              userId,
+              key,
+              requestHash);
+      if (inserted > 0 || takeOverStale(userId, key, requestHash)) {
+        return Optional.empty();
+      }
+
+      stored =
+          jdbcTemplate.query(
+              "SELECT request_hash, status_code, content_type, response_body, created_at "
+                  + "FROM request_idempotency WHERE user_id = ? AND idempotency_key = ?",
+              (rs, rowNum) ->
+                  rs.getObject("status_code") != null
+                      ? new CachedResponse(
+                          new StoredResponse(
+                              rs.getString("request_hash"),
+                              rs.getInt("status_code"),
+                              rs.getString("content_type"),
+                              rs.getBytes("response_body")),
+                          rs.getTimestamp("created_at").toInstant())
+                      : null,
+              userId,
+              key);
+    } catch (RuntimeException e) {
+      release(cacheKey, null);
+      throw e;
+    }
+
+    // The key is reserved by a request that is still running on another node
+    var cached = stored.isEmpty() ? null : stored.get(0);
+    if (cached == null) {
+      release(cacheKey, null);
+      throw new IllegalStateException(
+          "A request with this Idempotency-Key is still being processed");
+    }
+
+    completed.put(cacheKey, cached);
+    release(cacheKey, cached.response());
+    return Optional.of(verified(cached.response(), requestHash));
+  }
+
+  /**
+   * Claims a reservation that is older than the stale timeout and still has no response. The
+   * request that took it over runs again, and a by-type booking repeated that way is simply given
+   * another room, so the timeout must stay well above the longest a request can run; only a node
+   * that died before storing its response should ever leave a reservation that old.
+   */
+  private boolean takeOverStale(Long userId, String key, String requestHash) {
+    int claimed =
+        jdbcTemplate.update(
+            "UPDATE request_idempotency SET request_hash = ?, created_at = now() "
+                + "WHERE user_id = ? AND idempotency_key = ? AND status_code IS NULL "
+                + "AND created_at < now() - make_interval(secs => ?)",
+            requestHash,
+            userId,
+            key,
+            staleAfterMillis / 1000.0);
+    if (claimed > 0) {
+      log.warn("Taking over stale reservation for Idempotency-Key {}", key);
+    }
+    return claimed > 0;
+  }
+
+  private StoredResponse await(CompletableFuture<StoredResponse> running) {
+    try {
+      return running.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException | ExecutionException e) {
+      throw new IllegalStateException(
+          "A request with this Idempotency-Key is still being processed", e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for the original request", e);
+    }
+  }
+
+  private void release(String cacheKey, StoredResponse response) {
+    var reservation = inFlight.remove(cacheKey);
+    if (reservation != null) {
+      reservation.complete(response);
+    }
+  }
+
+  private static StoredResponse verified(StoredResponse stored, String requestHash) {
+    if (!stored.requestHash().equals(requestHash)) {
+      throw new IllegalArgumentException(
+          "Idempotency-Key has already been used for a different request");
+    }
+    return stored;
+  }
+
+  private static String cacheKey(Long userId, String key) {
+    return userId + ":" + key;
+  }
+
+  private record CachedResponse(StoredResponse response, Instant createdAt) {}
+
+  public record StoredResponse(String requestHash, int status, String contentType, byte[] body) {}
+}
@@ -0,0 +1,62 @@
+package com.nacrondx.suitesync.service;
+
+import com.nacrondx.suitesync.entity.Booking;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.BitSet;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Projects active bookings and holds onto per-day bitmaps, one bit per day from the start of the
+ * requested range. A day is taken from check-in through check-out, matching the inclusive overlap
+ * check used when booking, so a stay can be booked exactly when none of its days is set.
+ */
+@Service
+@RequiredArgsConstructor
+public class OccupancyCalendarService {
+  private static final String ROOM_STAYS_SQL =
+      "SELECT b.check_in_date, b.check_out_date FROM bookings b "
+          + "WHERE b.room_id = :roomId AND b.status NOT IN ('CANCELLED', 'CHECKED_OUT') "
+          + "AND b.check_in_date >= :earliestCheckIn AND b.check_in_date < :to "
+          + "AND b.check_out_date >= :from "
+          + "UNION ALL "
+          + "SELECT h.check_in_date, h.check_out_date FROM booking_holds h "
+          + "WHERE h.room_id = :roomId AND h.expires_at > CURRENT_TIMESTAMP "
+          + "AND h.check_in_date < :to AND h.check_out_date >= :from";
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  /** Returns the taken days of a room in {@code from} (inclusive) to {@code to} (exclusive). */
+  public BitSet roomDays(Long roomId, LocalDate from, LocalDate to) {
+    var days = new BitSet();
+    jdbcTemplate.query(
+        ROOM_STAYS_SQL,
+        new MapSqlParameterSource("roomId", roomId)
+            .addValue("from", from)
+            .addValue("to", to)
+            .addValue("earliestCheckIn", from.minusDays(Booking.MAX_STAY_NIGHTS)),
+        rs -> {
+          mark(
+              days,
+              from,
+              to,
+              rs.getObject("check_in_date", LocalDate.class),
+              rs.getObject("check_out_date", LocalDate.class));
+        });
+    return days;
+  }
+
+  /** Sets the days of a stay that fall inside {@code from..to}, check-out day included. */
+  static void mark(
+      BitSet days, LocalDate from, LocalDate to, LocalDate checkInDate, LocalDate checkOutDate) {
+    long length = ChronoUnit.DAYS.between(from, to);
+    long first = Math.max(0, ChronoUnit.DAYS.between(from, checkInDate));
+    long last = Math.min(length - 1, ChronoUnit.DAYS.between(from, checkOutDate));
+    if (first <= last) {
+      days.set((int) first, (int) last + 1);
+    }
+  }
+}
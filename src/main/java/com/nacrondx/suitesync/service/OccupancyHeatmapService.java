@@ -0,0 +1,219 @@
+package com.nacrondx.suitesync.service;
+
+import com.nacrondx.suitesync.entity.Booking;
+import com.nacrondx.suitesync.event.BookingCancelledEvent;
+import com.nacrondx.suitesync.event.BookingChangedEvent;
+import com.nacrondx.suitesync.event.BookingStatusChangedEvent;
+import com.nacrondx.suitesync.event.RoomChangedEvent;
+import com.nacrondx.suitesync.model.room.OccupancyHeatmapResponse;
+import com.nacrondx.suitesync.model.room.RoomOccupancy;
+import com.nacrondx.suitesync.model.room.RoomStatus;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Builds the rooms × nights occupancy matrix for the coming days. Active bookings are read with
+ * one query and projected onto a packed {@code long[]} per room, which is then run-length encoded
+ * for the response. The result is cached briefly and dropped whenever bookings or rooms change.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OccupancyHeatmapService {
+  private static final String ACTIVE_STAYS_SQL =
+      "SELECT b.room_id, b.check_in_date, b.check_out_date FROM bookings b "
+          + "WHERE b.status NOT IN ('CANCELLED', 'CHECKED_OUT') "
+          + "AND b.check_in_date >= :earliestCheckIn AND b.check_in_date < :to "
+          + "AND b.check_out_date > :from";
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  @Value("${app.occupancy.heatmap.days:90}")
+  private int days;
+
+  @Value("${app.occupancy.heatmap.cache-ttl-ms:30000}")
+  private long cacheTtlMillis;
+
+  // Bumped on every eviction so a build that overlapped a change is never served from the cache
+  private final AtomicLong version = new AtomicLong();
+  private volatile CachedHeatmap cached;
+
+  public OccupancyHeatmapResponse getHeatmap() {
+    var today = LocalDate.now();
+    var current = cached;
+    if (current != null
+        && current.version() == version.get()
+        && current.from().equals(today)
+        && current.expiresAt() - System.nanoTime() > 0) {
+      return current.heatmap();
+    }
+
+    long buildVersion = version.get();
+    var heatmap = build(today);
+    if (version.get() == buildVersion) {
+      cached =
+          new CachedHeatmap(
+              buildVersion,
+              today,
+              heatmap,
+              System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(cacheTtlMillis));
+    }
+    return heatmap;
+  }
+
+  public void evict() {
+    version.incrementAndGet();
+    cached = null;
+  }
+
+  @TransactionalEventListener
+  public void onBookingChanged(BookingChangedEvent event) {
+    evict();
+  }
+
+  @TransactionalEventListener
+  public void onBookingStatusChanged(BookingStatusChangedEvent event) {
+    evict();
+  }
+
+  @TransactionalEventListener
+  public void onBookingCancelled(BookingCancelledEvent event) {
+    evict();
+  }
+
+  @TransactionalEventListener
+  public void onRoomChanged(RoomChangedEvent event) {
+    evict();
+  }
+
+  private OccupancyHeatmapResponse build(LocalDate from) {
+    log.info("Building occupancy heatmap for {} days from {}", days, from);
+
+    var to = from.plusDays(days);
+    var rooms = new LinkedHashMap<Long, RoomOccupancy>();
+    var nightsByRoom = new LinkedHashMap<Long, long[]>();
+    jdbcTemplate.query(
+        "SELECT id, room_number, status FROM rooms ORDER BY id",
+        new MapSqlParameterSource(),
+        rs -> {
+          var room = new RoomOccupancy();
+          room.setRoomId(rs.getLong("id"));
+          room.setRoomNumber(rs.getString("room_number"));
+          room.setStatus(RoomStatus.valueOf(rs.getString("status")));
+          rooms.put(room.getRoomId(), room);
+          nightsByRoom.put(room.getRoomId(), new long[(days + 63) >>> 6]);
+        });
+
+    jdbcTemplate.query(
+        ACTIVE_STAYS_SQL,
+        new MapSqlParameterSource("from", from)
+            .addValue("to", to)
+            .addValue("earliestCheckIn", from.minusDays(Booking.MAX_STAY_NIGHTS)),
+        rs -> {
+          var nights = nightsByRoom.get(rs.getLong("room_id"));
+          if (nights != null) {
+            long firstNight =
+                ChronoUnit.DAYS.between(from, rs.getObject("check_in_date", LocalDate.class));
+            long checkOutDay =
+                ChronoUnit.DAYS.between(from, rs.getObject("check_out_date", LocalDate.class));
+            set(nights, (int) Math.max(0, firstNight), (int) Math.min(days, checkOutDay));
+          }
+        });
+
+    long occupiedNights = 0;
+    for (var room : rooms.values()) {
+      var nights = nightsByRoom.get(room.getRoomId());
+      int occupied = 0;
+      for (long word : nights) {
+        occupied += Long.bitCount(word);
+      }
+      occupiedNights += occupied;
+      room.setOccupiedNights(occupied);
+      room.setRuns(runs(nights, days));
+    }
+
+    var response = new OccupancyHeatmapResponse();
+    response.setFrom(from);
+    response.setDays(days);
+    response.setGeneratedAt(OffsetDateTime.now(ZoneOffset.UTC));
+    response.setOccupancyRate(
+        rooms.isEmpty() ? 0.0 : (double) occupiedNights / ((long) rooms.size() * days));
+    response.setRooms(new ArrayList<>(rooms.values()));
+
+    log.info(
+        "Built occupancy heatmap for {} rooms with {} occupied nights",
+        rooms.size(),
+        occupiedNights);
+    return response;
+  }
+
+  /** Sets bits {@code from} (inclusive) to {@code to} (exclusive) of a packed bitset. */
+  static void set(long[] words, int from, int to) {
+    if (from >= to) {
+      return;
+    }
+    int first = from >>> 6;
+    int last = (to - 1) >>> 6;
+    long firstMask = -1L << from;
+    long lastMask = -1L >>> -to;
+    if (first == last) {
+      words[first] |= firstMask & lastMask;
+      return;
+    }
+    words[first] |= firstMask;
+    for (int i = first + 1; i < last; i++) {
+      words[i] = -1L;
+    }
+    words[last] |= lastMask;
+  }
+
+  /**
+   * Run-length encodes the first {@code length} bits as alternating free and occupied run
+   * lengths, starting with a free run that is zero when the first night is occupied.
+   */
+  static List<Integer> runs(long[] words, int length) {
+    var runs = new ArrayList<Integer>();
+    boolean occupied = false;
+    int start = 0;
+    while (start < length) {
+      int end = Math.min(length, next(words, start, !occupied));
+      runs.add(end - start);
+      start = end;
+      occupied = !occupied;
+    }
+    return runs;
+  }
+
+  /** Returns the index of the first bit at or after {@code from} that has the given value. */
+  private static int next(long[] words, int from, boolean value) {
+    int index = from >>> 6;
+    if (index >= words.length) {
+      return Integer.MAX_VALUE;
+    }
+    long word = (value ? words[index] : ~words[index]) & (-1L << from);
+    while (word == 0) {
+      if (++index == words.length) {
+        return Integer.MAX_VALUE;
+      }
+      word = value ? words[index] : ~words[index];
+    }
+    return (index << 6) + Long.numberOfTrailingZeros(word);
+  }
+
+  private record CachedHeatmap(
+      long version, LocalDate from, OccupancyHeatmapResponse heatmap, long expiresAt) {}
+}
@@ -1,17 +1,21 @@
 package com.nacrondx.suitesync.service;
 
 import com.nacrondx.suitesync.entity.Review;
+import com.nacrondx.suitesync.event.ReviewCreatedEvent;
 import com.nacrondx.suitesync.exception.ResourceNotFoundException;
 import com.nacrondx.suitesync.model.review.CreateReviewRequest;
+import com.nacrondx.suitesync.model.review.ReviewPageResponse;
 import com.nacrondx.suitesync.model.review.ReviewResponse;
 import com.nacrondx.suitesync.repository.ReviewRepository;
+import com.nacrondx.suitesync.repository.ReviewRepository.ReviewView;
 import com.nacrondx.suitesync.repository.RoomRepository;
 import com.nacrondx.suitesync.repository.UserRepository;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
-import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
@@ -24,20 +28,55 @@ public class ReviewService {
   private final ReviewRepository reviewRepository;
   private final RoomRepository roomRepository;
   private final UserRepository userRepository;
+  private final ApplicationEventPublisher eventPublisher;
 
   @Transactional(readOnly = true)
-  public List<ReviewResponse> getReviewsByRoomId(Long roomId) {
-    log.info("Fetching reviews for room ID: {}", roomId);
+  public ReviewPageResponse getReviewsByRoomId(
+      Long roomId, OffsetDateTime beforeCreatedAt, Long beforeId, Integer size) {
+    log.info(
+        "Fetching reviews for room ID: {} before createdAt: {}, id: {}, size: {}",
+        roomId,
+        beforeCreatedAt,
+        beforeId,
+        size);
 
-    var room =
-        roomRepository
-            .findById(roomId)
-            .orElseThrow(() -> new ResourceNotFoundException("Room not found with ID: " + roomId));
+    if (!roomRepository.existsById(roomId)) {
+      throw new ResourceNotFoundException("Room not found with ID: " + roomId);
+    }
+
+    if ((beforeCreatedAt == null) != (beforeId == null)) {
+      throw new IllegalArgumentException("beforeCreatedAt and beforeId must be provided together");
+    }
 
-    var reviews = reviewRepository.findByRoomIdOrderByCreatedAtDesc(roomId);
+    int pageSize = size != null ? size : 20;
 
-    log.info("Successfully fetched {} reviews for room ID: {}", reviews.size(), roomId);
-    return reviews.stream().map(this::mapToReviewResponse).toList();
+    // One extra row tells us whether another page exists without running a count query
+    var limit = PageRequest.ofSize(pageSize + 1);
+    var reviews =
+        beforeCreatedAt == null
+            ? reviewRepository.findPageByRoomId(roomId, limit)
+            : reviewRepository.findPageByRoomIdBefore(
+                roomId,
+                beforeCreatedAt.withOffsetSameInstant(ZoneOffset.UTC).toLocalDateTime(),
+                beforeId,
+                limit);
+
+    boolean hasNext = reviews.size() > pageSize;
+    var content = hasNext ? reviews.subList(0, pageSize) : reviews;
+
+    var response = new ReviewPageResponse();
+    response.setContent(content.stream().map(this::mapToReviewResponse).toList());
+    response.setSize(pageSize);
+    response.setHasNext(hasNext);
+
+    if (hasNext) {
+      var last = content.get(content.size() - 1);
+      response.setNextBeforeCreatedAt(OffsetDateTime.of(last.getCreatedAt(), ZoneOffset.UTC));
+      response.setNextBeforeId(last.getId());
+    }
+
+    log.info("Successfully fetched {} reviews for room ID: {}", content.size(), roomId);
+    return response;
   }
 
   @Transactional
@@ -67,6 +106,9 @@ public class ReviewService {
             .build();
 
     var savedReview = reviewRepository.save(review);
+    roomRepository.recordRating(room.getId(), savedReview.getRating());
+    eventPublisher.publishEvent(
+        new ReviewCreatedEvent(savedReview.getId(), room.getId(), savedReview.getRating()));
     log.info("Successfully created review with ID: {}", savedReview.getId());
     return mapToReviewResponse(savedReview);
   }
@@ -84,4 +126,18 @@ public class ReviewService {
     response.setUpdatedAt(OffsetDateTime.of(review.getUpdatedAt(), ZoneOffset.UTC));
     return response;
   }
+
+  private ReviewResponse mapToReviewResponse(ReviewView review) {
+    var response = new ReviewResponse();
+    response.setId(review.getId());
+    response.setRoomId(review.getRoomId());
+    response.setUserId(review.getUserId());
+    response.setUserFirstName(review.getUserFirstName());
+    response.setUserLastName(review.getUserLastName());
+    response.setRating(review.getRating());
+    response.setComment(review.getComment());
+    response.setCreatedAt(OffsetDateTime.of(review.getCreatedAt(), ZoneOffset.UTC));
+    response.setUpdatedAt(OffsetDateTime.of(review.getUpdatedAt(), ZoneOffset.UTC));
+    return response;
+  }
 }
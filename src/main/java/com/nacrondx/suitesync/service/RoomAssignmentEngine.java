@@ -0,0 +1,122 @@
+package com.nacrondx.suitesync.service;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Chooses which concrete room a type-level stay goes into. Each candidate room is described by a
+ * bitset with one bit per day of a window, set when a booking or hold touches that day; the
+ * check-out day is included because the overlap rule does not allow same-day turnover. A stay is
+ * placed best-fit: first avoiding rooms where it would leave a free run too short to sell, then
+ * preferring the room whose enclosing free run is tightest, then the smallest room that fits.
+ */
+public class RoomAssignmentEngine {
+  private static final int OPEN_GAP = Integer.MAX_VALUE / 4;
+
+  private final int shortGapDays;
+
+  public RoomAssignmentEngine(int shortGapDays) {
+    this.shortGapDays = shortGapDays;
+  }
+
+  /**
+   * Returns the candidates free on days {@code firstDay..lastDay} that fit the party, best fit
+   * first. Rooms that are busy or too small are left out.
+   */
+  public List<RoomCalendar> rank(
+      Collection<RoomCalendar> rooms, int firstDay, int lastDay, int guests) {
+    var fits = new ArrayList<Fit>(rooms.size());
+    for (var room : rooms) {
+      var fit = fit(room, firstDay, lastDay, guests);
+      if (fit != null) {
+        fits.add(fit);
+      }
+    }
+    fits.sort(Fit.ORDER);
+    return fits.stream().map(Fit::room).toList();
+  }
+
+  /** Returns the best candidate for the stay, or {@code null} when no room can take it. */
+  public RoomCalendar bestFit(
+      Collection<RoomCalendar> rooms, int firstDay, int lastDay, int guests) {
+    Fit best = null;
+    for (var room : rooms) {
+      var fit = fit(room, firstDay, lastDay, guests);
+      if (fit != null && (best == null || Fit.ORDER.compare(fit, best) < 0)) {
+        best = fit;
+      }
+    }
+    return best != null ? best.room() : null;
+  }
+
+  /** Counts free runs between two occupied days that are too short to sell. */
+  public int shortGaps(BitSet days) {
+    int count = 0;
+    int busy = days.nextSetBit(0);
+    while (busy >= 0) {
+      int free = days.nextClearBit(busy);
+      int nextBusy = days.nextSetBit(free);
+      if (nextBusy < 0) {
+        break;
+      }
+      if (nextBusy - free <= shortGapDays) {
+        count++;
+      }
+      busy = nextBusy;
+    }
+    return count;
+  }
+
+  public int shortGaps(Collection<RoomCalendar> rooms) {
+    int count = 0;
+    for (var room : rooms) {
+      count += shortGaps(room.days());
+    }
+    return count;
+  }
+
+  private Fit fit(RoomCalendar room, int firstDay, int lastDay, int guests) {
+    if (room.maxOccupancy() < guests) {
+      return null;
+    }
+    var days = room.days();
+    int nextBusy = days.nextSetBit(firstDay);
+    if (nextBusy >= 0 && nextBusy <= lastDay) {
+      return null;
+    }
+
+    int previousBusy = firstDay > 0 ? days.previousSetBit(firstDay - 1) : -1;
+    int gapBefore = previousBusy >= 0 ? firstDay - previousBusy - 1 : OPEN_GAP;
+    int gapAfter = nextBusy >= 0 ? nextBusy - lastDay - 1 : OPEN_GAP;
+
+    int shortGaps = 0;
+    if (gapBefore > 0 && gapBefore <= shortGapDays) {
+      shortGaps++;
+    }
+    if (gapAfter > 0 && gapAfter <= shortGapDays) {
+      shortGaps++;
+    }
+    return new Fit(room, shortGaps, gapBefore + gapAfter);
+  }
+
+  public record RoomCalendar(Long roomId, int maxOccupancy, BitSet days) {
+    public void occupy(int firstDay, int lastDay) {
+      days.set(firstDay, lastDay + 1);
+    }
+
+    public void free(int firstDay, int lastDay) {
+      days.clear(firstDay, lastDay + 1);
+    }
+  }
+
+  private record Fit(RoomCalendar room, int shortGaps, int slack) {
+    static final Comparator<Fit> ORDER =
+        Comparator.comparingInt(Fit::shortGaps)
+            .thenComparingInt(Fit::slack)
+            .thenComparingInt(fit -> fit.room().maxOccupancy())
+            .thenComparing(fit -> fit.room().roomId());
+  }
+}
@@ -0,0 +1,299 @@
+package com.nacrondx.suitesync.service;
+
+import com.nacrondx.suitesync.entity.Booking;
+import com.nacrondx.suitesync.entity.Room;
+import com.nacrondx.suitesync.event.BookingChangedEvent;
+import com.nacrondx.suitesync.service.RoomAssignmentEngine.RoomCalendar;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Places type-level bookings into concrete rooms with {@link RoomAssignmentEngine}. New bookings
+ * are ranked against the calendars of the candidate rooms around the stay, and a nightly pass
+ * repacks the upcoming room-flexible bookings of each type whenever that leaves fewer unsellable
+ * gaps than the current layout.
+ */
+@Service
+@Slf4j
+public class RoomAssignmentService {
+  private static final String LEASE_NAME = "room-assignment";
+  private static final Duration LEASE_DURATION = Duration.ofMinutes(30);
+
+  private static final String ACTIVE_STAYS_SQL =
+      "SELECT b.id, b.room_id, b.check_in_date, b.check_out_date, b.number_of_guests, "
+          + "b.status, b.room_flexible FROM bookings b WHERE b.room_id IN (:roomIds) "
+          + "AND b.status NOT IN ('CANCELLED', 'CHECKED_OUT') "
+          + "AND b.check_in_date >= :earliestCheckIn AND b.check_in_date <= :windowEnd "
+          + "AND b.check_out_date >= :windowStart";
+
+  private static final String ACTIVE_HOLDS_SQL =
+      "SELECT h.room_id, h.check_in_date, h.check_out_date FROM booking_holds h "
+          + "WHERE h.room_id IN (:roomIds) AND h.expires_at > CURRENT_TIMESTAMP "
+          + "AND h.check_in_date <= :windowEnd AND h.check_out_date >= :windowStart";
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final SchedulerLeaseService schedulerLeaseService;
+  private final ApplicationEventPublisher eventPublisher;
+
+  private final RoomAssignmentEngine engine;
+
+  @Value("${app.bookings.assignment.window-days:30}")
+  private int windowDays;
+
+  @Value("${app.bookings.assignment.horizon-days:90}")
+  private int horizonDays;
+
+  public RoomAssignmentService(
+      NamedParameterJdbcTemplate jdbcTemplate,
+      TransactionTemplate transactionTemplate,
+      SchedulerLeaseService schedulerLeaseService,
+      ApplicationEventPublisher eventPublisher,
+      @Value("${app.bookings.assignment.short-gap-days:2}") int shortGapDays) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = transactionTemplate;
+    this.schedulerLeaseService = schedulerLeaseService;
+    this.eventPublisher = eventPublisher;
+    this.engine = new RoomAssignmentEngine(shortGapDays);
+  }
+
+  /** Orders the candidate rooms for a stay, best fit first. */
+  public List<Long> rank(
+      Collection<Long> candidateRoomIds,
+      LocalDate checkInDate,
+      LocalDate checkOutDate,
+      int guests) {
+    if (candidateRoomIds.size() < 2) {
+      return List.copyOf(candidateRoomIds);
+    }
+
+    var windowStart = checkInDate.minusDays(windowDays);
+    var windowEnd = checkOutDate.plusDays(windowDays);
+    var params =
+        new MapSqlParameterSource("roomIds", candidateRoomIds)
+            .addValue("windowStart", windowStart)
+            .addValue("windowEnd", windowEnd)
+            .addValue("earliestCheckIn", windowStart.minusDays(Booking.MAX_STAY_NIGHTS));
+
+    var calendars = new LinkedHashMap<Long, RoomCalendar>();
+    jdbcTemplate.query(
+        "SELECT id, max_occupancy FROM rooms WHERE id IN (:roomIds) ORDER BY id",
+        params,
+        rs -> addCalendar(calendars, rs));
+    loadOccupancy(calendars, params, windowStart, windowEnd, stay -> true);
+
+    return engine
+        .rank(
+            calendars.values(),
+            day(windowStart, windowEnd, checkInDate),
+            day(windowStart, windowEnd, checkOutDate),
+            guests)
+        .stream()
+        .map(RoomCalendar::roomId)
+        .toList();
+  }
+
+  @Scheduled(cron = "${app.bookings.assignment.cron:0 0 4 * * *}")
+  public void reoptimiseScheduled() {
+    schedulerLeaseService.runWithRenewableLease(
+        LEASE_NAME, LEASE_DURATION, lease -> reoptimise(lease::renew));
+  }
+
+  public void reoptimise() {
+    reoptimise(() -> true);
+  }
+
+  /** Re-optimises one room type after another while {@code keepGoing} allows another one. */
+  private void reoptimise(BooleanSupplier keepGoing) {
+    int moved = 0;
+    var roomTypes = Room.RoomType.values();
+    for (int i = 0; i < roomTypes.length && (i == 0 || keepGoing.getAsBoolean()); i++) {
+      var roomType = roomTypes[i];
+      var changed = transactionTemplate.execute(transaction -> reoptimise(roomType));
+      moved += changed != null ? changed : 0;
+    }
+    log.info("Room assignment re-optimisation moved {} bookings", moved);
+  }
+
+  private int reoptimise(Room.RoomType roomType) {
+    var today = LocalDate.now();
+    var windowStart = today;
+    var windowEnd = today.plusDays(horizonDays + Booking.MAX_STAY_NIGHTS);
+    var lastMovableCheckIn = today.plusDays(horizonDays);
+
+    // Locking the type's rooms keeps type-level bookings from landing while the plan is built
+    var calendars = new LinkedHashMap<Long, RoomCalendar>();
+    jdbcTemplate.query(
+        "SELECT id, max_occupancy FROM rooms WHERE room_type = :roomType "
+            + "AND status IN ('AVAILABLE', 'OCCUPIED') ORDER BY id FOR UPDATE",
+        new MapSqlParameterSource("roomType", roomType.name()),
+        rs -> addCalendar(calendars, rs));
+    if (calendars.size() < 2) {
+      return 0;
+    }
+
+    var params =
+        new MapSqlParameterSource("roomIds", calendars.keySet())
+            .addValue("windowStart", windowStart)
+            .addValue("windowEnd", windowEnd)
+            .addValue("earliestCheckIn", windowStart.minusDays(Booking.MAX_STAY_NIGHTS));
+    var movable =
+        loadOccupancy(
+            calendars,
+            params,
+            windowStart,
+            windowEnd,
+            stay ->
+                stay.roomFlexible()
+                    && (stay.status() == Booking.BookingStatus.PENDING
+                        || stay.status() == Booking.BookingStatus.CONFIRMED)
+                    && stay.checkInDate().isAfter(today)
+                    && !stay.checkInDate().isAfter(lastMovableCheckIn));
+    if (movable.isEmpty()) {
+      return 0;
+    }
+
+    int shortGapsBefore = engine.shortGaps(calendars.values());
+    for (var stay : movable) {
+      calendars.get(stay.roomId()).free(stay.firstDay(), stay.lastDay());
+    }
+
+    movable.sort(
+        Comparator.comparingInt(Stay::firstDay)
+            .thenComparing(Comparator.comparingInt(Stay::nights).reversed())
+            .thenComparingLong(Stay::id));
+    var moves = new ArrayList<Object[]>();
+    var movedRoomIds = new HashSet<Long>();
+    for (var stay : movable) {
+      var room = engine.bestFit(calendars.values(), stay.firstDay(), stay.lastDay(), stay.guests());
+      if (room == null) {
+        log.debug("Kept {} layout, booking {} could not be re-placed", roomType, stay.id());
+        return 0;
+      }
+      room.occupy(stay.firstDay(), stay.lastDay());
+      if (!room.roomId().equals(stay.roomId())) {
+        moves.add(new Object[] {room.roomId(), stay.id(), stay.checkInDate()});
+        movedRoomIds.add(stay.roomId());
+        movedRoomIds.add(room.roomId());
+      }
+    }
+
+    int shortGapsAfter = engine.shortGaps(calendars.values());
+    if (moves.isEmpty() || shortGapsAfter >= shortGapsBefore) {
+      return 0;
+    }
+
+    jdbcTemplate
+        .getJdbcTemplate()
+        .batchUpdate(
+            "UPDATE bookings SET room_id = ?, updated_at = now() "
+                + "WHERE id = ? AND check_in_date = ?",
+            moves);
+    eventPublisher.publishEvent(
+        new BookingChangedEvent(
+            moves.stream().map(move -> (Long) move[1]).toList(), Set.copyOf(movedRoomIds)));
+    log.info(
+        "Moved {} {} bookings, short gaps {} -> {}",
+        moves.size(),
+        roomType,
+        shortGapsBefore,
+        shortGapsAfter);
+    return moves.size();
+  }
+
+  /**
+   * Marks every active booking and hold on the calendars, returning the bookings accepted by
+   * {@code movable} so the caller can lift them out again.
+   */
+  private List<Stay> loadOccupancy(
+      Map<Long, RoomCalendar> calendars,
+      MapSqlParameterSource params,
+      LocalDate windowStart,
+      LocalDate windowEnd,
+      Predicate<Stay> movable) {
+    var movableStays = new ArrayList<Stay>();
+    jdbcTemplate.query(
+        ACTIVE_STAYS_SQL,
+        params,
+        rs -> {
+          var stay = mapStay(rs, windowStart, windowEnd);
+          calendars.get(stay.roomId()).occupy(stay.firstDay(), stay.lastDay());
+          if (movable.test(stay)) {
+            movableStays.add(stay);
+          }
+        });
+    jdbcTemplate.query(
+        ACTIVE_HOLDS_SQL,
+        params,
+        rs -> {
+          calendars
+              .get(rs.getLong("room_id"))
+              .occupy(
+                  day(windowStart, windowEnd, rs.getObject("check_in_date", LocalDate.class)),
+                  day(windowStart, windowEnd, rs.getObject("check_out_date", LocalDate.class)));
+        });
+    return movableStays;
+  }
+
+  private static void addCalendar(Map<Long, RoomCalendar> calendars, ResultSet rs)
+      throws SQLException {
+    var roomId = rs.getLong("id");
+    calendars.put(roomId, new RoomCalendar(roomId, rs.getInt("max_occupancy"), new BitSet()));
+  }
+
+  private static Stay mapStay(ResultSet rs, LocalDate windowStart, LocalDate windowEnd)
+      throws SQLException {
+    var checkInDate = rs.getObject("check_in_date", LocalDate.class);
+    var checkOutDate = rs.getObject("check_out_date", LocalDate.class);
+    return new Stay(
+        rs.getLong("id"),
+        rs.getLong("room_id"),
+        checkInDate,
+        rs.getInt("number_of_guests"),
+        Booking.BookingStatus.valueOf(rs.getString("status")),
+        rs.getBoolean("room_flexible"),
+        day(windowStart, windowEnd, checkInDate),
+        day(windowStart, windowEnd, checkOutDate));
+  }
+
+  private static int day(LocalDate windowStart, LocalDate windowEnd, LocalDate date) {
+    long day = ChronoUnit.DAYS.between(windowStart, date);
+    return (int) Math.max(0, Math.min(day, ChronoUnit.DAYS.between(windowStart, windowEnd)));
+  }
+
+  private record Stay(
+      Long id,
+      Long roomId,
+      LocalDate checkInDate,
+      int guests,
+      Booking.BookingStatus status,
+      boolean roomFlexible,
+      int firstDay,
+      int lastDay) {
+    int nights() {
+      return lastDay - firstDay;
+    }
+  }
+}
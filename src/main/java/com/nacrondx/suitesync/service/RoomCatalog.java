@@ -0,0 +1,211 @@
+package com.nacrondx.suitesync.service;
+
+import com.nacrondx.suitesync.entity.Room;
+import com.nacrondx.suitesync.repository.RoomSearchFilter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.IntStream;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Immutable snapshot of the searchable room columns, one primitive array per column. Searches
+ * walk a precomputed sort permutation and test each room against the filter with plain array
+ * reads, giving the same rows and order as the native room search for the filters and sorts it
+ * supports. Anything else, such as text queries or stay dates, is left to the database.
+ */
+public final class RoomCatalog {
+  private static final int LISTED_STATUSES =
+      1 << Room.RoomStatus.AVAILABLE.ordinal() | 1 << Room.RoomStatus.OCCUPIED.ordinal();
+
+  private final long[] ids;
+  private final double[] prices;
+  private final int[] maxOccupancies;
+  private final byte[] roomTypes;
+  private final byte[] statuses;
+  private final long[] amenityMasks;
+  // Row indexes ordered by (column, id) ascending; read backwards for descending sorts
+  private final Map<String, int[]> orders;
+  private final long builtAt;
+
+  private RoomCatalog(Builder builder) {
+    int size = builder.size;
+    ids = Arrays.copyOf(builder.ids, size);
+    prices = Arrays.copyOf(builder.prices, size);
+    maxOccupancies = Arrays.copyOf(builder.maxOccupancies, size);
+    roomTypes = Arrays.copyOf(builder.roomTypes, size);
+    statuses = Arrays.copyOf(builder.statuses, size);
+    amenityMasks = Arrays.copyOf(builder.amenityMasks, size);
+
+    var sizes = Arrays.copyOf(builder.sizes, size);
+    var floors = Arrays.copyOf(builder.floors, size);
+    Comparator<Integer> byId = Comparator.comparingLong(i -> ids[i]);
+    Comparator<Integer> byPrice = Comparator.comparingDouble(i -> prices[i]);
+    Comparator<Integer> bySize = Comparator.comparingDouble(i -> sizes[i]);
+    Comparator<Integer> byFloor =
+        Comparator.comparing(i -> floors[i], Comparator.nullsLast(Comparator.naturalOrder()));
+    orders =
+        Map.of(
+            "id", order(byId),
+            "pricePerNight", order(byPrice.thenComparing(byId)),
+            "size", order(bySize.thenComparing(byId)),
+            "floor", order(byFloor.thenComparing(byId)));
+    builtAt = System.nanoTime();
+  }
+
+  public static Builder builder(int expectedRooms) {
+    return new Builder(expectedRooms);
+  }
+
+  public int size() {
+    return ids.length;
+  }
+
+  /** Returns the {@link System#nanoTime()} at which this snapshot was built. */
+  long builtAt() {
+    return builtAt;
+  }
+
+  /**
+   * Returns the ids of the matching rooms from {@code offset} to {@code offset + limit} in sort
+   * order together with the total number of matches, or empty when the filter or sort needs the
+   * database.
+   */
+  public Optional<Match> search(RoomSearchFilter filter, Sort sort, long offset, int limit) {
+    if (filter.text() != null || filter.hasStay()) {
+      return Optional.empty();
+    }
+    var direction = direction(sort);
+    if (direction == null) {
+      return Optional.empty();
+    }
+    var order = orders.get(sort.isUnsorted() ? "id" : sort.iterator().next().getProperty());
+    boolean descending = direction == Sort.Direction.DESC;
+
+    int roomType = filter.roomType() != null ? filter.roomType().ordinal() : -1;
+    int guests = filter.numberOfGuests() != null ? filter.numberOfGuests() : Integer.MIN_VALUE;
+    double minPrice = filter.minPrice() != null ? filter.minPrice() : Double.NEGATIVE_INFINITY;
+    double maxPrice = filter.maxPrice() != null ? filter.maxPrice() : Double.POSITIVE_INFINITY;
+    long amenityMask = filter.amenityMask() != null ? filter.amenityMask() : 0L;
+
+    var roomIds = new ArrayList<Long>(limit);
+    long end = offset + limit;
+    long matched = 0;
+    for (int k = 0; k < order.length; k++) {
+      int i = order[descending ? order.length - 1 - k : k];
+      if ((LISTED_STATUSES & 1 << statuses[i]) != 0
+          && (roomType < 0 || roomTypes[i] == roomType)
+          && maxOccupancies[i] >= guests
+          && prices[i] >= minPrice
+          && prices[i] <= maxPrice
+          && (amenityMasks[i] & amenityMask) == amenityMask) {
+        if (matched >= offset && matched < end) {
+          roomIds.add(ids[i]);
+        }
+        matched++;
+      }
+    }
+    return Optional.of(new Match(List.copyOf(roomIds), matched));
+  }
+
+  /**
+   * Returns the direction of a sort on one catalog column with an id tiebreaker in the same
+   * direction, the only shape the room search produces, or null for any other sort.
+   */
+  private Sort.Direction direction(Sort sort) {
+    if (sort.isUnsorted()) {
+      return Sort.Direction.ASC;
+    }
+    var sortOrders = sort.toList();
+    var first = sortOrders.get(0);
+    if (!orders.containsKey(first.getProperty())) {
+      return null;
+    }
+    if (sortOrders.size() == 1 && first.getProperty().equals("id")) {
+      return first.getDirection();
+    }
+    if (sortOrders.size() == 2
+        && sortOrders.get(1).getProperty().equals("id")
+        && sortOrders.get(1).getDirection() == first.getDirection()) {
+      return first.getDirection();
+    }
+    return null;
+  }
+
+  private int[] order(Comparator<Integer> comparator) {
+    return IntStream.range(0, ids.length)
+        .boxed()
+        .sorted(comparator)
+        .mapToInt(Integer::intValue)
+        .toArray();
+  }
+
+  public record Match(List<Long> roomIds, long totalElements) {}
+
+  public static final class Builder {
+    private long[] ids;
+    private double[] prices;
+    private int[] maxOccupancies;
+    private byte[] roomTypes;
+    private byte[] statuses;
+    private long[] amenityMasks;
+    private double[] sizes;
+    private Integer[] floors;
+    private int size;
+
+    private Builder(int expectedRooms) {
+      int capacity = Math.max(16, expectedRooms);
+      ids = new long[capacity];
+      prices = new double[capacity];
+      maxOccupancies = new int[capacity];
+      roomTypes = new byte[capacity];
+      statuses = new byte[capacity];
+      amenityMasks = new long[capacity];
+      sizes = new double[capacity];
+      floors = new Integer[capacity];
+    }
+
+    public Builder add(
+        long id,
+        Room.RoomType roomType,
+        Room.RoomStatus status,
+        int maxOccupancy,
+        double pricePerNight,
+        double roomSize,
+        Integer floor,
+        long amenityMask) {
+      if (size == ids.length) {
+        grow();
+      }
+      ids[size] = id;
+      roomTypes[size] = (byte) roomType.ordinal();
+      statuses[size] = (byte) status.ordinal();
+      maxOccupancies[size] = maxOccupancy;
+      prices[size] = pricePerNight;
+      sizes[size] = roomSize;
+      floors[size] = floor;
+      amenityMasks[size] = amenityMask;
+      size++;
+      return this;
+    }
+
+    public RoomCatalog build() {
+      return new RoomCatalog(this);
+    }
+
+    private void grow() {
+      int capacity = ids.length * 2;
+      ids = Arrays.copyOf(ids, capacity);
+      prices = Arrays.copyOf(prices, capacity);
+      maxOccupancies = Arrays.copyOf(maxOccupancies, capacity);
+      roomTypes = Arrays.copyOf(roomTypes, capacity);
+      statuses = Arrays.copyOf(statuses, capacity);
+      amenityMasks = Arrays.copyOf(amenityMasks, capacity);
+      sizes = Arrays.copyOf(sizes, capacity);
+      floors = Arrays.copyOf(floors, capacity);
+    }
+  }
+}
@@ -0,0 +1,105 @@
+package com.nacrondx.suitesync.service;
+
+import com.nacrondx.suitesync.entity.Room;
+import com.nacrondx.suitesync.event.RoomChangedEvent;
+import com.nacrondx.suitesync.repository.RoomSearchFilter;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Keeps the current {@link RoomCatalog}. Snapshots are built from committed rows only and
+ * replaced whole, so searches read whichever snapshot is current without locking. A new one is
+ * built after every committed room change and, to pick up changes made by other instances, when
+ * the current one is older than the configured maximum age.
+ */
+@Service
+@Slf4j
+public class RoomCatalogService {
+  private static final String ROOMS_SQL =
+      "SELECT id, room_type, status, max_occupancy, price_per_night, size, floor, amenity_mask "
+          + "FROM rooms";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+
+  @Value("${app.search.catalog.enabled:true}")
+  private boolean enabled;
+
+  @Value("${app.search.catalog.max-age-ms:60000}")
+  private long maxAgeMillis;
+
+  private volatile RoomCatalog catalog;
+
+  public RoomCatalogService(
+      JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+    this.jdbcTemplate = jdbcTemplate;
+    // Reads in its own transaction so a refresh never sees the caller's uncommitted rows
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.transactionTemplate.setReadOnly(true);
+  }
+
+  /** Searches the current snapshot, or returns empty when the search must go to the database. */
+  public Optional<RoomCatalog.Match> search(RoomSearchFilter filter, Pageable pageable) {
+    if (!enabled || filter.text() != null || filter.hasStay()) {
+      return Optional.empty();
+    }
+    var sort = pageable.getSort();
+    return current().search(filter, sort, pageable.getOffset(), pageable.getPageSize());
+  }
+
+  public RoomCatalog current() {
+    var current = catalog;
+    return current != null && !isStale(current) ? current : refreshIfStale();
+  }
+
+  public synchronized RoomCatalog refresh() {
+    var refreshed = transactionTemplate.execute(status -> load());
+    catalog = refreshed;
+    log.info("Refreshed room catalog with {} rooms", refreshed.size());
+    return refreshed;
+  }
+
+  @TransactionalEventListener
+  public void onRoomChanged(RoomChangedEvent event) {
+    if (enabled) {
+      refresh();
+    }
+  }
+
+  private synchronized RoomCatalog refreshIfStale() {
+    var current = catalog;
+    return current != null && !isStale(current) ? current : refresh();
+  }
+
+  private boolean isStale(RoomCatalog current) {
+    return System.nanoTime() - current.builtAt() > TimeUnit.MILLISECONDS.toNanos(maxAgeMillis);
+  }
+
+  private RoomCatalog load() {
+    var builder = RoomCatalog.builder(0);
+    jdbcTemplate.query(
+        ROOMS_SQL,
+        rs -> {
+          builder.add(
+              rs.getLong("id"),
+              Room.RoomType.valueOf(rs.getString("room_type")),
+              Room.RoomStatus.valueOf(rs.getString("status")),
+              rs.getInt("max_occupancy"),
+              rs.getDouble("price_per_night"),
+              rs.getDouble("size"),
+              rs.getObject("floor", Integer.class),
+              rs.getLong("amenity_mask"));
+        });
+    return builder.build();
+  }
+}
@@ -0,0 +1,207 @@
+package com.nacrondx.suitesync.service;
+
+import com.nacrondx.suitesync.entity.Room;
+import com.nacrondx.suitesync.event.ReviewCreatedEvent;
+import com.nacrondx.suitesync.event.RoomChangedEvent;
+import com.nacrondx.suitesync.model.room.RankedRoomResponse;
+import com.nacrondx.suitesync.model.room.RoomType;
+import com.nacrondx.suitesync.repository.RoomRepository;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Keeps every room ordered by the Bayesian average of its review ratings so that "top rated"
+ * queries are answered from memory. The structure is rebuilt from the database on startup and
+ * then updated one room at a time as reviews are committed. The prior mean is taken from the
+ * rebuild and held fixed afterwards, so a new review only ever moves its own room. Each room type
+ * also keeps its own ordering, so a query for one type never walks past rooms of other types.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RoomRankingService {
+  private static final double DEFAULT_PRIOR_MEAN = 3.0;
+
+  private static final Comparator<RankedRoom> RANKING_ORDER =
+      Comparator.comparingDouble(RankedRoom::score)
+          .reversed()
+          .thenComparing(Comparator.comparingLong(RankedRoom::reviewCount).reversed())
+          .thenComparing(RankedRoom::roomId);
+
+  private final RoomRepository roomRepository;
+
+  private final NavigableSet<RankedRoom> ranking = new ConcurrentSkipListSet<>(RANKING_ORDER);
+  private final Map<Room.RoomType, NavigableSet<RankedRoom>> rankingsByType = rankingsByType();
+  private final Map<Long, RankedRoom> rankedRooms = new ConcurrentHashMap<>();
+
+  @Value("${app.ranking.prior-weight:5}")
+  private double priorWeight;
+
+  private volatile double priorMean = DEFAULT_PRIOR_MEAN;
+
+  @EventListener(ApplicationReadyEvent.class)
+  public synchronized void rebuild() {
+    var statistics = roomRepository.findRatingStatistics();
+
+    long totalReviews = 0;
+    long totalRating = 0;
+    for (var room : statistics) {
+      totalReviews += room.getReviewCount();
+      totalRating += room.getRatingSum();
+    }
+    priorMean = totalReviews > 0 ? (double) totalRating / totalReviews : DEFAULT_PRIOR_MEAN;
+
+    ranking.clear();
+    rankingsByType.values().forEach(NavigableSet::clear);
+    rankedRooms.clear();
+    for (var room : statistics) {
+      put(
+          rank(
+              room.getRoomId(),
+              room.getRoomNumber(),
+              room.getRoomType(),
+              room.getPricePerNight(),
+              room.getReviewCount(),
+              room.getRatingSum()));
+    }
+
+    log.info(
+        "Rebuilt room ranking for {} rooms with prior mean {} from {} reviews",
+        rankedRooms.size(),
+        priorMean,
+        totalReviews);
+  }
+
+  @TransactionalEventListener
+  public synchronized void onReviewCreated(ReviewCreatedEvent event) {
+    var current = rankedRooms.get(event.roomId());
+    if (current == null) {
+      log.warn(
+          "Review {} refers to room {} missing from ranking", event.reviewId(), event.roomId());
+      return;
+    }
+
+    put(
+        rank(
+            current.roomId(),
+            current.roomNumber(),
+            current.roomType(),
+            current.pricePerNight(),
+            current.reviewCount() + 1,
+            current.ratingSum() + event.rating()));
+  }
+
+  @TransactionalEventListener
+  public synchronized void onRoomChanged(RoomChangedEvent event) {
+    if (event.deleted()) {
+      var removed = rankedRooms.remove(event.roomId());
+      if (removed != null) {
+        unlink(removed);
+      }
+      return;
+    }
+
+    var current = rankedRooms.get(event.roomId());
+    put(
+        rank(
+            event.roomId(),
+            event.roomNumber(),
+            event.roomType(),
+            event.pricePerNight(),
+            current != null ? current.reviewCount() : 0,
+            current != null ? current.ratingSum() : 0));
+  }
+
+  public List<RankedRoomResponse> getTopRatedRooms(
+      Integer limit, RoomType roomType, Double minPrice, Double maxPrice) {
+    int maxResults = limit != null ? limit : 10;
+    var entityRoomType = roomType != null ? Room.RoomType.valueOf(roomType.name()) : null;
+
+    // Price filters still skip rooms within the walk, so those queries stay O(rooms of the type)
+    // in the worst case
+    var candidates = entityRoomType != null ? rankingsByType.get(entityRoomType) : ranking;
+    var result = new ArrayList<RankedRoomResponse>(maxResults);
+    for (var room : candidates) {
+      if (result.size() == maxResults) {
+        break;
+      }
+      if (minPrice != null && room.pricePerNight() < minPrice) {
+        continue;
+      }
+      if (maxPrice != null && room.pricePerNight() > maxPrice) {
+        continue;
+      }
+      result.add(mapToRankedRoomResponse(room));
+    }
+    return result;
+  }
+
+  private void put(RankedRoom room) {
+    var previous = rankedRooms.put(room.roomId(), room);
+    if (previous != null) {
+      unlink(previous);
+    }
+    ranking.add(room);
+    rankingsByType.get(room.roomType()).add(room);
+  }
+
+  private void unlink(RankedRoom room) {
+    ranking.remove(room);
+    rankingsByType.get(room.roomType()).remove(room);
+  }
+
+  private static Map<Room.RoomType, NavigableSet<RankedRoom>> rankingsByType() {
+    var rankings = new EnumMap<Room.RoomType, NavigableSet<RankedRoom>>(Room.RoomType.class);
+    for (var roomType : Room.RoomType.values()) {
+      rankings.put(roomType, new ConcurrentSkipListSet<>(RANKING_ORDER));
+    }
+    return rankings;
+  }
+
+  private RankedRoom rank(
+      Long roomId,
+      String roomNumber,
+      Room.RoomType roomType,
+      Double pricePerNight,
+      long reviewCount,
+      long ratingSum) {
+    double score = (priorWeight * priorMean + ratingSum) / (priorWeight + reviewCount);
+    return new RankedRoom(
+        roomId, roomNumber, roomType, pricePerNight, reviewCount, ratingSum, score);
+  }
+
+  private RankedRoomResponse mapToRankedRoomResponse(RankedRoom room) {
+    var response = new RankedRoomResponse();
+    response.setRoomId(room.roomId());
+    response.setRoomNumber(room.roomNumber());
+    response.setRoomType(RoomType.fromValue(room.roomType().name()));
+    response.setPricePerNight(room.pricePerNight());
+    response.setReviewCount(room.reviewCount());
+    response.setAverageRating(
+        room.reviewCount() > 0 ? (double) room.ratingSum() / room.reviewCount() : null);
+    response.setScore(room.score());
+    return response;
+  }
+
+  private record RankedRoom(
+      Long roomId,
+      String roomNumber,
+      Room.RoomType roomType,
+      Double pricePerNight,
+      long reviewCount,
+      long ratingSum,
+      double score) {}
+}
@@ -1,24 +1,52 @@
 package com.nacrondx.suitesync.service;
 
 import com.nacrondx.suitesync.entity.Room;
+import com.nacrondx.suitesync.event.RoomChangedEvent;
 import com.nacrondx.suitesync.exception.ResourceNotFoundException;
+import com.nacrondx.suitesync.model.room.AlternativeWindow;
 import com.nacrondx.suitesync.model.room.AvailabilityResponse;
+import com.nacrondx.suitesync.model.room.BulkAvailabilityResponse;
 import com.nacrondx.suitesync.model.room.CreateRoomRequest;
+import com.nacrondx.suitesync.model.room.IncludeTotal;
+import com.nacrondx.suitesync.model.room.OccupancyFacet;
+import com.nacrondx.suitesync.model.room.PriceRangeFacet;
+import com.nacrondx.suitesync.model.room.PriceRun;
+import com.nacrondx.suitesync.model.room.RoomCalendarResponse;
+import com.nacrondx.suitesync.model.room.RoomFacets;
 import com.nacrondx.suitesync.model.room.RoomPageResponse;
 import com.nacrondx.suitesync.model.room.RoomResponse;
+import com.nacrondx.suitesync.model.room.RoomSortOption;
 import com.nacrondx.suitesync.model.room.RoomStatus;
 import com.nacrondx.suitesync.model.room.RoomType;
+import com.nacrondx.suitesync.model.room.RoomTypeFacet;
+import com.nacrondx.suitesync.model.room.RoomTypeAvailabilityResponse;
 import com.nacrondx.suitesync.model.room.UpdateRoomRequest;
 import com.nacrondx.suitesync.repository.BookingRepository;
+import com.nacrondx.suitesync.repository.RoomFacetCounts;
 import com.nacrondx.suitesync.repository.RoomRepository;
-import com.nacrondx.suitesync.repository.RoomSpecification;
+import com.nacrondx.suitesync.repository.RoomSearchFilter;
 import java.net.URI;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,8 +54,22 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 @Slf4j
 public class RoomService {
+  private static final int MAX_BULK_ROOMS = 100;
+  private static final int MAX_CALENDAR_DAYS = 366;
+
   private final RoomRepository roomRepository;
   private final BookingRepository bookingRepository;
+  private final ApplicationEventPublisher eventPublisher;
+  private final TotalCountService totalCountService;
+  private final RoomTypeInventoryService roomTypeInventoryService;
+  private final AlternativeWindowService alternativeWindowService;
+  private final OccupancyCalendarService occupancyCalendarService;
+  private final AmenityDictionaryService amenityDictionaryService;
+  private final BookingHoldService bookingHoldService;
+  private final RoomCatalogService roomCatalogService;
+
+  @Value("${app.search.facets.price-bucket-width:50}")
+  private double priceBucketWidth;
 
   @Transactional(readOnly = true)
   public RoomPageResponse getAllRooms(
@@ -38,9 +80,14 @@ public class RoomService {
       Double minPrice,
       Double maxPrice,
       Integer page,
-      Integer size) {
+      Integer size,
+      RoomSortOption sort,
+      IncludeTotal includeTotal,
+      Boolean includeFacets,
+      String q,
+      List<String> amenities) {
     log.info(
-        "Fetching all rooms with filters - checkIn: {}, checkOut: {}, guests: {}, type: {}, minPrice: {}, maxPrice: {}, page: {}, size: {}",
+        "Fetching all rooms with filters - checkIn: {}, checkOut: {}, guests: {}, type: {}, minPrice: {}, maxPrice: {}, page: {}, size: {}, sort: {}, includeTotal: {}, includeFacets: {}, q: {}, amenities: {}",
         checkInDate,
         checkOutDate,
         numberOfGuests,
@@ -48,31 +95,87 @@ public class RoomService {
         minPrice,
         maxPrice,
         page,
-        size);
+        size,
+        sort,
+        includeTotal,
+        includeFacets,
+        q,
+        amenities);
 
     int pageNumber = page != null ? page : 0;
     int pageSize = size != null ? size : 20;
 
     var entityRoomType = roomType != null ? Room.RoomType.valueOf(roomType.name()) : null;
 
-    var specification =
-        RoomSpecification.withFilters(
-            checkInDate, checkOutDate, numberOfGuests, entityRoomType, minPrice, maxPrice);
+    var text = q != null && !q.isBlank() ? q.strip() : null;
+    var amenityMask =
+        amenities != null && !amenities.isEmpty()
+            ? amenityDictionaryService.required(amenities)
+            : null;
+    if ((checkInDate == null) != (checkOutDate == null)) {
+      throw new IllegalArgumentException("Check-in and check-out dates must be given together");
+    }
+    if (checkInDate != null) {
+      BookingService.validateStayDates(checkInDate, checkOutDate);
+    }
+    var filter =
+        new RoomSearchFilter(
+            entityRoomType,
+            numberOfGuests,
+            minPrice,
+            maxPrice,
+            text,
+            amenityMask,
+            checkInDate,
+            checkOutDate);
+
+    var pageable = PageRequest.of(pageNumber, pageSize, toSort(sort, text != null));
+    var match = roomCatalogService.search(filter, pageable);
+    Slice<Room> roomSlice;
+    LongSupplier exactCount;
+    if (match.isPresent()) {
+      // The catalog counts every match while finding the page, so the exact total is free
+      var roomIds = match.get().roomIds();
+      long totalElements = match.get().totalElements();
+      roomSlice =
+          new SliceImpl<>(
+              findAllInOrder(roomIds),
+              pageable,
+              pageable.getOffset() + roomIds.size() < totalElements);
+      exactCount = () -> totalElements;
+    } else {
+      roomSlice = roomRepository.searchSlice(filter, pageable);
+      exactCount = () -> roomRepository.countMatching(filter);
+    }
 
-    var pageable = PageRequest.of(pageNumber, pageSize);
-    var roomPage = roomRepository.findAll(specification, pageable);
+    // Room filters are too varied for a useful planner estimate, so ESTIMATE falls back to the
+    // cached exact count here
+    var total =
+        totalCountService.resolve(
+            includeTotal != null
+                ? TotalCountService.Mode.valueOf(includeTotal.name())
+                : TotalCountService.Mode.EXACT,
+            roomSlice,
+            "rooms:" + filter,
+            exactCount,
+            () -> -1);
 
     var response = new RoomPageResponse();
-    response.setContent(roomPage.getContent().stream().map(this::mapToRoomResponse).toList());
-    response.setPage(roomPage.getNumber());
-    response.setSize(roomPage.getSize());
-    response.setTotalElements(roomPage.getTotalElements());
-    response.setTotalPages(roomPage.getTotalPages());
+    response.setContent(roomSlice.getContent().stream().map(this::mapToRoomResponse).toList());
+    response.setPage(roomSlice.getNumber());
+    response.setSize(roomSlice.getSize());
+    response.setHasNext(roomSlice.hasNext());
+    response.setTotalElements(total.totalElements());
+    response.setTotalPages(total.totalPages());
+    response.setTotalEstimated(total.estimated());
+    if (Boolean.TRUE.equals(includeFacets)) {
+      response.setFacets(mapToRoomFacets(roomRepository.countFacets(filter, priceBucketWidth)));
+    }
 
     log.info(
         "Successfully fetched {} rooms out of {} total",
-        roomPage.getNumberOfElements(),
-        roomPage.getTotalElements());
+        roomSlice.getNumberOfElements(),
+        total.totalElements());
 
     return response;
   }
@@ -95,13 +198,17 @@ public class RoomService {
 
     if (request.getAmenities() != null && !request.getAmenities().isEmpty()) {
       room.getAmenities().addAll(request.getAmenities());
+      room.setAmenitiesText(String.join(" ", room.getAmenities()));
+      room.setAmenityMask(amenityDictionaryService.assign(room.getAmenities()));
     }
 
     if (request.getImages() != null && !request.getImages().isEmpty()) {
       room.getImages().addAll(request.getImages().stream().map(URI::toString).toList());
     }
 
-    var savedRoom = roomRepository.save(room);
+    var savedRoom = roomRepository.saveAndFlush(room);
+    roomTypeInventoryService.recountTotals();
+    eventPublisher.publishEvent(RoomChangedEvent.saved(savedRoom));
     log.info("Successfully created room: {}", savedRoom.getRoomNumber());
     return mapToRoomResponse(savedRoom);
   }
@@ -128,6 +235,7 @@ public class RoomService {
             .findById(roomId)
             .orElseThrow(() -> new ResourceNotFoundException("Room not found with ID: " + roomId));
 
+    var previousRoomType = room.getRoomType();
     if (request.getRoomType() != null) {
       room.setRoomType(Room.RoomType.valueOf(request.getRoomType().name()));
     }
@@ -152,13 +260,20 @@ public class RoomService {
     if (request.getAmenities() != null) {
       room.getAmenities().clear();
       room.getAmenities().addAll(request.getAmenities());
+      room.setAmenitiesText(String.join(" ", room.getAmenities()));
+      room.setAmenityMask(amenityDictionaryService.assign(room.getAmenities()));
     }
     if (request.getImages() != null) {
       room.getImages().clear();
       room.getImages().addAll(request.getImages().stream().map(URI::toString).toList());
     }
 
-    var updatedRoom = roomRepository.save(room);
+    var updatedRoom = roomRepository.saveAndFlush(room);
+    if (updatedRoom.getRoomType() != previousRoomType) {
+      roomTypeInventoryService.moveRoom(roomId, previousRoomType, updatedRoom.getRoomType());
+    }
+    roomTypeInventoryService.recountTotals();
+    eventPublisher.publishEvent(RoomChangedEvent.saved(updatedRoom));
     log.info("Successfully updated room: {}", updatedRoom.getRoomNumber());
     return mapToRoomResponse(updatedRoom);
   }
@@ -172,7 +287,11 @@ public class RoomService {
             .findById(roomId)
             .orElseThrow(() -> new ResourceNotFoundException("Room not found with ID: " + roomId));
 
+    roomTypeInventoryService.releaseRoom(roomId, room.getRoomType());
     roomRepository.delete(room);
+    roomRepository.flush();
+    roomTypeInventoryService.recountTotals();
+    eventPublisher.publishEvent(RoomChangedEvent.deleted(room));
     log.info("Successfully deleted room: {}", room.getRoomNumber());
   }
 
@@ -191,14 +310,17 @@ public class RoomService {
       throw new IllegalArgumentException("Check-out date must be after check-in date");
     }
 
-    long numberOfNights = java.time.temporal.ChronoUnit.DAYS.between(checkInDate, checkOutDate);
+    long numberOfNights = ChronoUnit.DAYS.between(checkInDate, checkOutDate);
     double totalPrice = numberOfNights * room.getPricePerNight();
 
     var overlappingBookings =
         bookingRepository.findOverlappingBookings(roomId, checkInDate, checkOutDate);
 
+    // A held room would be refused at booking time, so it is reported as taken here as well
     boolean isAvailable =
-        room.getStatus() == Room.RoomStatus.AVAILABLE && overlappingBookings.isEmpty();
+        room.getStatus() == Room.RoomStatus.AVAILABLE
+            && overlappingBookings.isEmpty()
+            && !bookingHoldService.isHeld(roomId, checkInDate, checkOutDate, null);
 
     var response = new AvailabilityResponse();
     response.setAvailable(isAvailable);
@@ -209,6 +331,14 @@ public class RoomService {
     response.setPricePerNight(room.getPricePerNight());
     response.setNumberOfNights((int) numberOfNights);
 
+    if (!isAvailable) {
+      var alternatives = alternativeWindowService.find(room, checkInDate, checkOutDate);
+      response.setAlternatives(
+          alternatives.sameRoom().stream().map(RoomService::mapToAlternativeWindow).toList());
+      response.setSimilarRoomAlternatives(
+          alternatives.similarRooms().stream().map(RoomService::mapToAlternativeWindow).toList());
+    }
+
     log.info(
         "Availability check completed for room {}: available={}, nights={}, totalPrice={}",
         room.getRoomNumber(),
@@ -219,6 +349,263 @@ public class RoomService {
     return response;
   }
 
+  @Transactional(readOnly = true)
+  public RoomCalendarResponse getRoomCalendar(Long roomId, LocalDate from, LocalDate to) {
+    log.info("Fetching calendar for room ID: {} from {} to {}", roomId, from, to);
+
+    var room =
+        roomRepository
+            .findById(roomId)
+            .orElseThrow(() -> new ResourceNotFoundException("Room not found with ID: " + roomId));
+
+    if (!to.isAfter(from)) {
+      throw new IllegalArgumentException("Calendar end date must be after its start date");
+    }
+    int days = (int) ChronoUnit.DAYS.between(from, to);
+    if (days > MAX_CALENDAR_DAYS) {
+      throw new IllegalArgumentException(
+          "Calendar can span at most " + MAX_CALENDAR_DAYS + " days");
+    }
+
+    BitSet takenDays;
+    if (room.getStatus() == Room.RoomStatus.AVAILABLE) {
+      takenDays = occupancyCalendarService.roomDays(roomId, from, to);
+    } else {
+      takenDays = new BitSet(days);
+      takenDays.set(0, days);
+    }
+
+    // Rooms have a single nightly rate, so the whole calendar is one run
+    var prices = new PriceRun();
+    prices.setNights(days);
+    prices.setPricePerNight(room.getPricePerNight());
+
+    var response = new RoomCalendarResponse();
+    response.setRoomId(room.getId());
+    response.setFrom(from);
+    response.setTo(to);
+    response.setDays(days);
+    response.setTakenDays(takenDays.toByteArray());
+    response.setTakenDayCount(takenDays.cardinality());
+    response.setPrices(List.of(prices));
+
+    log.info(
+        "Calendar for room {} has {} of {} days taken",
+        room.getRoomNumber(),
+        takenDays.cardinality(),
+        days);
+    return response;
+  }
+
+  /**
+   * Checks a set of rooms for the same stay with one room query and one overlap query, instead of
+   * a lookup and overlap check per room. Explicit IDs take precedence over the filters, which then
+   * only narrow the given rooms down; filters alone must match no more rooms than can be checked at
+   * once, so that the answer is never a silently truncated list.
+   */
+  @Transactional(readOnly = true)
+  public BulkAvailabilityResponse checkRoomsAvailability(
+      LocalDate checkInDate,
+      LocalDate checkOutDate,
+      List<Long> roomIds,
+      Integer numberOfGuests,
+      RoomType roomType,
+      Double minPrice,
+      Double maxPrice) {
+    log.info(
+        "Checking availability for {} rooms from {} to {}",
+        roomIds != null ? roomIds.size() : "filtered",
+        checkInDate,
+        checkOutDate);
+
+    BookingService.validateStayDates(checkInDate, checkOutDate);
+    if (roomIds != null && roomIds.size() > MAX_BULK_ROOMS) {
+      throw new IllegalArgumentException(
+          "At most " + MAX_BULK_ROOMS + " rooms can be checked at once");
+    }
+
+    var filter =
+        new RoomSearchFilter(
+            roomType != null ? Room.RoomType.valueOf(roomType.name()) : null,
+            numberOfGuests,
+            minPrice,
+            maxPrice,
+            null,
+            null);
+    List<Room> rooms;
+    if (roomIds != null && !roomIds.isEmpty()) {
+      rooms =
+          roomRepository.findAllById(roomIds).stream()
+              .filter(room -> matches(room, filter))
+              .sorted(Comparator.comparing(Room::getId))
+              .toList();
+    } else {
+      var matching =
+          roomRepository.searchSlice(filter, PageRequest.of(0, MAX_BULK_ROOMS, Sort.by("id")));
+      if (matching.hasNext()) {
+        throw new IllegalArgumentException(
+            "The filters match more than "
+                + MAX_BULK_ROOMS
+                + " rooms; narrow them down or pass roomIds");
+      }
+      rooms = matching.getContent();
+    }
+
+    var takenRoomIds = new HashSet<Long>();
+    if (!rooms.isEmpty()) {
+      var candidateRoomIds = rooms.stream().map(Room::getId).toList();
+      takenRoomIds.addAll(
+          bookingRepository.findOverlappingRoomIds(candidateRoomIds, checkInDate, checkOutDate));
+      // Held rooms would be refused at booking time, so they count as taken too
+      takenRoomIds.addAll(
+          bookingHoldService.findHeldRoomIds(candidateRoomIds, checkInDate, checkOutDate));
+    }
+
+    int numberOfNights = (int) ChronoUnit.DAYS.between(checkInDate, checkOutDate);
+    var results = new ArrayList<AvailabilityResponse>(rooms.size());
+    int availableCount = 0;
+    for (var room : rooms) {
+      boolean available =
+          room.getStatus() == Room.RoomStatus.AVAILABLE && !takenRoomIds.contains(room.getId());
+      availableCount += available ? 1 : 0;
+
+      var result = new AvailabilityResponse();
+      result.setAvailable(available);
+      result.setRoomId(room.getId());
+      result.setCheckInDate(checkInDate);
+      result.setCheckOutDate(checkOutDate);
+      result.setPricePerNight(room.getPricePerNight());
+      result.setTotalPrice(numberOfNights * room.getPricePerNight());
+      result.setNumberOfNights(numberOfNights);
+      results.add(result);
+    }
+
+    var response = new BulkAvailabilityResponse();
+    response.setCheckInDate(checkInDate);
+    response.setCheckOutDate(checkOutDate);
+    response.setNumberOfNights(numberOfNights);
+    response.setAvailableCount(availableCount);
+    response.setRooms(results);
+
+    log.info(
+        "Bulk availability check completed: {} of {} rooms available",
+        availableCount,
+        results.size());
+    return response;
+  }
+
+  @Transactional(readOnly = true)
+  public RoomTypeAvailabilityResponse checkRoomTypeAvailability(
+      RoomType roomType, LocalDate checkInDate, LocalDate checkOutDate) {
+    log.info(
+        "Checking availability for room type: {} from {} to {}",
+        roomType,
+        checkInDate,
+        checkOutDate);
+
+    BookingService.validateStayDates(checkInDate, checkOutDate);
+
+    int availableRooms =
+        roomTypeInventoryService.availableRooms(
+            Room.RoomType.valueOf(roomType.name()), checkInDate, checkOutDate);
+
+    var response = new RoomTypeAvailabilityResponse();
+    response.setAvailable(availableRooms > 0);
+    response.setRoomType(roomType);
+    response.setCheckInDate(checkInDate);
+    response.setCheckOutDate(checkOutDate);
+    response.setNumberOfNights((int) ChronoUnit.DAYS.between(checkInDate, checkOutDate));
+    response.setAvailableRooms(availableRooms);
+
+    log.info("Room type {} has {} rooms available", roomType, availableRooms);
+    return response;
+  }
+
+  private RoomFacets mapToRoomFacets(RoomFacetCounts counts) {
+    var facets = new RoomFacets();
+    counts
+        .roomTypes()
+        .forEach(
+            (roomType, count) -> {
+              var facet = new RoomTypeFacet();
+              facet.setRoomType(RoomType.valueOf(roomType.name()));
+              facet.setCount(count);
+              facets.addRoomTypesItem(facet);
+            });
+    counts
+        .maxOccupancies()
+        .forEach(
+            (maxOccupancy, count) -> {
+              var facet = new OccupancyFacet();
+              facet.setMaxOccupancy(maxOccupancy);
+              facet.setCount(count);
+              facets.addMaxOccupanciesItem(facet);
+            });
+    counts
+        .priceBuckets()
+        .forEach(
+            (bucket, count) -> {
+              var facet = new PriceRangeFacet();
+              facet.setMinPrice(bucket * priceBucketWidth);
+              facet.setMaxPrice((bucket + 1) * priceBucketWidth);
+              facet.setCount(count);
+              facets.addPriceRangesItem(facet);
+            });
+    return facets;
+  }
+
+  private List<Room> findAllInOrder(List<Long> roomIds) {
+    var roomsById =
+        roomRepository.findAllById(roomIds).stream()
+            .collect(Collectors.toMap(Room::getId, Function.identity()));
+    return roomIds.stream().map(roomsById::get).filter(Objects::nonNull).toList();
+  }
+
+  private static boolean matches(Room room, RoomSearchFilter filter) {
+    return (filter.roomType() == null || room.getRoomType() == filter.roomType())
+        && (filter.numberOfGuests() == null || room.getMaxOccupancy() >= filter.numberOfGuests())
+        && (filter.minPrice() == null || room.getPricePerNight() >= filter.minPrice())
+        && (filter.maxPrice() == null || room.getPricePerNight() <= filter.maxPrice())
+        && (filter.amenityMask() == null
+            || (room.getAmenityMask() & filter.amenityMask()) == filter.amenityMask());
+  }
+
+  private Sort toSort(RoomSortOption sort, boolean textSearch) {
+    if (sort == null) {
+      return textSearch
+          ? Sort.by(Sort.Order.desc("relevance"), Sort.Order.asc("id"))
+          : Sort.by(Sort.Order.asc("id"));
+    }
+
+    // Each option pairs with a (column, id) index in the same direction, so the page is read
+    // straight off the index instead of sorting the filtered rows.
+    var order =
+        switch (sort) {
+          case PRICE_ASC -> Sort.Order.asc("pricePerNight");
+          case PRICE_DESC -> Sort.Order.desc("pricePerNight");
+          case SIZE_ASC -> Sort.Order.asc("size");
+          case SIZE_DESC -> Sort.Order.desc("size");
+          case FLOOR_ASC -> Sort.Order.asc("floor");
+          case FLOOR_DESC -> Sort.Order.desc("floor");
+          case RATING_ASC -> Sort.Order.asc("averageRating");
+          case RATING_DESC -> Sort.Order.desc("averageRating");
+          case ROOM_NUMBER_ASC -> Sort.Order.asc("roomNumber");
+          case ROOM_NUMBER_DESC -> Sort.Order.desc("roomNumber");
+        };
+    var tiebreaker = order.isAscending() ? Sort.Order.asc("id") : Sort.Order.desc("id");
+    return Sort.by(order, tiebreaker);
+  }
+
+  private static AlternativeWindow mapToAlternativeWindow(AlternativeWindowService.Window window) {
+    var response = new AlternativeWindow();
+    response.setRoomId(window.roomId());
+    response.setRoomNumber(window.roomNumber());
+    response.setCheckInDate(window.checkInDate());
+    response.setCheckOutDate(window.checkOutDate());
+    response.setTotalPrice(window.totalPrice());
+    return response;
+  }
+
   private RoomResponse mapToRoomResponse(Room room) {
     var response = new RoomResponse();
     response.setId(room.getId());
@@ -230,6 +617,8 @@ public class RoomService {
     response.setFloor(room.getFloor());
     response.setDescription(room.getDescription());
     response.setStatus(RoomStatus.fromValue(room.getStatus().name()));
+    response.setAverageRating(room.getAverageRating());
+    response.setReviewCount(room.getReviewCount());
     response.setAmenities(room.getAmenities());
 
     if (room.getImages() != null && !room.getImages().isEmpty()) {
@@ -0,0 +1,172 @@
+package com.nacrondx.suitesync.service;
+
+import com.nacrondx.suitesync.entity.Room;
+import com.nacrondx.suitesync.exception.RoomNotAvailableException;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps per-day counters of how many rooms of each type exist and how many are booked, so that "is
+ * any room of this type free" is a single range read over {@code room_type_inventory} instead of
+ * an overlap query per room. A stay takes every day from check-in through check-out, check-out day
+ * included, which is the same inclusive rule the per-room overlap checks apply. Counters are
+ * changed in the caller's transaction alongside the booking rows they describe, and days without a
+ * row count as having nothing booked.
+ *
+ * <p>Holds are not counted, so while rooms of a type are held {@link #availableRooms} is an upper
+ * bound and a booking can still be turned away by the per-room checks.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RoomTypeInventoryService {
+  private static final String SELLABLE_ROOMS =
+      "SELECT COUNT(*) FROM rooms WHERE room_type = :roomType "
+          + "AND status IN ('AVAILABLE', 'OCCUPIED')";
+
+  private static final String ROOM_NIGHTS =
+      "SELECT d.night::DATE AS stay_date, COUNT(*) AS nights FROM bookings b "
+          + "CROSS JOIN LATERAL generate_series(b.check_in_date, b.check_out_date, "
+          + "INTERVAL '1 day') AS d(night) "
+          + "WHERE b.room_id = :roomId AND b.check_out_date >= CURRENT_DATE "
+          + "AND b.status NOT IN ('CANCELLED', 'CHECKED_OUT') "
+          + "AND d.night >= CURRENT_DATE GROUP BY d.night::DATE";
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  /** Rooms of the type not booked on any day of the stay, ignoring holds. */
+  public int availableRooms(Room.RoomType roomType, LocalDate checkInDate, LocalDate checkOutDate) {
+    var available =
+        jdbcTemplate.queryForObject(
+            "SELECT GREATEST(MIN(COALESCE(i.total, t.total) - COALESCE(i.booked, 0)), 0) "
+                + "FROM generate_series(CAST(:checkInDate AS DATE), "
+                + "CAST(:checkOutDate AS DATE), INTERVAL '1 day') AS d(night) "
+                + "CROSS JOIN ("
+                + SELLABLE_ROOMS
+                + ") AS t(total) "
+                + "LEFT JOIN room_type_inventory i "
+                + "ON i.room_type = :roomType AND i.stay_date = d.night::DATE",
+            params(roomType, checkInDate, checkOutDate),
+            Integer.class);
+    return available != null ? available : 0;
+  }
+
+  /**
+   * Counts {@code rooms} more bookings of the type on every day of the stay. With {@code
+   * enforceCapacity} set, the stay is rejected when any day would then be over-sold; the counter
+   * rows stay locked until the caller's transaction ends, which queues concurrent type-level
+   * bookings for the same days behind each other.
+   */
+  public void reserve(
+      Room.RoomType roomType,
+      LocalDate checkInDate,
+      LocalDate checkOutDate,
+      int rooms,
+      boolean enforceCapacity) {
+    var params = params(roomType, checkInDate, checkOutDate).addValue("rooms", rooms);
+    jdbcTemplate.update(
+        "INSERT INTO room_type_inventory (room_type, stay_date, total, booked) "
+            + "SELECT :roomType, d.night::DATE, ("
+            + SELLABLE_ROOMS
+            + "), :rooms "
+            + "FROM generate_series(CAST(:checkInDate AS DATE), "
+            + "CAST(:checkOutDate AS DATE), INTERVAL '1 day') AS d(night) "
+            + "ON CONFLICT (room_type, stay_date) "
+            + "DO UPDATE SET booked = room_type_inventory.booked + EXCLUDED.booked",
+        params);
+
+    if (enforceCapacity) {
+      var oversold =
+          jdbcTemplate.queryForObject(
+              "SELECT COUNT(*) FROM room_type_inventory WHERE room_type = :roomType "
+                  + "AND stay_date >= :checkInDate AND stay_date <= :checkOutDate "
+                  + "AND booked > total",
+              params,
+              Integer.class);
+      if (oversold != null && oversold > 0) {
+        throw new RoomNotAvailableException(
+            "No " + roomType + " rooms are available for the selected dates");
+      }
+    }
+  }
+
+  public void reserveAll(
+      Map<Room.RoomType, Integer> roomsByType, LocalDate checkInDate, LocalDate checkOutDate) {
+    roomsByType.forEach(
+        (roomType, rooms) -> reserve(roomType, checkInDate, checkOutDate, rooms, false));
+  }
+
+  public void release(Room.RoomType roomType, LocalDate checkInDate, LocalDate checkOutDate) {
+    jdbcTemplate.update(
+        "UPDATE room_type_inventory SET booked = booked - 1 WHERE room_type = :roomType "
+            + "AND stay_date >= :checkInDate AND stay_date <= :checkOutDate AND booked > 0",
+        params(roomType, checkInDate, checkOutDate));
+  }
+
+  /** Releases every day of the given bookings with one set-based update. */
+  public void releaseBookings(Collection<Long> bookingIds) {
+    if (bookingIds.isEmpty()) {
+      return;
+    }
+    jdbcTemplate.update(
+        "UPDATE room_type_inventory i SET booked = GREATEST(i.booked - n.nights, 0) "
+            + "FROM (SELECT r.room_type, d.night::DATE AS stay_date, COUNT(*) AS nights "
+            + "FROM bookings b JOIN rooms r ON r.id = b.room_id "
+            + "CROSS JOIN LATERAL generate_series(b.check_in_date, b.check_out_date, "
+            + "INTERVAL '1 day') AS d(night) "
+            + "WHERE b.id IN (:bookingIds) GROUP BY r.room_type, d.night::DATE) n "
+            + "WHERE i.room_type = n.room_type AND i.stay_date = n.stay_date",
+        new MapSqlParameterSource("bookingIds", bookingIds));
+  }
+
+  /** Releases the upcoming days booked on a room, e.g. before the room is deleted. */
+  public void releaseRoom(Long roomId, Room.RoomType roomType) {
+    jdbcTemplate.update(
+        "UPDATE room_type_inventory i SET booked = GREATEST(i.booked - n.nights, 0) "
+            + "FROM ("
+            + ROOM_NIGHTS
+            + ") n WHERE i.room_type = :roomType AND i.stay_date = n.stay_date",
+        new MapSqlParameterSource()
+            .addValue("roomId", roomId)
+            .addValue("roomType", roomType.name()));
+  }
+
+  /** Moves the upcoming days booked on a room from one type's counters to another's. */
+  public void moveRoom(Long roomId, Room.RoomType fromType, Room.RoomType toType) {
+    releaseRoom(roomId, fromType);
+    jdbcTemplate.update(
+        "INSERT INTO room_type_inventory (room_type, stay_date, total, booked) "
+            + "SELECT :roomType, n.stay_date, 0, n.nights FROM ("
+            + ROOM_NIGHTS
+            + ") n ON CONFLICT (room_type, stay_date) "
+            + "DO UPDATE SET booked = room_type_inventory.booked + EXCLUDED.booked",
+        new MapSqlParameterSource()
+            .addValue("roomId", roomId)
+            .addValue("roomType", toType.name()));
+  }
+
+  /** Refreshes the room totals of every future day after rooms are added, removed or changed. */
+  public void recountTotals() {
+    int updated =
+        jdbcTemplate.update(
+            "UPDATE room_type_inventory i SET total = (SELECT COUNT(*) FROM rooms r "
+                + "WHERE r.room_type = i.room_type AND r.status IN ('AVAILABLE', 'OCCUPIED')) "
+                + "WHERE i.stay_date >= CURRENT_DATE",
+            new MapSqlParameterSource());
+    log.debug("Recounted room totals on {} inventory days", updated);
+  }
+
+  private static MapSqlParameterSource params(
+      Room.RoomType roomType, LocalDate checkInDate, LocalDate checkOutDate) {
+    return new MapSqlParameterSource()
+        .addValue("roomType", roomType.name())
+        .addValue("checkInDate", checkInDate)
+        .addValue("checkOutDate", checkOutDate);
+  }
+}
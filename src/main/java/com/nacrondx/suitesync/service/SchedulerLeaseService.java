@@ -0,0 +1,98 @@
+package com.nacrondx.suitesync.service;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Grants named, time-limited leases through the {@code scheduler_leases} table so that a scheduled
+ * job runs on only one node at a time. A lease is taken by an upsert that only overwrites rows
+ * whose lease has run out, so a node that dies mid-run blocks the job for at most one lease period.
+ * Jobs that work in batches renew the lease between batches and stop once it can no longer be
+ * renewed, so a run that outlasts its lease never overlaps the next holder's.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SchedulerLeaseService {
+  private final JdbcTemplate jdbcTemplate;
+
+  private final String owner = UUID.randomUUID().toString();
+
+  public boolean runWithLease(String name, Duration leaseDuration, Runnable task) {
+    return runWithRenewableLease(name, leaseDuration, lease -> task.run());
+  }
+
+  public boolean runWithRenewableLease(String name, Duration leaseDuration, Consumer<Lease> task) {
+    if (!tryAcquire(name, leaseDuration)) {
+      log.debug("Skipping {} because another node holds its lease", name);
+      return false;
+    }
+
+    try {
+      task.accept(new Lease(name, leaseDuration));
+      return true;
+    } finally {
+      release(name);
+    }
+  }
+
+  public boolean tryAcquire(String name, Duration leaseDuration) {
+    return jdbcTemplate.update(
+            "INSERT INTO scheduler_leases (name, owner, lease_until) "
+                + "VALUES (?, ?, now() + make_interval(secs => ?)) "
+                + "ON CONFLICT (name) DO UPDATE "
+                + "SET owner = EXCLUDED.owner, lease_until = EXCLUDED.lease_until "
+                + "WHERE scheduler_leases.lease_until < now() "
+                + "OR scheduler_leases.owner = EXCLUDED.owner",
+            name,
+            owner,
+            leaseDuration.toSeconds())
+        > 0;
+  }
+
+  public void release(String name) {
+    jdbcTemplate.update(
+        "UPDATE scheduler_leases SET lease_until = now() WHERE name = ? AND owner = ?",
+        name,
+        owner);
+  }
+
+  /**
+   * Extends a lease this node still holds by another lease period. Returns false once the lease
+   * has run out, even if no other node has taken it yet, and the caller must stop working.
+   */
+  public boolean renew(String name, Duration leaseDuration) {
+    boolean renewed =
+        jdbcTemplate.update(
+                "UPDATE scheduler_leases SET lease_until = now() + make_interval(secs => ?) "
+                    + "WHERE name = ? AND owner = ? AND lease_until > now()",
+                leaseDuration.toSeconds(),
+                name,
+                owner)
+            > 0;
+    if (!renewed) {
+      log.warn("Lost lease {}; skipping the rest of the run", name);
+    }
+    return renewed;
+  }
+
+  /** A lease held by the running task. */
+  public class Lease {
+    private final String name;
+    private final Duration duration;
+
+    private Lease(String name, Duration duration) {
+      this.name = name;
+      this.duration = duration;
+    }
+
+    public boolean renew() {
+      return SchedulerLeaseService.this.renew(name, duration);
+    }
+  }
+}
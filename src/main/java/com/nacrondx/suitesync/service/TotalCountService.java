@@ -0,0 +1,159 @@
+package com.nacrondx.suitesync.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nacrondx.suitesync.event.BookingCancelledEvent;
+import com.nacrondx.suitesync.event.BookingChangedEvent;
+import com.nacrondx.suitesync.event.BookingStatusChangedEvent;
+import com.nacrondx.suitesync.event.RoomChangedEvent;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Resolves the total shown alongside a page of results. Listings fetch a {@link Slice} and ask
+ * this service for the total, which is then either skipped, estimated from planner statistics, or
+ * counted exactly with the result cached briefly under the listing's filter key.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TotalCountService {
+  private static final int MAX_CACHED_COUNTS = 1_000;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final ObjectMapper objectMapper;
+
+  private final Map<String, CachedCount> exactCounts = new ConcurrentHashMap<>();
+
+  @Value("${app.pagination.count-cache-ttl-ms:5000}")
+  private long countCacheTtlMillis;
+
+  public PageTotal resolve(
+      Mode mode,
+      Slice<?> slice,
+      String key,
+      LongSupplier exactCount,
+      LongSupplier estimatedCount) {
+    if (mode == Mode.NONE) {
+      return PageTotal.UNKNOWN;
+    }
+
+    long offset = slice.getPageable().getOffset();
+    if (!slice.hasNext() && (slice.hasContent() || offset == 0)) {
+      return PageTotal.of(offset + slice.getNumberOfElements(), slice.getSize(), false);
+    }
+
+    if (mode == Mode.ESTIMATE) {
+      long estimate = estimatedCount.getAsLong();
+      if (estimate >= 0) {
+        long seen = offset + slice.getNumberOfElements() + (slice.hasNext() ? 1 : 0);
+        return PageTotal.of(Math.max(estimate, seen), slice.getSize(), true);
+      }
+    }
+
+    return PageTotal.of(cachedExactCount(key, exactCount), slice.getSize(), false);
+  }
+
+  public long estimateTableRows(String table) {
+    try {
+      var estimate =
+          jdbcTemplate.queryForObject(
+              "SELECT CASE WHEN bool_or(c.reltuples >= 0) "
+                  + "THEN SUM(GREATEST(c.reltuples, 0))::bigint ELSE -1 END "
+                  + "FROM pg_class c WHERE c.oid = to_regclass(?) OR c.oid IN "
+                  + "(SELECT inhrelid FROM pg_inherits WHERE inhparent = to_regclass(?))",
+              Long.class,
+              table,
+              table);
+      return estimate != null ? estimate : -1;
+    } catch (DataAccessException e) {
+      log.warn("Failed to read row estimate for table {}", table, e);
+      return -1;
+    }
+  }
+
+  public long estimateQueryRows(String sql, Object... args) {
+    try {
+      var plan = jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) " + sql, String.class, args);
+      return objectMapper.readTree(plan).path(0).path("Plan").path("Plan Rows").asLong(-1);
+    } catch (DataAccessException | JsonProcessingException e) {
+      log.warn("Failed to read row estimate for query {}", sql, e);
+      return -1;
+    }
+  }
+
+  public void evict(String keyPrefix) {
+    exactCounts.keySet().removeIf(key -> key.startsWith(keyPrefix));
+  }
+
+  // Room searches with stay dates count only rooms free for the stay, so booking changes move
+  // room counts as well
+  @TransactionalEventListener
+  public void onBookingStatusChanged(BookingStatusChangedEvent event) {
+    evict("bookings:");
+    evict("rooms:");
+  }
+
+  @TransactionalEventListener
+  public void onBookingCancelled(BookingCancelledEvent event) {
+    evict("bookings:");
+    evict("rooms:");
+  }
+
+  @TransactionalEventListener
+  public void onBookingChanged(BookingChangedEvent event) {
+    evict("bookings:");
+    evict("rooms:");
+  }
+
+  @TransactionalEventListener
+  public void onRoomChanged(RoomChangedEvent event) {
+    evict("rooms:");
+  }
+
+  private long cachedExactCount(String key, LongSupplier exactCount) {
+    long now = System.nanoTime();
+    var cached = exactCounts.get(key);
+    if (cached != null && cached.expiresAt() - now > 0) {
+      return cached.value();
+    }
+
+    long value = exactCount.getAsLong();
+    if (exactCounts.size() >= MAX_CACHED_COUNTS) {
+      exactCounts.values().removeIf(count -> count.expiresAt() - now <= 0);
+      if (exactCounts.size() >= MAX_CACHED_COUNTS) {
+        exactCounts.clear();
+      }
+    }
+    exactCounts.put(
+        key, new CachedCount(value, now + TimeUnit.MILLISECONDS.toNanos(countCacheTtlMillis)));
+    return value;
+  }
+
+  public enum Mode {
+    EXACT,
+    ESTIMATE,
+    NONE
+  }
+
+  public record PageTotal(Long totalElements, Integer totalPages, boolean estimated) {
+    static final PageTotal UNKNOWN = new PageTotal(null, null, false);
+
+    static PageTotal of(long totalElements, int pageSize, boolean estimated) {
+      int totalPages = pageSize > 0 ? (int) Math.ceil((double) totalElements / pageSize) : 1;
+      return new PageTotal(totalElements, totalPages, estimated);
+    }
+  }
+
+  private record CachedCount(long value, long expiresAt) {}
+}
@@ -4,6 +4,7 @@ import com.nacrondx.suitesync.entity.User;
 import com.nacrondx.suitesync.exception.ResourceNotFoundException;
 import com.nacrondx.suitesync.model.user.Address;
 import com.nacrondx.suitesync.model.user.CreateUserRequest;
+import com.nacrondx.suitesync.model.user.IncludeTotal;
 import com.nacrondx.suitesync.model.user.UpdateUserRequest;
 import com.nacrondx.suitesync.model.user.UserPageResponse;
 import com.nacrondx.suitesync.model.user.UserResponse;
@@ -18,7 +19,6 @@ import javax.naming.NamingException;
 import javax.naming.directory.InitialDirContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -31,6 +31,7 @@ public class UserService {
   private final UserRepository userRepository;
   private final PasswordEncoder passwordEncoder;
   private final EmailService emailService;
+  private final TotalCountService totalCountService;
 
   @Transactional
   public UserResponse createUser(CreateUserRequest request) {
@@ -170,33 +171,43 @@ public class UserService {
   }
 
   @Transactional(readOnly = true)
-  public UserPageResponse getAllUsers(UserType userType, Integer page, Integer size) {
+  public UserPageResponse getAllUsers(
+      UserType userType, Integer page, Integer size, IncludeTotal includeTotal) {
     int pageNumber = page != null ? page : 0;
     int pageSize = size != null ? size : 20;
 
     var pageable = PageRequest.of(pageNumber, pageSize);
-    Page<User> userPage;
-
-    if (userType != null) {
-      var entityUserType = User.UserType.valueOf(userType.name());
-      userPage = userRepository.findAll(pageable);
-      var filteredUsers =
-          userPage.getContent().stream()
-              .filter(user -> user.getUserType() == entityUserType)
-              .toList();
-      userPage =
-          new org.springframework.data.domain.PageImpl<>(
-              filteredUsers, pageable, userPage.getTotalElements());
-    } else {
-      userPage = userRepository.findAll(pageable);
-    }
+    var entityUserType = userType != null ? User.UserType.valueOf(userType.name()) : null;
+    var userSlice =
+        entityUserType != null
+            ? userRepository.findSliceByUserType(entityUserType, pageable)
+            : userRepository.findSliceBy(pageable);
+
+    var total =
+        totalCountService.resolve(
+            includeTotal != null
+                ? TotalCountService.Mode.valueOf(includeTotal.name())
+                : TotalCountService.Mode.EXACT,
+            userSlice,
+            "users:" + entityUserType,
+            () ->
+                entityUserType != null
+                    ? userRepository.countByUserType(entityUserType)
+                    : userRepository.count(),
+            () ->
+                entityUserType != null
+                    ? totalCountService.estimateQueryRows(
+                        "SELECT 1 FROM users WHERE user_type = ?", entityUserType.name())
+                    : totalCountService.estimateTableRows("users"));
 
     var response = new UserPageResponse();
-    response.setContent(userPage.getContent().stream().map(this::mapToUserResponse).toList());
-    response.setPage(userPage.getNumber());
-    response.setSize(userPage.getSize());
-    response.setTotalElements(userPage.getTotalElements());
-    response.setTotalPages(userPage.getTotalPages());
+    response.setContent(userSlice.getContent().stream().map(this::mapToUserResponse).toList());
+    response.setPage(userSlice.getNumber());
+    response.setSize(userSlice.getSize());
+    response.setHasNext(userSlice.hasNext());
+    response.setTotalElements(total.totalElements());
+    response.setTotalPages(total.totalPages());
+    response.setTotalEstimated(total.estimated());
 
     return response;
   }
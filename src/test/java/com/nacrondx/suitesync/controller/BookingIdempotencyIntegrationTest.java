@@ -0,0 +1,108 @@
+package com.nacrondx.suitesync.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nacrondx.suitesync.config.IdempotencyFilter;
+import com.nacrondx.suitesync.model.booking.CreateBookingRequest;
+import com.nacrondx.suitesync.repository.RoomRepository;
+import com.nacrondx.suitesync.repository.UserRepository;
+import java.time.LocalDate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BookingIdempotencyIntegrationTest {
+  @Autowired private MockMvc mockMvc;
+  @Autowired private ObjectMapper objectMapper;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private RoomRepository roomRepository;
+  @Autowired private UserRepository userRepository;
+
+  private Long userId;
+  private CreateBookingRequest bookingRequest;
+
+  @BeforeEach
+  void setUp() {
+    userId = userRepository.findAll().get(0).getId();
+    bookingRequest = new CreateBookingRequest();
+    bookingRequest.setRoomId(roomRepository.findAll().get(0).getId());
+    bookingRequest.setCheckInDate(LocalDate.now().plusYears(2));
+    bookingRequest.setCheckOutDate(LocalDate.now().plusYears(2).plusDays(3));
+    bookingRequest.setNumberOfGuests(1);
+  }
+
+  @AfterEach
+  void tearDown() {
+    jdbcTemplate.update("DELETE FROM bookings WHERE check_in_date = ?", bookingCheckIn());
+    jdbcTemplate.update("DELETE FROM request_idempotency WHERE user_id = ?", userId);
+  }
+
+  @Test
+  void repeatedRequestShouldReplayOriginalResponse() throws Exception {
+    var first =
+        mockMvc
+            .perform(createBooking("retry-1", bookingRequest))
+            .andExpect(status().isCreated())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+    var second =
+        mockMvc
+            .perform(createBooking("retry-1", bookingRequest))
+            .andExpect(status().isCreated())
+            .andExpect(header().string(IdempotencyFilter.REPLAYED_HEADER, "true"))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+    assertEquals(first, second);
+    assertEquals(1, countBookings());
+  }
+
+  @Test
+  void reusedKeyWithDifferentBodyShouldBeRejected() throws Exception {
+    mockMvc.perform(createBooking("retry-2", bookingRequest)).andExpect(status().isCreated());
+
+    bookingRequest.setNumberOfGuests(2);
+    mockMvc
+        .perform(createBooking("retry-2", bookingRequest))
+        .andExpect(status().isUnprocessableEntity());
+
+    assertEquals(1, countBookings());
+  }
+
+  private MockHttpServletRequestBuilder createBooking(String key, CreateBookingRequest request)
+      throws Exception {
+    return post("/api/v1/bookings")
+        .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key)
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(request))
+        .with(jwt().jwt(jwt -> jwt.claim("userId", userId)));
+  }
+
+  private LocalDate bookingCheckIn() {
+    return bookingRequest.getCheckInDate();
+  }
+
+  private int countBookings() {
+    return jdbcTemplate.queryForObject(
+        "SELECT COUNT(*) FROM bookings WHERE check_in_date = ?", Integer.class, bookingCheckIn());
+  }
+}
@@ -367,6 +367,21 @@ class UserControllerIntegrationTest {
         .andExpect(jsonPath("$.content", hasSize(10)))
         .andExpect(jsonPath("$.page", is(1)))
         .andExpect(jsonPath("$.size", is(10)));
+
+    mockMvc
+        .perform(get("/api/v1/users?page=2&size=10&includeTotal=NONE"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content", hasSize(6)))
+        .andExpect(jsonPath("$.hasNext", is(false)))
+        .andExpect(jsonPath("$.totalElements").doesNotExist());
+
+    mockMvc
+        .perform(get("/api/v1/users?page=0&size=10&includeTotal=NONE"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content", hasSize(10)))
+        .andExpect(jsonPath("$.hasNext", is(true)))
+        .andExpect(jsonPath("$.totalElements").doesNotExist())
+        .andExpect(jsonPath("$.totalPages").doesNotExist());
   }
 
   @Test
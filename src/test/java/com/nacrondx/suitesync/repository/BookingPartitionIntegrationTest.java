@@ -0,0 +1,90 @@
+package com.nacrondx.suitesync.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class BookingPartitionIntegrationTest {
+  private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @Test
+  void ensurePartitionShouldMoveRowsOutOfDefaultPartition() {
+    var month = LocalDate.now().plusYears(5).withDayOfMonth(1);
+    insertBooking(month.plusDays(3), month.plusDays(5));
+
+    assertEquals(1, countRows("bookings_default"));
+
+    var created =
+        jdbcTemplate.queryForObject("SELECT ensure_bookings_partition(?)", Boolean.class, month);
+
+    assertTrue(created);
+    assertEquals(0, countRows("bookings_default"));
+    assertEquals(1, countRows(partitionName(month)));
+    assertEquals(1, countRows("bookings"));
+  }
+
+  @Test
+  void overlapQueryShouldOnlyScanPartitionsWithinMaximumStay() {
+    var checkIn = LocalDate.now().plusMonths(6).withDayOfMonth(15);
+    var checkOut = checkIn.plusDays(3);
+
+    var plan =
+        String.join(
+            "\n",
+            jdbcTemplate.queryForList(
+                "EXPLAIN SELECT id FROM bookings WHERE room_id = 1 "
+                    + "AND status NOT IN ('CANCELLED', 'CHECKED_OUT') "
+                    + "AND check_in_date >= ? AND check_in_date <= ? AND check_out_date >= ?",
+                String.class,
+                checkIn.minusDays(90),
+                checkOut,
+                checkIn));
+
+    assertTrue(plan.contains(partitionName(checkIn)));
+    assertFalse(plan.contains(partitionName(checkIn.minusMonths(4))));
+    assertFalse(plan.contains(partitionName(checkIn.plusMonths(1))));
+  }
+
+  @Test
+  void stayLongerThanMaximumShouldBeRejected() {
+    var checkIn = LocalDate.now().plusMonths(6);
+
+    insertBooking(checkIn, checkIn.plusDays(90));
+    assertThrows(
+        DataIntegrityViolationException.class, () -> insertBooking(checkIn, checkIn.plusDays(91)));
+  }
+
+  private void insertBooking(LocalDate checkIn, LocalDate checkOut) {
+    jdbcTemplate.update(
+        "INSERT INTO bookings (user_id, room_id, check_in_date, check_out_date, number_of_guests, "
+            + "status, total_price, created_at, updated_at) "
+            + "SELECT (SELECT MIN(id) FROM users), (SELECT MIN(id) FROM rooms), ?, ?, 1, "
+            + "'CONFIRMED', 100, now(), now()",
+        checkIn,
+        checkOut);
+  }
+
+  private int countRows(String table) {
+    return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+  }
+
+  private static String partitionName(LocalDate date) {
+    return "bookings_" + date.format(PARTITION_SUFFIX);
+  }
+}
@@ -0,0 +1,47 @@
+package com.nacrondx.suitesync.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.nacrondx.suitesync.entity.Room;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class RoomFacetIntegrationTest {
+  @Autowired private RoomRepository roomRepository;
+
+  @Test
+  void everyFacetShouldCoverAllMatchingRooms() {
+    var filter = new RoomSearchFilter(null, 2, null, null, null, null);
+
+    var facets = roomRepository.countFacets(filter, 50.0);
+
+    long matching = roomRepository.countMatching(filter);
+    assertTrue(matching > 0);
+    assertEquals(matching, sum(facets.roomTypes()));
+    assertEquals(matching, sum(facets.maxOccupancies()));
+    assertEquals(matching, sum(facets.priceBuckets()));
+    assertTrue(facets.maxOccupancies().keySet().stream().allMatch(guests -> guests >= 2));
+  }
+
+  @Test
+  void roomTypeFilterShouldLeaveSingleRoomTypeFacet() {
+    var facets =
+        roomRepository.countFacets(
+            new RoomSearchFilter(Room.RoomType.DOUBLE, null, null, null, null, null), 50.0);
+
+    assertEquals(1, facets.roomTypes().size());
+    assertTrue(facets.roomTypes().containsKey(Room.RoomType.DOUBLE));
+  }
+
+  private static long sum(Map<?, Long> counts) {
+    return counts.values().stream().mapToLong(Long::longValue).sum();
+  }
+}
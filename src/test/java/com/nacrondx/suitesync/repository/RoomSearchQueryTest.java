@@ -0,0 +1,148 @@
+package com.nacrondx.suitesync.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.nacrondx.suitesync.entity.Room;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+class RoomSearchQueryTest {
+  private final RoomSearchQuery searchQuery = new RoomSearchQuery();
+
+  @Test
+  void selectShouldOnlyIncludePresentFilters() {
+    var sql =
+        searchQuery.select(
+            new RoomSearchFilter(Room.RoomType.DOUBLE, null, 100.0, null, null, null),
+            Sort.unsorted());
+
+    assertEquals(
+        "SELECT r.* FROM rooms r WHERE r.status IN ('AVAILABLE', 'OCCUPIED')"
+            + " AND r.room_type = :roomType AND r.price_per_night >= :minPrice"
+            + " ORDER BY r.id ASC LIMIT :limit OFFSET :offset",
+        sql);
+  }
+
+  @Test
+  void selectShouldReuseStatementForSameFilterShape() {
+    var sort = Sort.by(Sort.Order.desc("pricePerNight"), Sort.Order.desc("id"));
+
+    var first =
+        searchQuery.select(
+            new RoomSearchFilter(Room.RoomType.SUITE, 2, null, null, null, null), sort);
+    var second =
+        searchQuery.select(
+            new RoomSearchFilter(Room.RoomType.SINGLE, 4, null, null, null, null), sort);
+
+    assertSame(first, second);
+    assertTrue(first.contains("ORDER BY r.price_per_night DESC, r.id DESC"));
+    assertEquals(1, searchQuery.size());
+  }
+
+  @Test
+  void countShouldNotContainOrderingOrPaging() {
+    var sql = searchQuery.count(new RoomSearchFilter(null, 2, null, 300.0, null, null));
+
+    assertTrue(sql.startsWith("SELECT COUNT(*) FROM rooms r"));
+    assertTrue(sql.contains("r.max_occupancy >= :numberOfGuests"));
+    assertFalse(sql.contains("ORDER BY"));
+    assertFalse(sql.contains("LIMIT"));
+  }
+
+  @Test
+  void facetsShouldGroupFilteredRoomsInOneStatement() {
+    var sql = searchQuery.facets(new RoomSearchFilter(null, 2, null, null, null, null));
+
+    assertTrue(sql.contains("r.max_occupancy >= :numberOfGuests"));
+    assertTrue(
+        sql.endsWith("GROUP BY GROUPING SETS ((room_type), (max_occupancy), (price_bucket))"));
+    assertFalse(sql.contains("ORDER BY"));
+    assertSame(sql, searchQuery.facets(new RoomSearchFilter(null, 4, null, null, null, null)));
+  }
+
+  @Test
+  void textFilterShouldMatchAndRankOnSearchVector() {
+    var filter = new RoomSearchFilter(null, null, null, null, "sea view", null);
+
+    var sql =
+        searchQuery.select(filter, Sort.by(Sort.Order.desc("relevance"), Sort.Order.asc("id")));
+
+    assertTrue(sql.contains("r.search_vector @@ websearch_to_tsquery('english', :text)"));
+    assertTrue(
+        sql.contains(
+            "ORDER BY ts_rank(r.search_vector, websearch_to_tsquery('english', :text)) DESC,"
+                + " r.id ASC"));
+  }
+
+  @Test
+  void amenityFilterShouldRequireEveryMaskBit() {
+    var sql = searchQuery.count(new RoomSearchFilter(null, null, null, null, null, 0b101L));
+
+    assertTrue(sql.endsWith(" AND (r.amenity_mask & :amenityMask) = :amenityMask"));
+  }
+
+  @Test
+  void stayFilterShouldExcludeRoomsWithOverlappingBookingsOrHolds() {
+    var checkIn = LocalDate.of(2026, 7, 1);
+    var sql =
+        searchQuery.count(
+            new RoomSearchFilter(null, null, null, null, null, null, checkIn, checkIn.plusDays(3)));
+
+    assertTrue(
+        sql.contains(
+            " AND NOT EXISTS (SELECT 1 FROM bookings b WHERE b.room_id = r.id"
+                + " AND b.status NOT IN ('CANCELLED', 'CHECKED_OUT')"
+                + " AND b.check_in_date >= :earliestCheckInDate"));
+    assertTrue(sql.contains(" AND NOT EXISTS (SELECT 1 FROM booking_holds h"));
+    assertFalse(
+        searchQuery
+            .count(new RoomSearchFilter(null, null, null, null, null, null))
+            .contains("bookings"));
+  }
+
+  @Test
+  void relevanceSortWithoutTextShouldThrow() {
+    var filter = new RoomSearchFilter(null, null, null, null, null, null);
+
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> searchQuery.select(filter, Sort.by(Sort.Order.desc("relevance"))));
+  }
+
+  @Test
+  void selectWithUnknownSortPropertyShouldThrow() {
+    var filter = new RoomSearchFilter(null, null, null, null, null, null);
+
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> searchQuery.select(filter, Sort.by("description; DROP TABLE rooms")));
+  }
+
+  @Test
+  void cacheShouldStayBounded() {
+    var properties = List.of("id", "pricePerNight", "size", "floor", "averageRating", "roomNumber");
+
+    for (int mask = 0; mask < 16; mask++) {
+      var filter =
+          new RoomSearchFilter(
+              (mask & 1) != 0 ? Room.RoomType.SUITE : null,
+              (mask & 2) != 0 ? 2 : null,
+              (mask & 4) != 0 ? 50.0 : null,
+              (mask & 8) != 0 ? 500.0 : null,
+              null,
+              null);
+      for (var property : properties) {
+        searchQuery.select(filter, Sort.by(Sort.Direction.ASC, property));
+        searchQuery.select(filter, Sort.by(Sort.Direction.DESC, property));
+      }
+    }
+
+    assertEquals(RoomSearchQuery.MAX_CACHED_STATEMENTS, searchQuery.size());
+  }
+}
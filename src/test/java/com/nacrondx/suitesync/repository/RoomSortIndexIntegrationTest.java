@@ -0,0 +1,62 @@
+package com.nacrondx.suitesync.repository;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class RoomSortIndexIntegrationTest {
+  private static final RoomSearchFilter NO_FILTER =
+      new RoomSearchFilter(null, null, null, null, null, null);
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+  private final RoomSearchQuery searchQuery = new RoomSearchQuery();
+
+  @ParameterizedTest
+  @CsvSource({
+    "pricePerNight, ASC, idx_rooms_price_id",
+    "pricePerNight, DESC, idx_rooms_price_id",
+    "size, ASC, idx_rooms_size_id",
+    "size, DESC, idx_rooms_size_id",
+    "floor, ASC, idx_rooms_floor_id",
+    "floor, DESC, idx_rooms_floor_id",
+    "averageRating, ASC, idx_rooms_rating_id",
+    "averageRating, DESC, idx_rooms_rating_id",
+    "roomNumber, ASC, idx_rooms_room_number_id",
+    "roomNumber, DESC, idx_rooms_room_number_id"
+  })
+  @Transactional
+  void roomSortShouldBeServedByIndexScan(
+      String property, Sort.Direction direction, String indexName) {
+    // Grow the catalog to a realistic size so the default planner weighs the index against a
+    // sequential scan and sort on the real costs
+    jdbcTemplate.update(
+        "INSERT INTO rooms (room_number, room_type, max_occupancy, price_per_night, size, floor) "
+            + "SELECT 'X' || g, 'DOUBLE', 2, 50 + g % 400, 20 + g % 60, g % 30 "
+            + "FROM generate_series(1, 20000) g");
+    jdbcTemplate.execute("ANALYZE rooms");
+
+    var sql = searchQuery.select(NO_FILTER, Sort.by(direction, property, "id"));
+    var plan =
+        String.join(
+            "\n",
+            namedParameterJdbcTemplate.queryForList(
+                "EXPLAIN " + sql, Map.of("limit", 20, "offset", 0), String.class));
+
+    assertTrue(plan.contains("Index Scan") && plan.contains(indexName), plan);
+    assertFalse(plan.contains("Sort"), plan);
+  }
+}
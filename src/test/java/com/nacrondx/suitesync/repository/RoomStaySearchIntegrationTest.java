@@ -0,0 +1,70 @@
+package com.nacrondx.suitesync.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class RoomStaySearchIntegrationTest {
+  @Autowired private RoomRepository roomRepository;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @Test
+  void staySearchShouldSkipRoomsBookedForAnyOfTheNights() {
+    var roomId =
+        jdbcTemplate.queryForObject(
+            "SELECT MIN(id) FROM rooms WHERE status = 'AVAILABLE'", Long.class);
+    var checkIn = LocalDate.now().plusDays(400);
+    insertBooking(roomId, checkIn.minusDays(2), checkIn.plusDays(1), "CONFIRMED");
+
+    var overlapping = stay(checkIn, checkIn.plusDays(3));
+    var later = stay(checkIn.plusDays(5), checkIn.plusDays(7));
+
+    assertFalse(containsRoom(overlapping, roomId));
+    assertTrue(containsRoom(later, roomId));
+    assertEquals(
+        roomRepository.countMatching(later) - 1, roomRepository.countMatching(overlapping));
+  }
+
+  @Test
+  void staySearchShouldIgnoreCancelledBookings() {
+    var roomId =
+        jdbcTemplate.queryForObject(
+            "SELECT MIN(id) FROM rooms WHERE status = 'AVAILABLE'", Long.class);
+    var checkIn = LocalDate.now().plusDays(400);
+    insertBooking(roomId, checkIn, checkIn.plusDays(2), "CANCELLED");
+
+    assertTrue(containsRoom(stay(checkIn, checkIn.plusDays(2)), roomId));
+  }
+
+  private boolean containsRoom(RoomSearchFilter filter, Long roomId) {
+    return roomRepository.searchSlice(filter, PageRequest.of(0, 1000)).stream()
+        .anyMatch(room -> room.getId().equals(roomId));
+  }
+
+  private static RoomSearchFilter stay(LocalDate checkIn, LocalDate checkOut) {
+    return new RoomSearchFilter(null, null, null, null, null, null, checkIn, checkOut);
+  }
+
+  private void insertBooking(Long roomId, LocalDate checkIn, LocalDate checkOut, String status) {
+    jdbcTemplate.update(
+        "INSERT INTO bookings (user_id, room_id, check_in_date, check_out_date, number_of_guests, "
+            + "status, total_price, created_at, updated_at) "
+            + "SELECT (SELECT MIN(id) FROM users), ?, ?, ?, 1, ?, 100, now(), now()",
+        roomId,
+        checkIn,
+        checkOut,
+        status);
+  }
+}
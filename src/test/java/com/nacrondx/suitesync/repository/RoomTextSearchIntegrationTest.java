@@ -0,0 +1,71 @@
+package com.nacrondx.suitesync.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.nacrondx.suitesync.entity.Room;
+import jakarta.persistence.EntityManager;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class RoomTextSearchIntegrationTest {
+  private static final Sort BY_RELEVANCE =
+      Sort.by(Sort.Order.desc("relevance"), Sort.Order.asc("id"));
+
+  @Autowired private RoomRepository roomRepository;
+  @Autowired private EntityManager entityManager;
+
+  @Test
+  void textSearchShouldMatchDescriptionAndAmenitiesTogether() {
+    var room = saveRoom("T901", "Quiet corner room with a sea view", List.of("Balcony", "WiFi"));
+
+    var rooms =
+        roomRepository
+            .searchSlice(
+                new RoomSearchFilter(null, null, null, null, "sea view balcony", null),
+                PageRequest.of(0, 20, BY_RELEVANCE))
+            .getContent();
+
+    assertTrue(rooms.stream().anyMatch(match -> match.getId().equals(room.getId())));
+  }
+
+  @Test
+  void textSearchShouldCombineWithOtherFilters() {
+    saveRoom("T902", "Penthouse with rooftop jacuzzi", List.of("Jacuzzi"));
+    var filter =
+        new RoomSearchFilter(Room.RoomType.SINGLE, null, null, null, "rooftop jacuzzi", null);
+
+    assertEquals(0, roomRepository.countMatching(filter));
+    assertEquals(
+        1,
+        roomRepository.countMatching(
+            new RoomSearchFilter(Room.RoomType.DOUBLE, null, null, null, "rooftop jacuzzi", null)));
+  }
+
+  private Room saveRoom(String roomNumber, String description, List<String> amenities) {
+    var room =
+        roomRepository.save(
+            Room.builder()
+                .roomNumber(roomNumber)
+                .roomType(Room.RoomType.DOUBLE)
+                .maxOccupancy(2)
+                .pricePerNight(180.0)
+                .size(28.0)
+                .floor(9)
+                .description(description)
+                .amenities(amenities)
+                .amenitiesText(String.join(" ", amenities))
+                .build());
+    entityManager.flush();
+    return room;
+  }
+}
@@ -0,0 +1,51 @@
+package com.nacrondx.suitesync.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.nacrondx.suitesync.service.AlternativeWindowService.Interval;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class AlternativeWindowServiceTest {
+  private static final LocalDate REQUESTED = LocalDate.of(2030, 6, 10);
+
+  @Test
+  void nearestCheckInsShouldSuggestClosestFreeStartsAroundBooking() {
+    var busy = List.of(new Interval(REQUESTED.minusDays(1), REQUESTED.plusDays(3)));
+
+    var checkIns =
+        AlternativeWindowService.nearestCheckIns(
+            busy, REQUESTED, 2, REQUESTED.minusDays(10), REQUESTED.plusDays(10), 3);
+
+    // A two-night stay must end the day before the booking starts or begin the day after it ends
+    assertEquals(
+        List.of(REQUESTED.minusDays(4), REQUESTED.plusDays(4), REQUESTED.minusDays(5)), checkIns);
+  }
+
+  @Test
+  void nearestCheckInsShouldSkipGapsTooShortForStay() {
+    var busy =
+        List.of(
+            new Interval(REQUESTED.minusDays(2), REQUESTED.plusDays(1)),
+            new Interval(REQUESTED.plusDays(4), REQUESTED.plusDays(6)),
+            new Interval(REQUESTED.plusDays(9), REQUESTED.plusDays(12)));
+
+    var checkIns =
+        AlternativeWindowService.nearestCheckIns(
+            busy, REQUESTED, 3, REQUESTED, REQUESTED.plusDays(20), 2);
+
+    assertEquals(List.of(REQUESTED.plusDays(13), REQUESTED.plusDays(14)), checkIns);
+  }
+
+  @Test
+  void nearestCheckInsShouldStayWithinSearchRange() {
+    var busy = List.of(new Interval(REQUESTED, REQUESTED.plusDays(30)));
+
+    var checkIns =
+        AlternativeWindowService.nearestCheckIns(
+            busy, REQUESTED, 2, REQUESTED, REQUESTED.plusDays(10), 3);
+
+    assertEquals(List.of(), checkIns);
+  }
+}
@@ -0,0 +1,67 @@
+package com.nacrondx.suitesync.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.nacrondx.suitesync.model.room.CreateRoomRequest;
+import com.nacrondx.suitesync.model.room.RoomType;
+import com.nacrondx.suitesync.repository.RoomRepository;
+import com.nacrondx.suitesync.repository.RoomSearchFilter;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class AmenityDictionaryIntegrationTest {
+  @Autowired private AmenityDictionaryService amenityDictionaryService;
+  @Autowired private RoomService roomService;
+  @Autowired private RoomRepository roomRepository;
+
+  @Test
+  void assignShouldReuseBitsCaseInsensitivelyAndAddNewOnes() {
+    long first = amenityDictionaryService.assign(List.of("Rooftop Terrace", "wifi"));
+    long second = amenityDictionaryService.assign(List.of(" rooftop terrace ", "WIFI"));
+
+    assertEquals(first, second);
+    assertEquals(2, Long.bitCount(first));
+    assertEquals(first, amenityDictionaryService.required(List.of("ROOFTOP TERRACE", "WiFi")));
+  }
+
+  @Test
+  void requiredShouldMarkUnknownAmenity() {
+    long mask = amenityDictionaryService.required(List.of("Never Seen Before"));
+
+    assertEquals(AmenityDictionaryService.UNKNOWN_AMENITY, mask);
+  }
+
+  @Test
+  void createdRoomShouldMatchOnlyFiltersItSatisfies() {
+    var request = new CreateRoomRequest();
+    request.setRoomNumber("A950");
+    request.setRoomType(RoomType.DOUBLE);
+    request.setMaxOccupancy(2);
+    request.setPricePerNight(210.0);
+    request.setSize(30.0);
+    request.setFloor(9);
+    request.setAmenities(List.of("Plunge Pool", "Balcony"));
+    var room = roomService.createRoom(request);
+
+    var stored = roomRepository.findById(room.getId()).orElseThrow();
+    assertNotEquals(0L, stored.getAmenityMask());
+
+    var both = amenityDictionaryService.required(List.of("plunge pool", "balcony"));
+    var unknown = amenityDictionaryService.required(List.of("plunge pool", "helipad"));
+    assertTrue(
+        roomRepository.countMatching(new RoomSearchFilter(null, null, null, null, null, both))
+            >= 1);
+    assertEquals(
+        0,
+        roomRepository.countMatching(new RoomSearchFilter(null, null, null, null, null, unknown)));
+  }
+}
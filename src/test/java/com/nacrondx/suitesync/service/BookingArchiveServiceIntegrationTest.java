@@ -0,0 +1,83 @@
+package com.nacrondx.suitesync.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.nacrondx.suitesync.entity.Booking;
+import com.nacrondx.suitesync.model.booking.BookingStatus;
+import com.nacrondx.suitesync.repository.ArchivedBookingRepository;
+import com.nacrondx.suitesync.repository.BookingRepository;
+import com.nacrondx.suitesync.repository.RoomRepository;
+import com.nacrondx.suitesync.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import java.time.LocalDate;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest(properties = "app.bookings.archive.batch-size=2")
+@ActiveProfiles("test")
+@Transactional
+class BookingArchiveServiceIntegrationTest {
+  @Autowired private BookingArchiveService bookingArchiveService;
+  @Autowired private BookingService bookingService;
+  @Autowired private BookingRepository bookingRepository;
+  @Autowired private ArchivedBookingRepository archivedBookingRepository;
+  @Autowired private RoomRepository roomRepository;
+  @Autowired private UserRepository userRepository;
+  @Autowired private EntityManager entityManager;
+
+  @Test
+  void archiveShouldMoveOnlyFinishedBookingsOlderThanCutoffInBatches() {
+    var longAgo = LocalDate.now().minusYears(2);
+    var checkedOut = saveBooking(longAgo, Booking.BookingStatus.CHECKED_OUT);
+    var cancelled = saveBooking(longAgo.plusDays(5), Booking.BookingStatus.CANCELLED);
+    var alsoCheckedOut = saveBooking(longAgo.plusDays(10), Booking.BookingStatus.CHECKED_OUT);
+    var stillConfirmed = saveBooking(longAgo.plusDays(15), Booking.BookingStatus.CONFIRMED);
+    var recent = saveBooking(LocalDate.now().minusDays(10), Booking.BookingStatus.CHECKED_OUT);
+    entityManager.flush();
+    entityManager.clear();
+
+    long archived =
+        bookingArchiveService.archiveBookingsCheckedOutBefore(LocalDate.now().minusDays(365));
+
+    assertEquals(3, archived);
+    for (var id : new Long[] {checkedOut, cancelled, alsoCheckedOut}) {
+      assertFalse(bookingRepository.existsById(id));
+      assertTrue(archivedBookingRepository.existsById(id));
+    }
+    assertTrue(bookingRepository.existsById(stillConfirmed));
+    assertTrue(bookingRepository.existsById(recent));
+  }
+
+  @Test
+  void getBookingByIdShouldFallBackToArchive() {
+    var id = saveBooking(LocalDate.now().minusYears(2), Booking.BookingStatus.CANCELLED);
+    entityManager.flush();
+    entityManager.clear();
+
+    bookingArchiveService.archiveBookingsCheckedOutBefore(LocalDate.now().minusDays(365));
+    var response = bookingService.getBookingById(id);
+
+    assertEquals(id, response.getId());
+    assertEquals(BookingStatus.CANCELLED, response.getStatus());
+  }
+
+  private Long saveBooking(LocalDate checkIn, Booking.BookingStatus status) {
+    return bookingRepository
+        .save(
+            Booking.builder()
+                .user(userRepository.findAll().get(0))
+                .room(roomRepository.findAll().get(0))
+                .checkInDate(checkIn)
+                .checkOutDate(checkIn.plusDays(2))
+                .numberOfGuests(1)
+                .totalPrice(200.0)
+                .status(status)
+                .build())
+        .getId();
+  }
+}
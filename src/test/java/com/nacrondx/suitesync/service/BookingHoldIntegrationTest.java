@@ -0,0 +1,91 @@
+package com.nacrondx.suitesync.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.nacrondx.suitesync.entity.Room;
+import com.nacrondx.suitesync.model.booking.CreateBookingHoldRequest;
+import com.nacrondx.suitesync.repository.RoomRepository;
+import com.nacrondx.suitesync.repository.UserRepository;
+import java.time.LocalDate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class BookingHoldIntegrationTest {
+  @Autowired private BookingHoldService bookingHoldService;
+  @Autowired private HoldRegistry holdRegistry;
+  @Autowired private RoomRepository roomRepository;
+  @Autowired private UserRepository userRepository;
+  @Autowired private PlatformTransactionManager transactionManager;
+
+  private TransactionTemplate transactionTemplate;
+  private CreateBookingHoldRequest request;
+
+  @BeforeEach
+  void setUp() {
+    var jwt =
+        Jwt.withTokenValue("token")
+            .header("alg", "none")
+            .claim("userId", userRepository.findAll().get(0).getId())
+            .build();
+    SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt));
+    transactionTemplate = new TransactionTemplate(transactionManager);
+
+    var room =
+        roomRepository.findAll().stream()
+            .filter(candidate -> candidate.getStatus() == Room.RoomStatus.AVAILABLE)
+            .findFirst()
+            .orElseThrow();
+    request = new CreateBookingHoldRequest();
+    request.setRoomId(room.getId());
+    request.setCheckInDate(LocalDate.now().plusDays(250));
+    request.setCheckOutDate(LocalDate.now().plusDays(252));
+    request.setHoldMinutes(5);
+  }
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  void rolledBackHoldShouldNotReachRegistry() {
+    int before = holdRegistry.size();
+
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          bookingHoldService.createHold(request);
+          status.setRollbackOnly();
+        });
+
+    assertEquals(before, holdRegistry.size());
+  }
+
+  @Test
+  void rolledBackReleaseShouldKeepHoldInRegistry() {
+    var holdId = bookingHoldService.createHold(request).getId();
+    assertNotNull(holdRegistry.get(holdId));
+
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          bookingHoldService.releaseHold(holdId);
+          status.setRollbackOnly();
+        });
+    assertNotNull(holdRegistry.get(holdId));
+
+    bookingHoldService.releaseHold(holdId);
+    assertNull(holdRegistry.get(holdId));
+  }
+}
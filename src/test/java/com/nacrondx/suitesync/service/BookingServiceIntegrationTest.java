@@ -0,0 +1,260 @@
+package com.nacrondx.suitesync.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.nacrondx.suitesync.entity.ArchivedBooking;
+import com.nacrondx.suitesync.entity.Booking;
+import com.nacrondx.suitesync.exception.RoomNotAvailableException;
+import com.nacrondx.suitesync.model.booking.BookingStatus;
+import com.nacrondx.suitesync.model.booking.CreateBookingRequest;
+import com.nacrondx.suitesync.model.booking.CreateGroupBookingRequest;
+import com.nacrondx.suitesync.model.booking.GroupRoomRequest;
+import com.nacrondx.suitesync.model.booking.IncludeTotal;
+import com.nacrondx.suitesync.repository.ArchivedBookingRepository;
+import com.nacrondx.suitesync.repository.BookingRepository;
+import com.nacrondx.suitesync.repository.RoomRepository;
+import com.nacrondx.suitesync.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class BookingServiceIntegrationTest {
+  @Autowired private BookingService bookingService;
+  @Autowired private BookingRepository bookingRepository;
+  @Autowired private ArchivedBookingRepository archivedBookingRepository;
+  @Autowired private RoomRepository roomRepository;
+  @Autowired private UserRepository userRepository;
+  @Autowired private EntityManager entityManager;
+  @Autowired private EntityManagerFactory entityManagerFactory;
+
+  private Statistics statistics;
+  private LocalDate checkIn;
+  private Long userId;
+
+  @BeforeEach
+  void setUp() {
+    var user = userRepository.findAll().get(0);
+    userId = user.getId();
+    var rooms = roomRepository.findAll();
+    checkIn = LocalDate.now().plusDays(30);
+
+    for (int i = 0; i < 12; i++) {
+      bookingRepository.save(
+          Booking.builder()
+              .user(user)
+              .room(rooms.get(i % rooms.size()))
+              .checkInDate(checkIn.plusDays(i * 3L))
+              .checkOutDate(checkIn.plusDays(i * 3L + 2))
+              .numberOfGuests(1)
+              .totalPrice(200.0)
+              .status(i % 2 == 0 ? Booking.BookingStatus.CONFIRMED : Booking.BookingStatus.PENDING)
+              .build());
+    }
+    entityManager.flush();
+    entityManager.clear();
+
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+  }
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  void getAllBookingsShouldLoadPageWithSingleStatement() {
+    var response = bookingService.getAllBookings(null, 0, 5, IncludeTotal.NONE);
+
+    assertEquals(5, response.getContent().size());
+    assertNotNull(response.getContent().get(0).getUserId());
+    assertNotNull(response.getContent().get(0).getRoomId());
+    assertEquals(1, statistics.getPrepareStatementCount());
+    assertEquals(0, statistics.getEntityLoadCount());
+  }
+
+  @Test
+  void getAllBookingsByStatusShouldLoadPageWithSingleStatement() {
+    var response =
+        bookingService.getAllBookings(BookingStatus.CONFIRMED, 0, 20, IncludeTotal.EXACT);
+
+    assertEquals(6, response.getContent().size());
+    assertEquals(6L, response.getTotalElements());
+    assertEquals(1, statistics.getPrepareStatementCount());
+    assertEquals(0, statistics.getEntityLoadCount());
+  }
+
+  @Test
+  void exportBookingsShouldStreamCsvRowsInRange() throws Exception {
+    var output = new ByteArrayOutputStream();
+
+    long exported =
+        bookingService.exportBookings(
+            checkIn, checkIn.plusDays(18), null, BookingExportFormat.CSV, output);
+
+    var lines = output.toString(StandardCharsets.UTF_8).split("\n");
+    assertEquals(6, exported);
+    assertEquals(7, lines.length);
+    assertTrue(lines[0].startsWith("id,userId,roomId,checkInDate"));
+    assertTrue(lines[1].contains("," + checkIn + ","));
+    assertEquals(0, statistics.getEntityLoadCount());
+  }
+
+  @Test
+  void exportBookingsShouldIncludeArchivedBookingsInRange() throws Exception {
+    var archivedCheckIn = checkIn.minusDays(400);
+    archivedBookingRepository.saveAndFlush(
+        ArchivedBooking.builder()
+            .id(900_000_001L)
+            .userId(userId)
+            .roomId(roomRepository.findAll().get(0).getId())
+            .checkInDate(archivedCheckIn)
+            .checkOutDate(archivedCheckIn.plusDays(2))
+            .numberOfGuests(1)
+            .status(Booking.BookingStatus.CHECKED_OUT)
+            .totalPrice(200.0)
+            .createdAt(archivedCheckIn.atStartOfDay())
+            .updatedAt(archivedCheckIn.plusDays(2).atStartOfDay())
+            .archivedAt(LocalDateTime.now())
+            .build());
+    var output = new ByteArrayOutputStream();
+
+    long exported =
+        bookingService.exportBookings(
+            archivedCheckIn,
+            archivedCheckIn.plusDays(1),
+            BookingStatus.CHECKED_OUT,
+            BookingExportFormat.CSV,
+            output);
+
+    var lines = output.toString(StandardCharsets.UTF_8).split("\n");
+    assertEquals(1, exported);
+    assertTrue(lines[1].startsWith("900000001,"));
+    assertTrue(lines[1].contains("," + archivedCheckIn + ","));
+  }
+
+  @Test
+  void exportBookingsShouldStreamNdjsonFilteredByStatus() throws Exception {
+    var output = new ByteArrayOutputStream();
+
+    long exported =
+        bookingService.exportBookings(
+            checkIn,
+            checkIn.plusDays(18),
+            BookingStatus.CONFIRMED,
+            BookingExportFormat.NDJSON,
+            output);
+
+    var lines = output.toString(StandardCharsets.UTF_8).split("\n");
+    assertEquals(3, exported);
+    assertEquals(3, lines.length);
+    for (var line : lines) {
+      assertTrue(line.startsWith("{") && line.contains("\"status\":\"CONFIRMED\""));
+    }
+  }
+
+  @Test
+  void createGroupBookingShouldBookEveryRoomInOneBatch() {
+    authenticate();
+    var rooms = roomRepository.findAll();
+    var groupCheckIn = checkIn.plusDays(120);
+    var request = groupRequest(groupCheckIn, rooms.get(0).getId(), rooms.get(1).getId());
+    long before = bookingRepository.count();
+
+    var response = bookingService.createGroupBooking(request);
+
+    assertEquals(2, response.getBookings().size());
+    assertEquals(before + 2, bookingRepository.count());
+    assertEquals(
+        rooms.get(0).getPricePerNight() * 2 + rooms.get(1).getPricePerNight() * 2,
+        response.getTotalPrice());
+    var booked = bookingService.getBookingById(response.getBookings().get(1).getId());
+    assertEquals(groupCheckIn, booked.getCheckInDate());
+    assertEquals(BookingStatus.PENDING, booked.getStatus());
+  }
+
+  @Test
+  void createGroupBookingShouldBookNothingWhenAnyRoomIsTaken() {
+    authenticate();
+    var rooms = roomRepository.findAll();
+    long before = bookingRepository.count();
+    var request = groupRequest(checkIn, rooms.get(1).getId(), rooms.get(0).getId());
+
+    assertThrows(
+        RoomNotAvailableException.class, () -> bookingService.createGroupBooking(request));
+    assertEquals(before, bookingRepository.count());
+  }
+
+  @Test
+  void createBookingConflictShouldSuggestNearestFreeStays() {
+    authenticate();
+    var room = roomRepository.findAll().get(0);
+    var request = new CreateBookingRequest();
+    request.setRoomId(room.getId());
+    request.setCheckInDate(checkIn);
+    request.setCheckOutDate(checkIn.plusDays(2));
+    request.setNumberOfGuests(1);
+
+    var exception =
+        assertThrows(RoomNotAvailableException.class, () -> bookingService.createBooking(request));
+
+    assertFalse(exception.getAlternatives().isEmpty());
+    for (var alternative : exception.getAlternatives()) {
+      assertEquals(room.getId(), alternative.getRoomId());
+      assertEquals(alternative.getCheckInDate().plusDays(2), alternative.getCheckOutDate());
+      assertTrue(
+          alternative.getCheckOutDate().isBefore(checkIn)
+              || alternative.getCheckInDate().isAfter(checkIn.plusDays(2)));
+    }
+    for (var alternative : exception.getSimilarRoomAlternatives()) {
+      assertNotEquals(room.getId(), alternative.getRoomId());
+    }
+  }
+
+  private void authenticate() {
+    var jwt =
+        Jwt.withTokenValue("token").header("alg", "none").claim("userId", userId).build();
+    SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt));
+  }
+
+  private static CreateGroupBookingRequest groupRequest(LocalDate checkInDate, Long... roomIds) {
+    var request = new CreateGroupBookingRequest();
+    request.setCheckInDate(checkInDate);
+    request.setCheckOutDate(checkInDate.plusDays(2));
+    request.setRooms(
+        Arrays.stream(roomIds)
+            .map(
+                roomId -> {
+                  var room = new GroupRoomRequest();
+                  room.setRoomId(roomId);
+                  room.setNumberOfGuests(1);
+                  return room;
+                })
+            .toList());
+    return request;
+  }
+}
@@ -0,0 +1,314 @@
+package com.nacrondx.suitesync.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import com.nacrondx.suitesync.entity.Booking;
+import com.nacrondx.suitesync.entity.Room;
+import com.nacrondx.suitesync.entity.User;
+import com.nacrondx.suitesync.event.BookingCancelledEvent;
+import com.nacrondx.suitesync.event.BookingChangedEvent;
+import com.nacrondx.suitesync.exception.ResourceNotFoundException;
+import com.nacrondx.suitesync.exception.RoomNotAvailableException;
+import com.nacrondx.suitesync.model.booking.BookingStatus;
+import com.nacrondx.suitesync.model.booking.CreateRoomTypeBookingRequest;
+import com.nacrondx.suitesync.model.booking.RoomType;
+import com.nacrondx.suitesync.model.booking.UpdateBookingRequest;
+import com.nacrondx.suitesync.repository.BookingRepository;
+import com.nacrondx.suitesync.repository.RoomRepository;
+import com.nacrondx.suitesync.repository.UserRepository;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+@ExtendWith(MockitoExtension.class)
+class BookingServiceTest {
+  private static final LocalDate CHECK_IN = LocalDate.of(2030, 6, 10);
+  private static final LocalDate CHECK_OUT = LocalDate.of(2030, 6, 13);
+
+  @Mock private BookingRepository bookingRepository;
+  @Mock private ApplicationEventPublisher eventPublisher;
+  @Mock private BookingHoldService bookingHoldService;
+  @Mock private RoomTypeInventoryService roomTypeInventoryService;
+  @Mock private RoomRepository roomRepository;
+  @Mock private RoomAssignmentService roomAssignmentService;
+  @Mock private UserRepository userRepository;
+
+  @InjectMocks private BookingService bookingService;
+
+  private Booking booking;
+
+  @BeforeEach
+  void setUp() {
+    var room =
+        Room.builder()
+            .id(5L)
+            .roomType(Room.RoomType.DOUBLE)
+            .maxOccupancy(2)
+            .pricePerNight(100.0)
+            .build();
+    booking =
+        Booking.builder()
+            .id(1L)
+            .user(User.builder().id(10L).build())
+            .room(room)
+            .checkInDate(CHECK_IN)
+            .checkOutDate(CHECK_OUT)
+            .numberOfGuests(2)
+            .totalPrice(300.0)
+            .status(Booking.BookingStatus.CONFIRMED)
+            .createdAt(LocalDateTime.now())
+            .updatedAt(LocalDateTime.now())
+            .build();
+    authenticate(10L, "GUEST");
+  }
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  void roomTypeBookingShouldSkipRoomHeldSinceCandidateScan() {
+    var heldRoom = room(6L);
+    var freeRoom = room(7L);
+    var candidateRoomIds = List.of(6L, 7L);
+    when(roomRepository.findFreeRoomIds(
+            "DOUBLE", 2, CHECK_IN.minusDays(Booking.MAX_STAY_NIGHTS), CHECK_IN, CHECK_OUT))
+        .thenReturn(candidateRoomIds);
+    when(roomAssignmentService.rank(candidateRoomIds, CHECK_IN, CHECK_OUT, 2))
+        .thenReturn(candidateRoomIds);
+    when(roomRepository.findAllByIdForUpdate(candidateRoomIds))
+        .thenReturn(List.of(heldRoom, freeRoom));
+    when(bookingRepository.findOverlappingRoomIds(candidateRoomIds, CHECK_IN, CHECK_OUT))
+        .thenReturn(List.of());
+    when(bookingHoldService.isHeld(6L, CHECK_IN, CHECK_OUT, null)).thenReturn(true);
+    when(userRepository.findById(10L)).thenReturn(Optional.of(booking.getUser()));
+    when(bookingRepository.save(any(Booking.class)))
+        .thenAnswer(
+            invocation -> {
+              Booking saved = invocation.getArgument(0);
+              saved.setCreatedAt(LocalDateTime.now());
+              saved.setUpdatedAt(LocalDateTime.now());
+              return saved;
+            });
+
+    var request = new CreateRoomTypeBookingRequest();
+    request.setRoomType(RoomType.DOUBLE);
+    request.setCheckInDate(CHECK_IN);
+    request.setCheckOutDate(CHECK_OUT);
+    request.setNumberOfGuests(2);
+    var response = bookingService.createRoomTypeBooking(request);
+
+    assertEquals(7L, response.getRoomId());
+    verify(roomTypeInventoryService).reserve(Room.RoomType.DOUBLE, CHECK_IN, CHECK_OUT, 1, true);
+  }
+
+  @Test
+  void updateBookingShouldOnlyCheckAddedNightsAndReprice() {
+    var request = new UpdateBookingRequest();
+    request.setCheckOutDate(CHECK_OUT.plusDays(2));
+    when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
+    when(bookingRepository.save(any(Booking.class))).thenAnswer(i -> i.getArgument(0));
+
+    var response = bookingService.updateBooking(1L, request);
+
+    verify(roomRepository).findAllByIdForUpdate(List.of(5L));
+    verify(bookingRepository).existsOverlappingBooking(5L, CHECK_OUT, CHECK_OUT.plusDays(2), 1L);
+    verify(roomTypeInventoryService).release(Room.RoomType.DOUBLE, CHECK_IN, CHECK_OUT);
+    verify(roomTypeInventoryService)
+        .reserve(Room.RoomType.DOUBLE, CHECK_IN, CHECK_OUT.plusDays(2), 1, false);
+    assertEquals(CHECK_IN, response.getCheckInDate());
+    assertEquals(CHECK_OUT.plusDays(2), response.getCheckOutDate());
+    assertEquals(500.0, response.getTotalPrice());
+    verify(eventPublisher).publishEvent(new BookingChangedEvent(List.of(1L), Set.of(5L)));
+  }
+
+  @Test
+  void updateBookingShouldNotCheckAvailabilityWhenStayShrinks() {
+    var request = new UpdateBookingRequest();
+    request.setCheckInDate(CHECK_IN.plusDays(1));
+    when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
+    when(bookingRepository.save(any(Booking.class))).thenAnswer(i -> i.getArgument(0));
+
+    var response = bookingService.updateBooking(1L, request);
+
+    verify(bookingRepository, never())
+        .existsOverlappingBooking(anyLong(), any(), any(), anyLong());
+    assertEquals(200.0, response.getTotalPrice());
+  }
+
+  @Test
+  void updateBookingShouldRejectConflictingAddedNights() {
+    var request = new UpdateBookingRequest();
+    request.setCheckInDate(CHECK_IN.minusDays(1));
+    when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
+    when(bookingRepository.existsOverlappingBooking(5L, CHECK_IN.minusDays(1), CHECK_IN, 1L))
+        .thenReturn(true);
+
+    assertThrows(RoomNotAvailableException.class, () -> bookingService.updateBooking(1L, request));
+
+    assertEquals(CHECK_IN, booking.getCheckInDate());
+    verify(bookingRepository, never()).save(any(Booking.class));
+  }
+
+  @Test
+  void updateBookingShouldRejectFinishedBooking() {
+    booking.setStatus(Booking.BookingStatus.CHECKED_OUT);
+    when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
+
+    assertThrows(
+        IllegalStateException.class,
+        () -> bookingService.updateBooking(1L, new UpdateBookingRequest()));
+    verify(bookingRepository).findById(1L);
+    verifyNoMoreInteractions(bookingRepository);
+  }
+
+  @Test
+  void updateBookingByAnotherGuestShouldLookMissing() {
+    authenticate(11L, "GUEST");
+    var request = new UpdateBookingRequest();
+    request.setNumberOfGuests(1);
+    when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
+
+    assertThrows(ResourceNotFoundException.class, () -> bookingService.updateBooking(1L, request));
+    assertEquals(2, booking.getNumberOfGuests());
+    verify(bookingRepository, never()).save(any(Booking.class));
+  }
+
+  @Test
+  void updateBookingByStaffShouldChangeAnyBooking() {
+    authenticate(11L, "STAFF");
+    var request = new UpdateBookingRequest();
+    request.setNumberOfGuests(1);
+    when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
+    when(bookingRepository.save(any(Booking.class))).thenAnswer(i -> i.getArgument(0));
+
+    var response = bookingService.updateBooking(1L, request);
+
+    assertEquals(1, response.getNumberOfGuests());
+  }
+
+  @Test
+  void cancelBookingShouldUpdateConditionallyAndPublishEvent() {
+    when(bookingRepository.updateStatusIfCurrentIn(
+            eq(1L),
+            anyList(),
+            eq(Booking.BookingStatus.CANCELLED),
+            any(LocalDateTime.class),
+            eq(10L),
+            eq(false)))
+        .thenReturn(1);
+    booking.setStatus(Booking.BookingStatus.CANCELLED);
+    when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
+
+    var response = bookingService.cancelBooking(1L);
+
+    assertEquals(BookingStatus.CANCELLED, response.getStatus());
+    verify(roomTypeInventoryService).releaseBookings(List.of(1L));
+    verify(eventPublisher).publishEvent(new BookingCancelledEvent(1L, 5L, CHECK_IN, CHECK_OUT));
+    verify(bookingRepository, never()).save(any(Booking.class));
+  }
+
+  @Test
+  void cancelBookingShouldRejectBookingThatIsNoLongerCancellable() {
+    booking.setStatus(Booking.BookingStatus.CHECKED_IN);
+    when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
+
+    assertThrows(IllegalStateException.class, () -> bookingService.cancelBooking(1L));
+    verify(eventPublisher, never()).publishEvent(any(Object.class));
+  }
+
+  @Test
+  void cancelBookingByAnotherGuestShouldLookMissing() {
+    authenticate(11L, "GUEST");
+    when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking));
+
+    assertThrows(ResourceNotFoundException.class, () -> bookingService.cancelBooking(1L));
+    verify(bookingRepository)
+        .updateStatusIfCurrentIn(
+            eq(1L),
+            anyList(),
+            eq(Booking.BookingStatus.CANCELLED),
+            any(LocalDateTime.class),
+            eq(11L),
+            eq(false));
+    verify(roomTypeInventoryService, never()).releaseBookings(anyList());
+    verify(eventPublisher, never()).publishEvent(any(Object.class));
+  }
+
+  @Test
+  void cancelBookingForMissingBookingShouldThrow() {
+    when(bookingRepository.findById(99L)).thenReturn(Optional.empty());
+
+    assertThrows(ResourceNotFoundException.class, () -> bookingService.cancelBooking(99L));
+  }
+
+  @Test
+  void addedNightsShouldCoverWholeStayWhenMovedPastOldDates() {
+    var added =
+        BookingService.addedNights(
+            CHECK_IN, CHECK_OUT, CHECK_IN.plusDays(7), CHECK_OUT.plusDays(7));
+
+    assertEquals(
+        List.of(new BookingService.NightRange(CHECK_IN.plusDays(7), CHECK_OUT.plusDays(7))),
+        added);
+  }
+
+  @Test
+  void addedNightsShouldReturnBothEdgesWhenStayGrowsOnBothSides() {
+    var added =
+        BookingService.addedNights(
+            CHECK_IN, CHECK_OUT, CHECK_IN.minusDays(1), CHECK_OUT.plusDays(1));
+
+    assertEquals(
+        List.of(
+            new BookingService.NightRange(CHECK_IN.minusDays(1), CHECK_IN),
+            new BookingService.NightRange(CHECK_OUT, CHECK_OUT.plusDays(1))),
+        added);
+  }
+
+  private static void authenticate(Long userId, String userType) {
+    var jwt =
+        Jwt.withTokenValue("token")
+            .header("alg", "none")
+            .claim("userId", userId)
+            .claim("userType", userType)
+            .build();
+    var authorities = List.of(new SimpleGrantedAuthority("ROLE_" + userType));
+    SecurityContextHolder.getContext()
+        .setAuthentication(new JwtAuthenticationToken(jwt, authorities));
+  }
+
+  private static Room room(Long id) {
+    return Room.builder()
+        .id(id)
+        .roomNumber(String.valueOf(100 + id))
+        .roomType(Room.RoomType.DOUBLE)
+        .maxOccupancy(2)
+        .pricePerNight(100.0)
+        .build();
+  }
+}
@@ -0,0 +1,101 @@
+package com.nacrondx.suitesync.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.nacrondx.suitesync.entity.Booking;
+import com.nacrondx.suitesync.repository.BookingRepository;
+import com.nacrondx.suitesync.repository.RoomRepository;
+import com.nacrondx.suitesync.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import java.time.Duration;
+import java.time.LocalDate;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class BookingStatusTransitionIntegrationTest {
+  @Autowired private BookingStatusTransitionService bookingStatusTransitionService;
+  @Autowired private SchedulerLeaseService schedulerLeaseService;
+  @Autowired private BookingRepository bookingRepository;
+  @Autowired private RoomRepository roomRepository;
+  @Autowired private UserRepository userRepository;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private EntityManager entityManager;
+
+  @Test
+  void applyTransitionsShouldExpirePendingAndCheckOutFinishedStays() {
+    var today = LocalDate.now();
+    var stalePending = saveBooking(today.minusDays(4), Booking.BookingStatus.PENDING);
+    var ongoingPending = saveBooking(today.minusDays(1), Booking.BookingStatus.PENDING);
+    var freshPending = saveBooking(today.plusDays(20), Booking.BookingStatus.PENDING);
+    var finishedStay = saveBooking(today.minusDays(4), Booking.BookingStatus.CHECKED_IN);
+    var ongoingStay = saveBooking(today.minusDays(1), Booking.BookingStatus.CHECKED_IN);
+    var confirmed = saveBooking(today.minusDays(1), Booking.BookingStatus.CONFIRMED);
+    entityManager.flush();
+    entityManager.clear();
+
+    bookingStatusTransitionService.applyTransitions();
+
+    assertEquals("CANCELLED", statusOf(stalePending));
+    assertEquals("PENDING", statusOf(ongoingPending));
+    assertEquals("PENDING", statusOf(freshPending));
+    assertEquals("CHECKED_OUT", statusOf(finishedStay));
+    assertEquals("CHECKED_IN", statusOf(ongoingStay));
+    assertEquals("CONFIRMED", statusOf(confirmed));
+  }
+
+  @Test
+  void pendingBookingMadeTodayForTodayShouldSurviveRun() {
+    var sameDay = saveBooking(LocalDate.now(), Booking.BookingStatus.PENDING);
+    entityManager.flush();
+    entityManager.clear();
+
+    bookingStatusTransitionService.applyTransitions();
+
+    assertEquals("PENDING", statusOf(sameDay));
+  }
+
+  @Test
+  void leaseShouldOnlyBeGrantedWhenFreeOrExpired() {
+    jdbcTemplate.update(
+        "INSERT INTO scheduler_leases (name, owner, lease_until) "
+            + "VALUES ('test-lease', 'other-node', now() + INTERVAL '1 minute')");
+
+    assertFalse(schedulerLeaseService.tryAcquire("test-lease", Duration.ofMinutes(1)));
+
+    jdbcTemplate.update(
+        "UPDATE scheduler_leases SET lease_until = now() - INTERVAL '1 second' "
+            + "WHERE name = 'test-lease'");
+
+    assertTrue(schedulerLeaseService.tryAcquire("test-lease", Duration.ofMinutes(1)));
+    assertTrue(schedulerLeaseService.tryAcquire("test-lease", Duration.ofMinutes(1)));
+  }
+
+  private Long saveBooking(LocalDate checkIn, Booking.BookingStatus status) {
+    return bookingRepository
+        .save(
+            Booking.builder()
+                .user(userRepository.findAll().get(0))
+                .room(roomRepository.findAll().get(0))
+                .checkInDate(checkIn)
+                .checkOutDate(checkIn.plusDays(2))
+                .numberOfGuests(1)
+                .totalPrice(200.0)
+                .status(status)
+                .build())
+        .getId();
+  }
+
+  private String statusOf(Long bookingId) {
+    return jdbcTemplate.queryForObject(
+        "SELECT status FROM bookings WHERE id = ?", String.class, bookingId);
+  }
+}
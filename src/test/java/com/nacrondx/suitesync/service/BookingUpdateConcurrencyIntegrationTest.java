@@ -0,0 +1,120 @@
+package com.nacrondx.suitesync.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+import com.nacrondx.suitesync.entity.Booking;
+import com.nacrondx.suitesync.entity.Room;
+import com.nacrondx.suitesync.entity.User;
+import com.nacrondx.suitesync.exception.RoomNotAvailableException;
+import com.nacrondx.suitesync.model.booking.UpdateBookingRequest;
+import com.nacrondx.suitesync.repository.BookingRepository;
+import com.nacrondx.suitesync.repository.RoomRepository;
+import com.nacrondx.suitesync.repository.UserRepository;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+
+/** Runs without a test transaction so both updates commit and really race for the room. */
+@SpringBootTest
+@ActiveProfiles("test")
+class BookingUpdateConcurrencyIntegrationTest {
+  @Autowired private BookingService bookingService;
+  @Autowired private BookingRepository bookingRepository;
+  @Autowired private RoomRepository roomRepository;
+  @Autowired private UserRepository userRepository;
+  @Autowired private RoomTypeInventoryService roomTypeInventoryService;
+
+  private final List<Long> bookingIds = new ArrayList<>();
+
+  @AfterEach
+  void tearDown() {
+    roomTypeInventoryService.releaseBookings(bookingIds);
+    bookingRepository.deleteAllById(bookingIds);
+  }
+
+  @Test
+  void concurrentExtensionsIntoSameNightsShouldNotBothSucceed() throws Exception {
+    var user = userRepository.findAll().get(0);
+    var room =
+        roomRepository.findAll().stream()
+            .filter(candidate -> candidate.getStatus() == Room.RoomStatus.AVAILABLE)
+            .findFirst()
+            .orElseThrow();
+    var start = LocalDate.now().plusDays(300);
+    var early = saveBooking(user, room, start, start.plusDays(2));
+    var late = saveBooking(user, room, start.plusDays(6), start.plusDays(8));
+
+    // Both stays grow into day start + 4, which only one of them may take
+    var extendEarly = new UpdateBookingRequest();
+    extendEarly.setCheckOutDate(start.plusDays(4));
+    var extendLate = new UpdateBookingRequest();
+    extendLate.setCheckInDate(start.plusDays(4));
+
+    var ready = new CountDownLatch(2);
+    var executor = Executors.newFixedThreadPool(2);
+    try {
+      var results =
+          List.of(
+              executor.submit(() -> update(user.getId(), early, extendEarly, ready)),
+              executor.submit(() -> update(user.getId(), late, extendLate, ready)));
+
+      int succeeded = 0;
+      for (Future<?> result : results) {
+        try {
+          result.get(30, TimeUnit.SECONDS);
+          succeeded++;
+        } catch (ExecutionException e) {
+          assertInstanceOf(RoomNotAvailableException.class, e.getCause());
+        }
+      }
+      assertEquals(1, succeeded);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private Void update(
+      Long userId, Long bookingId, UpdateBookingRequest request, CountDownLatch ready)
+      throws InterruptedException {
+    var jwt = Jwt.withTokenValue("token").header("alg", "none").claim("userId", userId).build();
+    SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt));
+    ready.countDown();
+    ready.await();
+    try {
+      bookingService.updateBooking(bookingId, request);
+      return null;
+    } finally {
+      SecurityContextHolder.clearContext();
+    }
+  }
+
+  private Long saveBooking(User user, Room room, LocalDate checkIn, LocalDate checkOut) {
+    var booking =
+        bookingRepository.save(
+            Booking.builder()
+                .user(user)
+                .room(room)
+                .checkInDate(checkIn)
+                .checkOutDate(checkOut)
+                .numberOfGuests(1)
+                .totalPrice(200.0)
+                .status(Booking.BookingStatus.CONFIRMED)
+                .build());
+    bookingIds.add(booking.getId());
+    return booking.getId();
+  }
+}
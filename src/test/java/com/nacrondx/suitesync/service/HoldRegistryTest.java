@@ -0,0 +1,92 @@
+package com.nacrondx.suitesync.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.nacrondx.suitesync.entity.BookingHold;
+import com.nacrondx.suitesync.repository.BookingHoldRepository;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class HoldRegistryTest {
+  private static final LocalDate CHECK_IN = LocalDate.of(2030, 3, 10);
+  private static final LocalDate CHECK_OUT = LocalDate.of(2030, 3, 12);
+
+  @Mock private BookingHoldRepository bookingHoldRepository;
+  @Mock private ScheduledExecutorService ticker;
+
+  private HoldRegistry holdRegistry;
+
+  @BeforeEach
+  void setUp() {
+    holdRegistry = new HoldRegistry(bookingHoldRepository, ticker);
+  }
+
+  @AfterEach
+  void tearDown() {
+    holdRegistry.shutdown();
+  }
+
+  @Test
+  void isHeldShouldOnlyMatchOverlappingHoldsOnSameRoom() {
+    holdRegistry.add(hold(1L, 5L, LocalDateTime.now().plusMinutes(10)));
+
+    assertTrue(holdRegistry.isHeld(5L, CHECK_IN.plusDays(1), CHECK_OUT.plusDays(3), null));
+    assertFalse(holdRegistry.isHeld(5L, CHECK_OUT.plusDays(1), CHECK_OUT.plusDays(3), null));
+    assertFalse(holdRegistry.isHeld(6L, CHECK_IN, CHECK_OUT, null));
+    assertFalse(holdRegistry.isHeld(5L, CHECK_IN, CHECK_OUT, 1L));
+  }
+
+  @Test
+  void timerWheelShouldExpireHoldAndDeleteItsRow() {
+    holdRegistry.add(hold(1L, 5L, LocalDateTime.now().plusSeconds(1)));
+    holdRegistry.add(hold(2L, 5L, LocalDateTime.now().plusMinutes(10)));
+
+    advance(5);
+
+    verify(bookingHoldRepository).deleteAllByIdInBatch(List.of(1L));
+    assertNull(holdRegistry.get(1L));
+    assertEquals(1, holdRegistry.size());
+  }
+
+  @Test
+  void removedHoldShouldNotBeDeletedAgainOnExpiry() {
+    holdRegistry.add(hold(1L, 5L, LocalDateTime.now().plusSeconds(1)));
+    holdRegistry.remove(1L);
+
+    advance(5);
+
+    verify(bookingHoldRepository, never()).deleteAllByIdInBatch(List.of(1L));
+    assertEquals(0, holdRegistry.size());
+  }
+
+  private void advance(int ticks) {
+    for (int i = 0; i < ticks; i++) {
+      holdRegistry.advance();
+    }
+  }
+
+  private static BookingHold hold(Long id, Long roomId, LocalDateTime expiresAt) {
+    return BookingHold.builder()
+        .id(id)
+        .roomId(roomId)
+        .userId(10L)
+        .checkInDate(CHECK_IN)
+        .checkOutDate(CHECK_OUT)
+        .expiresAt(expiresAt)
+        .build();
+  }
+}
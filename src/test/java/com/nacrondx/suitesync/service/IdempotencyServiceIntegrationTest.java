@@ -0,0 +1,70 @@
+package com.nacrondx.suitesync.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class IdempotencyServiceIntegrationTest {
+  private static final String HASH = "a".repeat(64);
+
+  @Autowired private IdempotencyService idempotencyService;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @Test
+  void staleReservationShouldBeTakenOver() {
+    insertReservation("stale-key", "now() - interval '2 hours'");
+
+    assertTrue(idempotencyService.begin(1L, "stale-key", HASH).isEmpty());
+    idempotencyService.abandon(1L, "stale-key");
+  }
+
+  @Test
+  void recentReservationShouldStillBeReportedAsRunning() {
+    insertReservation("running-key", "now()");
+
+    assertThrows(
+        IllegalStateException.class, () -> idempotencyService.begin(1L, "running-key", HASH));
+  }
+
+  @Test
+  void reservationPastWaitTimeoutShouldNotBeTakenOverWhileStillRunning() {
+    insertReservation("slow-key", "now() - interval '5 minutes'");
+
+    assertThrows(IllegalStateException.class, () -> idempotencyService.begin(1L, "slow-key", HASH));
+  }
+
+  @Test
+  void purgeShouldKeepRecentResponsesCached() {
+    var body = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+    assertTrue(idempotencyService.begin(1L, "recent-key", HASH).isEmpty());
+    var response = new IdempotencyService.StoredResponse(HASH, 201, "application/json", body);
+    idempotencyService.complete(1L, "recent-key", response);
+
+    idempotencyService.purgeExpired();
+    jdbcTemplate.update("DELETE FROM request_idempotency WHERE idempotency_key = 'recent-key'");
+
+    var replay = idempotencyService.begin(1L, "recent-key", HASH).orElseThrow();
+    assertArrayEquals(body, replay.body());
+  }
+
+  private void insertReservation(String key, String createdAt) {
+    jdbcTemplate.update(
+        "INSERT INTO request_idempotency (user_id, idempotency_key, request_hash, created_at) "
+            + "VALUES (1, ?, ?, "
+            + createdAt
+            + ")",
+        key,
+        HASH);
+  }
+}
@@ -0,0 +1,97 @@
+package com.nacrondx.suitesync.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class OccupancyHeatmapServiceTest {
+  private NamedParameterJdbcTemplate jdbcTemplate;
+  private OccupancyHeatmapService heatmapService;
+
+  @BeforeEach
+  void setUp() {
+    jdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+    heatmapService = new OccupancyHeatmapService(jdbcTemplate);
+    ReflectionTestUtils.setField(heatmapService, "days", 90);
+    ReflectionTestUtils.setField(heatmapService, "cacheTtlMillis", 30_000L);
+  }
+
+  @Test
+  void heatmapShouldBeCachedUntilEvicted() {
+    heatmapService.getHeatmap();
+    heatmapService.getHeatmap();
+    verifyRoomQueries(1);
+
+    heatmapService.evict();
+    heatmapService.getHeatmap();
+    verifyRoomQueries(2);
+  }
+
+  @Test
+  void heatmapBuiltDuringEvictionShouldNotBeCached() {
+    doAnswer(
+            invocation -> {
+              heatmapService.evict();
+              return null;
+            })
+        .when(jdbcTemplate)
+        .query(
+            startsWith("SELECT id"),
+            any(SqlParameterSource.class),
+            any(RowCallbackHandler.class));
+
+    heatmapService.getHeatmap();
+    heatmapService.getHeatmap();
+
+    verifyRoomQueries(2);
+  }
+
+  @Test
+  void setShouldFillRangesWithinAndAcrossWords() {
+    var words = new long[3];
+
+    OccupancyHeatmapService.set(words, 2, 5);
+    OccupancyHeatmapService.set(words, 60, 130);
+
+    assertArrayEquals(new long[] {0xF00000000000001CL, -1L, 0x3L}, words);
+  }
+
+  @Test
+  void runsShouldAlternateFreeAndOccupiedStartingWithFree() {
+    var words = new long[2];
+    OccupancyHeatmapService.set(words, 3, 8);
+    OccupancyHeatmapService.set(words, 60, 70);
+
+    assertEquals(List.of(3, 5, 52, 10, 20), OccupancyHeatmapService.runs(words, 90));
+  }
+
+  @Test
+  void runsShouldStartWithEmptyFreeRunWhenFirstNightIsOccupied() {
+    var words = new long[2];
+    OccupancyHeatmapService.set(words, 0, 90);
+
+    assertEquals(List.of(0, 90), OccupancyHeatmapService.runs(words, 90));
+    assertEquals(List.of(90), OccupancyHeatmapService.runs(new long[2], 90));
+  }
+
+  private void verifyRoomQueries(int count) {
+    verify(jdbcTemplate, times(count))
+        .query(
+            startsWith("SELECT id"),
+            any(SqlParameterSource.class),
+            any(RowCallbackHandler.class));
+  }
+}
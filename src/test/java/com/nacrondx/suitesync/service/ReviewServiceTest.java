@@ -0,0 +1,149 @@
+package com.nacrondx.suitesync.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.nacrondx.suitesync.exception.ResourceNotFoundException;
+import com.nacrondx.suitesync.repository.ReviewRepository;
+import com.nacrondx.suitesync.repository.ReviewRepository.ReviewView;
+import com.nacrondx.suitesync.repository.RoomRepository;
+import com.nacrondx.suitesync.repository.UserRepository;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+@ExtendWith(MockitoExtension.class)
+class ReviewServiceTest {
+  @Mock private ReviewRepository reviewRepository;
+  @Mock private RoomRepository roomRepository;
+  @Mock private UserRepository userRepository;
+
+  @InjectMocks private ReviewService reviewService;
+
+  @Test
+  void getReviewsByRoomIdShouldReturnFirstPageWithCursor() {
+    var reviews = reviewViews(3);
+    when(roomRepository.existsById(1L)).thenReturn(true);
+    when(reviewRepository.findPageByRoomId(eq(1L), any(Pageable.class))).thenReturn(reviews);
+
+    var response = reviewService.getReviewsByRoomId(1L, null, null, 2);
+
+    assertNotNull(response);
+    assertEquals(2, response.getContent().size());
+    assertEquals(2, response.getSize());
+    assertTrue(response.getHasNext());
+    assertEquals(2L, response.getNextBeforeId());
+    assertEquals(
+        OffsetDateTime.of(reviews.get(1).getCreatedAt(), ZoneOffset.UTC),
+        response.getNextBeforeCreatedAt());
+    assertEquals("John", response.getContent().get(0).getUserFirstName());
+  }
+
+  @Test
+  void getReviewsByRoomIdShouldUseKeysetQueryWhenCursorProvided() {
+    var cursor = OffsetDateTime.of(2024, 1, 10, 12, 0, 0, 0, ZoneOffset.UTC);
+    when(roomRepository.existsById(1L)).thenReturn(true);
+    when(reviewRepository.findPageByRoomIdBefore(
+            eq(1L), eq(cursor.toLocalDateTime()), eq(7L), any(Pageable.class)))
+        .thenReturn(reviewViews(1));
+
+    var response = reviewService.getReviewsByRoomId(1L, cursor, 7L, null);
+
+    assertEquals(1, response.getContent().size());
+    assertEquals(20, response.getSize());
+    assertFalse(response.getHasNext());
+    assertNull(response.getNextBeforeId());
+    verify(reviewRepository)
+        .findPageByRoomIdBefore(eq(1L), eq(cursor.toLocalDateTime()), eq(7L), any(Pageable.class));
+  }
+
+  @Test
+  void getReviewsByRoomIdWithPartialCursorShouldThrow() {
+    when(roomRepository.existsById(1L)).thenReturn(true);
+
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> reviewService.getReviewsByRoomId(1L, OffsetDateTime.now(), null, null));
+  }
+
+  @Test
+  void getReviewsByRoomIdForMissingRoomShouldThrow() {
+    when(roomRepository.existsById(99L)).thenReturn(false);
+
+    assertThrows(
+        ResourceNotFoundException.class,
+        () -> reviewService.getReviewsByRoomId(99L, null, null, null));
+  }
+
+  private List<ReviewView> reviewViews(int count) {
+    var now = LocalDateTime.of(2024, 1, 10, 12, 0);
+    return LongStream.rangeClosed(1, count)
+        .mapToObj(id -> reviewView(id, now.minusHours(id)))
+        .toList();
+  }
+
+  private ReviewView reviewView(long id, LocalDateTime createdAt) {
+    return new ReviewView() {
+      @Override
+      public Long getId() {
+        return id;
+      }
+
+      @Override
+      public Long getRoomId() {
+        return 1L;
+      }
+
+      @Override
+      public Long getUserId() {
+        return 10L;
+      }
+
+      @Override
+      public String getUserFirstName() {
+        return "John";
+      }
+
+      @Override
+      public String getUserLastName() {
+        return "Doe";
+      }
+
+      @Override
+      public Integer getRating() {
+        return 5;
+      }
+
+      @Override
+      public String getComment() {
+        return "Great room with excellent amenities";
+      }
+
+      @Override
+      public LocalDateTime getCreatedAt() {
+        return createdAt;
+      }
+
+      @Override
+      public LocalDateTime getUpdatedAt() {
+        return createdAt;
+      }
+    };
+  }
+}
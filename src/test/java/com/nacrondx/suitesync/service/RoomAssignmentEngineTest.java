@@ -0,0 +1,71 @@
+package com.nacrondx.suitesync.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.nacrondx.suitesync.service.RoomAssignmentEngine.RoomCalendar;
+import java.util.BitSet;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class RoomAssignmentEngineTest {
+  private final RoomAssignmentEngine engine = new RoomAssignmentEngine(2);
+
+  @Test
+  void bestFitShouldFillGapExactlyInsteadOfOpenCalendar() {
+    var open = calendar(1L, 2);
+    var gapped = calendar(2L, 2, 0, 4, 10, 14);
+
+    var room = engine.bestFit(List.of(open, gapped), 5, 9, 2);
+
+    assertEquals(2L, room.roomId());
+  }
+
+  @Test
+  void bestFitShouldAvoidLeavingUnsellableGap() {
+    var tight = calendar(1L, 2, 0, 4, 12, 14);
+    var loose = calendar(2L, 2, 0, 4);
+
+    // In room 1 the stay would strand days 10-11 between it and the next booking
+    var room = engine.bestFit(List.of(tight, loose), 5, 9, 2);
+
+    assertEquals(2L, room.roomId());
+  }
+
+  @Test
+  void bestFitShouldSkipBusyAndTooSmallRooms() {
+    var busy = calendar(1L, 4, 6, 7);
+    var small = calendar(2L, 1);
+    var fits = calendar(3L, 4);
+
+    assertEquals(3L, engine.bestFit(List.of(busy, small, fits), 5, 9, 2).roomId());
+    assertNull(engine.bestFit(List.of(busy, small), 5, 9, 2));
+  }
+
+  @Test
+  void rankShouldOrderByFitThenSmallestRoom() {
+    var large = calendar(1L, 4);
+    var small = calendar(2L, 2);
+    var exact = calendar(3L, 4, 0, 4, 10, 14);
+
+    var ranked = engine.rank(List.of(large, small, exact), 5, 9, 2);
+
+    assertEquals(List.of(3L, 2L, 1L), ranked.stream().map(RoomCalendar::roomId).toList());
+  }
+
+  @Test
+  void shortGapsShouldCountOnlyBoundedShortRuns() {
+    var days = calendar(1L, 2, 3, 5, 8, 10, 14, 20, 30, 31).days();
+
+    assertEquals(1, engine.shortGaps(days));
+    assertEquals(0, engine.shortGaps(new BitSet()));
+  }
+
+  private static RoomCalendar calendar(Long roomId, int maxOccupancy, int... busyRanges) {
+    var calendar = new RoomCalendar(roomId, maxOccupancy, new BitSet());
+    for (int i = 0; i < busyRanges.length; i += 2) {
+      calendar.occupy(busyRanges[i], busyRanges[i + 1]);
+    }
+    return calendar;
+  }
+}
@@ -0,0 +1,96 @@
+package com.nacrondx.suitesync.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import com.nacrondx.suitesync.entity.Booking;
+import com.nacrondx.suitesync.entity.Room;
+import com.nacrondx.suitesync.repository.BookingRepository;
+import com.nacrondx.suitesync.repository.RoomRepository;
+import com.nacrondx.suitesync.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import java.time.LocalDate;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class RoomAssignmentIntegrationTest {
+  @Autowired private RoomAssignmentService roomAssignmentService;
+  @Autowired private BookingRepository bookingRepository;
+  @Autowired private RoomRepository roomRepository;
+  @Autowired private UserRepository userRepository;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private EntityManager entityManager;
+
+  @Test
+  void reoptimiseShouldMoveFlexibleBookingOutOfFragmentedRoom() {
+    var room =
+        roomRepository.findAll().stream()
+            .filter(candidate -> candidate.getRoomType() == Room.RoomType.DOUBLE)
+            .filter(candidate -> candidate.getStatus() == Room.RoomStatus.AVAILABLE)
+            .findFirst()
+            .orElseThrow();
+    var start = LocalDate.now().plusDays(20);
+
+    saveBooking(room, start, start.plusDays(4), false);
+    saveBooking(room, start.plusDays(12), start.plusDays(16), false);
+    var flexible = saveBooking(room, start.plusDays(6), start.plusDays(9), true);
+    var fixed = saveBooking(room, start.plusDays(30), start.plusDays(33), false);
+    entityManager.flush();
+    entityManager.clear();
+
+    roomAssignmentService.reoptimise();
+
+    assertNotEquals(room.getId(), roomOf(flexible));
+    assertEquals(room.getId(), roomOf(fixed));
+  }
+
+  @Test
+  void rankShouldPreferRoomWhereStayFillsGap() {
+    var rooms =
+        roomRepository.findAll().stream()
+            .filter(candidate -> candidate.getRoomType() == Room.RoomType.DOUBLE)
+            .filter(candidate -> candidate.getStatus() == Room.RoomStatus.AVAILABLE)
+            .limit(2)
+            .toList();
+    var start = LocalDate.now().plusDays(20);
+    var gapped = rooms.get(1);
+    saveBooking(gapped, start, start.plusDays(4), false);
+    saveBooking(gapped, start.plusDays(10), start.plusDays(14), false);
+    entityManager.flush();
+
+    var ranked =
+        roomAssignmentService.rank(
+            rooms.stream().map(Room::getId).toList(), start.plusDays(5), start.plusDays(9), 1);
+
+    assertEquals(gapped.getId(), ranked.get(0));
+  }
+
+  private Long saveBooking(
+      Room room, LocalDate checkInDate, LocalDate checkOutDate, boolean roomFlexible) {
+    return bookingRepository
+        .save(
+            Booking.builder()
+                .user(userRepository.findAll().get(0))
+                .room(room)
+                .checkInDate(checkInDate)
+                .checkOutDate(checkOutDate)
+                .numberOfGuests(1)
+                .totalPrice(200.0)
+                .status(Booking.BookingStatus.CONFIRMED)
+                .roomFlexible(roomFlexible)
+                .build())
+        .getId();
+  }
+
+  private Long roomOf(Long bookingId) {
+    return jdbcTemplate.queryForObject(
+        "SELECT room_id FROM bookings WHERE id = ?", Long.class, bookingId);
+  }
+}
@@ -0,0 +1,100 @@
+package com.nacrondx.suitesync.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.nacrondx.suitesync.entity.Room;
+import com.nacrondx.suitesync.repository.RoomSearchFilter;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+class RoomCatalogTest {
+  private static final RoomSearchFilter NO_FILTER =
+      new RoomSearchFilter(null, null, null, null, null, null);
+
+  private RoomCatalog catalog;
+
+  @BeforeEach
+  void setUp() {
+    catalog =
+        RoomCatalog.builder(2)
+            .add(4, Room.RoomType.DOUBLE, Room.RoomStatus.AVAILABLE, 2, 150.0, 30.0, 1, 0b011L)
+            .add(1, Room.RoomType.SINGLE, Room.RoomStatus.AVAILABLE, 1, 90.0, 18.0, null, 0b001L)
+            .add(2, Room.RoomType.DOUBLE, Room.RoomStatus.OCCUPIED, 3, 150.0, 32.0, 2, 0b111L)
+            .add(3, Room.RoomType.SUITE, Room.RoomStatus.MAINTENANCE, 4, 300.0, 60.0, 3, 0b111L)
+            .add(5, Room.RoomType.SUITE, Room.RoomStatus.AVAILABLE, 4, 320.0, 65.0, 2, 0b101L)
+            .build();
+  }
+
+  @Test
+  void searchShouldListAvailableAndOccupiedRoomsById() {
+    var match = catalog.search(NO_FILTER, Sort.unsorted(), 0, 20).orElseThrow();
+
+    assertEquals(List.of(1L, 2L, 4L, 5L), match.roomIds());
+    assertEquals(4, match.totalElements());
+    assertEquals(5, catalog.size());
+  }
+
+  @Test
+  void searchShouldApplyEveryFilter() {
+    var filter = new RoomSearchFilter(Room.RoomType.DOUBLE, 3, 100.0, 200.0, null, 0b100L);
+
+    var match = catalog.search(filter, Sort.unsorted(), 0, 20).orElseThrow();
+
+    assertEquals(List.of(2L), match.roomIds());
+    assertEquals(1, match.totalElements());
+  }
+
+  @Test
+  void searchShouldBreakPriceTiesByIdInSortDirection() {
+    var ascending = Sort.by(Sort.Order.asc("pricePerNight"), Sort.Order.asc("id"));
+    var descending = Sort.by(Sort.Order.desc("pricePerNight"), Sort.Order.desc("id"));
+
+    assertEquals(
+        List.of(1L, 2L, 4L, 5L),
+        catalog.search(NO_FILTER, ascending, 0, 20).orElseThrow().roomIds());
+    assertEquals(
+        List.of(5L, 4L, 2L, 1L),
+        catalog.search(NO_FILTER, descending, 0, 20).orElseThrow().roomIds());
+  }
+
+  @Test
+  void searchShouldSortMissingFloorsLastWhenAscending() {
+    var ascending = Sort.by(Sort.Order.asc("floor"), Sort.Order.asc("id"));
+    var descending = Sort.by(Sort.Order.desc("floor"), Sort.Order.desc("id"));
+
+    assertEquals(
+        List.of(4L, 2L, 5L, 1L),
+        catalog.search(NO_FILTER, ascending, 0, 20).orElseThrow().roomIds());
+    assertEquals(
+        List.of(1L, 5L, 2L, 4L),
+        catalog.search(NO_FILTER, descending, 0, 20).orElseThrow().roomIds());
+  }
+
+  @Test
+  void searchShouldReturnRequestedPageAndFullCount() {
+    var sort = Sort.by(Sort.Order.desc("size"), Sort.Order.desc("id"));
+
+    var match = catalog.search(NO_FILTER, sort, 1, 2).orElseThrow();
+
+    assertEquals(List.of(2L, 4L), match.roomIds());
+    assertEquals(4, match.totalElements());
+  }
+
+  @Test
+  void searchShouldLeaveTextQueriesStaysAndOtherSortsToDatabase() {
+    var text = new RoomSearchFilter(null, null, null, null, "sea view", null);
+    var stay = LocalDate.of(2026, 7, 1);
+    var dated = new RoomSearchFilter(null, null, null, null, null, null, stay, stay.plusDays(2));
+    var rating = Sort.by(Sort.Order.desc("averageRating"), Sort.Order.desc("id"));
+    var mixed = Sort.by(Sort.Order.asc("pricePerNight"), Sort.Order.desc("id"));
+
+    assertTrue(catalog.search(text, Sort.unsorted(), 0, 20).isEmpty());
+    assertTrue(catalog.search(dated, Sort.unsorted(), 0, 20).isEmpty());
+    assertTrue(catalog.search(NO_FILTER, rating, 0, 20).isEmpty());
+    assertTrue(catalog.search(NO_FILTER, mixed, 0, 20).isEmpty());
+  }
+}
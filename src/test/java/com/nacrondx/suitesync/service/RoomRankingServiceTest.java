@@ -0,0 +1,156 @@
+package com.nacrondx.suitesync.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import com.nacrondx.suitesync.entity.Room;
+import com.nacrondx.suitesync.event.ReviewCreatedEvent;
+import com.nacrondx.suitesync.event.RoomChangedEvent;
+import com.nacrondx.suitesync.model.room.RoomType;
+import com.nacrondx.suitesync.repository.RoomRepository;
+import com.nacrondx.suitesync.repository.RoomRepository.RoomRatingView;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class RoomRankingServiceTest {
+  @Mock private RoomRepository roomRepository;
+
+  @InjectMocks private RoomRankingService roomRankingService;
+
+  @BeforeEach
+  void setUp() {
+    ReflectionTestUtils.setField(roomRankingService, "priorWeight", 5.0);
+    when(roomRepository.findRatingStatistics())
+        .thenReturn(
+            List.of(
+                statistics(1L, "101", Room.RoomType.SINGLE, 99.99, 1, 5),
+                statistics(2L, "102", Room.RoomType.DOUBLE, 149.99, 20, 90),
+                statistics(3L, "201", Room.RoomType.SUITE, 299.99, 10, 30),
+                statistics(4L, "202", Room.RoomType.SUITE, 349.99, 0, 0)));
+    roomRankingService.rebuild();
+  }
+
+  @Test
+  void topRatedRoomsShouldBeOrderedByBayesianAverage() {
+    var rooms = roomRankingService.getTopRatedRooms(null, null, null, null);
+
+    assertEquals(List.of(2L, 1L, 4L, 3L), rooms.stream().map(r -> r.getRoomId()).toList());
+    assertEquals(4.5, rooms.get(0).getAverageRating());
+    assertNull(rooms.get(2).getAverageRating());
+  }
+
+  @Test
+  void singlePerfectReviewShouldNotOutrankManyGoodReviews() {
+    var rooms = roomRankingService.getTopRatedRooms(2, null, null, null);
+
+    assertEquals(2L, rooms.get(0).getRoomId());
+    assertTrue(rooms.get(0).getScore() > rooms.get(1).getScore());
+  }
+
+  @Test
+  void topRatedRoomsShouldApplyTypeAndPriceFilters() {
+    var suites = roomRankingService.getTopRatedRooms(null, RoomType.SUITE, null, null);
+    var cheap = roomRankingService.getTopRatedRooms(null, null, null, 150.0);
+
+    assertEquals(List.of(4L, 3L), suites.stream().map(r -> r.getRoomId()).toList());
+    assertEquals(List.of(2L, 1L), cheap.stream().map(r -> r.getRoomId()).toList());
+  }
+
+  @Test
+  void reviewCreatedShouldMoveOnlyTheReviewedRoom() {
+    for (int i = 0; i < 20; i++) {
+      roomRankingService.onReviewCreated(new ReviewCreatedEvent(100L + i, 3L, 5));
+    }
+
+    var rooms = roomRankingService.getTopRatedRooms(null, null, null, null);
+
+    assertEquals(List.of(2L, 3L, 1L, 4L), rooms.stream().map(r -> r.getRoomId()).toList());
+    assertEquals(30L, rooms.get(1).getReviewCount());
+  }
+
+  @Test
+  void roomChangesShouldUpdateAndRemoveRankedRooms() {
+    var room =
+        Room.builder()
+            .id(3L)
+            .roomNumber("201")
+            .roomType(Room.RoomType.SUITE)
+            .pricePerNight(120.0)
+            .build();
+
+    roomRankingService.onRoomChanged(RoomChangedEvent.saved(room));
+    var cheap = roomRankingService.getTopRatedRooms(null, null, null, 150.0);
+    assertEquals(List.of(2L, 1L, 3L), cheap.stream().map(r -> r.getRoomId()).toList());
+
+    roomRankingService.onRoomChanged(RoomChangedEvent.deleted(room));
+    var all = roomRankingService.getTopRatedRooms(null, null, null, null);
+    assertEquals(List.of(2L, 1L, 4L), all.stream().map(r -> r.getRoomId()).toList());
+  }
+
+  @Test
+  void roomTypeChangeShouldMoveRoomBetweenTypeRankings() {
+    var room =
+        Room.builder()
+            .id(2L)
+            .roomNumber("102")
+            .roomType(Room.RoomType.SUITE)
+            .pricePerNight(149.99)
+            .build();
+
+    roomRankingService.onRoomChanged(RoomChangedEvent.saved(room));
+
+    var suites = roomRankingService.getTopRatedRooms(null, RoomType.SUITE, null, null);
+    var doubles = roomRankingService.getTopRatedRooms(null, RoomType.DOUBLE, null, null);
+    assertEquals(List.of(2L, 4L, 3L), suites.stream().map(r -> r.getRoomId()).toList());
+    assertTrue(doubles.isEmpty());
+  }
+
+  private RoomRatingView statistics(
+      Long roomId,
+      String roomNumber,
+      Room.RoomType roomType,
+      Double pricePerNight,
+      long reviewCount,
+      long ratingSum) {
+    return new RoomRatingView() {
+      @Override
+      public Long getRoomId() {
+        return roomId;
+      }
+
+      @Override
+      public String getRoomNumber() {
+        return roomNumber;
+      }
+
+      @Override
+      public Room.RoomType getRoomType() {
+        return roomType;
+      }
+
+      @Override
+      public Double getPricePerNight() {
+        return pricePerNight;
+      }
+
+      @Override
+      public Long getReviewCount() {
+        return reviewCount;
+      }
+
+      @Override
+      public Long getRatingSum() {
+        return ratingSum;
+      }
+    };
+  }
+}
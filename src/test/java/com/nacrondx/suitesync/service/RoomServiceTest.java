@@ -1,33 +1,64 @@
 package com.nacrondx.suitesync.service;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import com.nacrondx.suitesync.entity.Room;
+import com.nacrondx.suitesync.model.room.IncludeTotal;
+import com.nacrondx.suitesync.model.room.OccupancyFacet;
+import com.nacrondx.suitesync.model.room.RoomResponse;
+import com.nacrondx.suitesync.model.room.RoomSortOption;
 import com.nacrondx.suitesync.model.room.RoomType;
+import com.nacrondx.suitesync.repository.BookingRepository;
+import com.nacrondx.suitesync.repository.RoomFacetCounts;
 import com.nacrondx.suitesync.repository.RoomRepository;
+import com.nacrondx.suitesync.repository.RoomSearchFilter;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
 
 @ExtendWith(MockitoExtension.class)
 class RoomServiceTest {
   @Mock private RoomRepository roomRepository;
+  @Mock private BookingRepository bookingRepository;
+  @Mock private OccupancyCalendarService occupancyCalendarService;
+  @Mock private AmenityDictionaryService amenityDictionaryService;
+  @Mock private RoomCatalogService roomCatalogService;
+  @Mock private BookingHoldService bookingHoldService;
+  @Mock private AlternativeWindowService alternativeWindowService;
+
+  @Spy private TotalCountService totalCountService = new TotalCountService(null, null);
 
   @InjectMocks private RoomService roomService;
 
@@ -101,10 +132,12 @@ class RoomServiceTest {
     var pageable = PageRequest.of(0, 20);
     var roomPage = new PageImpl<>(sampleRooms, pageable, sampleRooms.size());
 
-    when(roomRepository.findAll(any(Specification.class), any(Pageable.class)))
+    when(roomRepository.searchSlice(any(RoomSearchFilter.class), any(Pageable.class)))
         .thenReturn(roomPage);
 
-    var response = roomService.getAllRooms(null, null, null, null, null, null, null, null);
+    var response =
+        roomService.getAllRooms(
+            null, null, null, null, null, null, null, null, null, null, null, null, null);
 
     assertNotNull(response);
     assertEquals(3, response.getContent().size());
@@ -113,7 +146,7 @@ class RoomServiceTest {
     assertEquals(3L, response.getTotalElements());
     assertEquals(1, response.getTotalPages());
 
-    verify(roomRepository).findAll(any(Specification.class), any(Pageable.class));
+    verify(roomRepository).search(any(RoomSearchFilter.class), any(Pageable.class));
   }
 
   @Test
@@ -122,18 +155,31 @@ class RoomServiceTest {
     var pageable = PageRequest.of(0, 20);
     var roomPage = new PageImpl<>(filteredRooms, pageable, filteredRooms.size());
 
-    when(roomRepository.findAll(any(Specification.class), any(Pageable.class)))
+    when(roomRepository.searchSlice(any(RoomSearchFilter.class), any(Pageable.class)))
         .thenReturn(roomPage);
 
     var response =
-        roomService.getAllRooms(null, null, null, RoomType.SINGLE, null, null, null, null);
+        roomService.getAllRooms(
+            null,
+            null,
+            null,
+            RoomType.SINGLE,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null);
 
     assertNotNull(response);
     assertEquals(1, response.getContent().size());
     assertEquals("101", response.getContent().get(0).getRoomNumber());
     assertEquals(RoomType.SINGLE, response.getContent().get(0).getRoomType());
 
-    verify(roomRepository).findAll(any(Specification.class), any(Pageable.class));
+    verify(roomRepository).search(any(RoomSearchFilter.class), any(Pageable.class));
   }
 
   @Test
@@ -142,16 +188,18 @@ class RoomServiceTest {
     var pageable = PageRequest.of(0, 20);
     var roomPage = new PageImpl<>(filteredRooms, pageable, filteredRooms.size());
 
-    when(roomRepository.findAll(any(Specification.class), any(Pageable.class)))
+    when(roomRepository.searchSlice(any(RoomSearchFilter.class), any(Pageable.class)))
         .thenReturn(roomPage);
 
-    var response = roomService.getAllRooms(null, null, 2, null, null, null, null, null);
+    var response =
+        roomService.getAllRooms(
+            null, null, 2, null, null, null, null, null, null, null, null, null, null);
 
     assertNotNull(response);
     assertEquals(2, response.getContent().size());
     assertTrue(response.getContent().stream().allMatch(room -> room.getMaxOccupancy() >= 2));
 
-    verify(roomRepository).findAll(any(Specification.class), any(Pageable.class));
+    verify(roomRepository).search(any(RoomSearchFilter.class), any(Pageable.class));
   }
 
   @Test
@@ -160,10 +208,12 @@ class RoomServiceTest {
     var pageable = PageRequest.of(0, 20);
     var roomPage = new PageImpl<>(filteredRooms, pageable, filteredRooms.size());
 
-    when(roomRepository.findAll(any(Specification.class), any(Pageable.class)))
+    when(roomRepository.searchSlice(any(RoomSearchFilter.class), any(Pageable.class)))
         .thenReturn(roomPage);
 
-    var response = roomService.getAllRooms(null, null, null, null, 50.0, 200.0, null, null);
+    var response =
+        roomService.getAllRooms(
+            null, null, null, null, 50.0, 200.0, null, null, null, null, null, null, null);
 
     assertNotNull(response);
     assertEquals(2, response.getContent().size());
@@ -171,7 +221,7 @@ class RoomServiceTest {
         response.getContent().stream()
             .allMatch(room -> room.getPricePerNight() >= 50.0 && room.getPricePerNight() <= 200.0));
 
-    verify(roomRepository).findAll(any(Specification.class), any(Pageable.class));
+    verify(roomRepository).search(any(RoomSearchFilter.class), any(Pageable.class));
   }
 
   @Test
@@ -180,10 +230,13 @@ class RoomServiceTest {
     var pageable = PageRequest.of(0, 2);
     var roomPage = new PageImpl<>(firstPageRooms, pageable, sampleRooms.size());
 
-    when(roomRepository.findAll(any(Specification.class), any(Pageable.class)))
+    when(roomRepository.searchSlice(any(RoomSearchFilter.class), any(Pageable.class)))
         .thenReturn(roomPage);
+    when(roomRepository.countMatching(any(RoomSearchFilter.class))).thenReturn(3L);
 
-    var response = roomService.getAllRooms(null, null, null, null, null, null, 0, 2);
+    var response =
+        roomService.getAllRooms(
+            null, null, null, null, null, null, 0, 2, null, null, null, null, null);
 
     assertNotNull(response);
     assertEquals(2, response.getContent().size());
@@ -192,7 +245,62 @@ class RoomServiceTest {
     assertEquals(3L, response.getTotalElements());
     assertEquals(2, response.getTotalPages());
 
-    verify(roomRepository).findAll(any(Specification.class), any(Pageable.class));
+    verify(roomRepository).search(any(RoomSearchFilter.class), any(Pageable.class));
+  }
+
+  @Test
+  void getAllRoomsWithoutTotalShouldSkipCount() {
+    var pageable = PageRequest.of(0, 2);
+    var roomSlice = new SliceImpl<>(List.of(singleRoom, doubleRoom), pageable, true);
+
+    when(roomRepository.searchSlice(any(RoomSearchFilter.class), any(Pageable.class)))
+        .thenReturn(roomSlice);
+
+    var response =
+        roomService.getAllRooms(
+            null, null, null, null, null, null, 0, 2, null, IncludeTotal.NONE, null, null, null);
+
+    assertEquals(2, response.getContent().size());
+    assertTrue(response.getHasNext());
+    assertNull(response.getTotalElements());
+    assertNull(response.getTotalPages());
+
+    verify(roomRepository, never()).countMatching(any(RoomSearchFilter.class));
+  }
+
+  @Test
+  void getAllRoomsWithExactTotalShouldReuseCachedCount() {
+    ReflectionTestUtils.setField(totalCountService, "countCacheTtlMillis", 60_000L);
+    var pageable = PageRequest.of(0, 2);
+    var roomSlice = new SliceImpl<>(List.of(singleRoom, doubleRoom), pageable, true);
+
+    when(roomRepository.searchSlice(any(RoomSearchFilter.class), any(Pageable.class)))
+        .thenReturn(roomSlice);
+    when(roomRepository.countMatching(any(RoomSearchFilter.class))).thenReturn(3L);
+
+    roomService.getAllRooms(
+        null, null, null, null, null, null, 0, 2, null, IncludeTotal.EXACT, null, null, null);
+    var response =
+        roomService.getAllRooms(
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            0,
+            2,
+            null,
+            IncludeTotal.ESTIMATE,
+            null,
+            null,
+            null);
+
+    assertEquals(3L, response.getTotalElements());
+    assertEquals(2, response.getTotalPages());
+    assertFalse(response.getTotalEstimated());
+
+    verify(roomRepository, times(1)).countMatching(any(RoomSearchFilter.class));
   }
 
   @Test
@@ -201,17 +309,19 @@ class RoomServiceTest {
     var pageable = PageRequest.of(1, 2);
     var roomPage = new PageImpl<>(secondPageRooms, pageable, sampleRooms.size());
 
-    when(roomRepository.findAll(any(Specification.class), any(Pageable.class)))
+    when(roomRepository.searchSlice(any(RoomSearchFilter.class), any(Pageable.class)))
         .thenReturn(roomPage);
 
-    var response = roomService.getAllRooms(null, null, null, null, null, null, 1, 2);
+    var response =
+        roomService.getAllRooms(
+            null, null, null, null, null, null, 1, 2, null, null, null, null, null);
 
     assertNotNull(response);
     assertEquals(1, response.getContent().size());
     assertEquals(1, response.getPage());
     assertEquals(2, response.getSize());
 
-    verify(roomRepository).findAll(any(Specification.class), any(Pageable.class));
+    verify(roomRepository).search(any(RoomSearchFilter.class), any(Pageable.class));
   }
 
   @Test
@@ -220,11 +330,12 @@ class RoomServiceTest {
     var pageable = PageRequest.of(0, 20);
     var roomPage = new PageImpl<>(filteredRooms, pageable, filteredRooms.size());
 
-    when(roomRepository.findAll(any(Specification.class), any(Pageable.class)))
+    when(roomRepository.searchSlice(any(RoomSearchFilter.class), any(Pageable.class)))
         .thenReturn(roomPage);
 
     var response =
-        roomService.getAllRooms(null, null, 2, RoomType.DOUBLE, 100.0, 200.0, null, null);
+        roomService.getAllRooms(
+            null, null, 2, RoomType.DOUBLE, 100.0, 200.0, null, null, null, null, null, null, null);
 
     assertNotNull(response);
     assertEquals(1, response.getContent().size());
@@ -232,7 +343,7 @@ class RoomServiceTest {
     assertEquals(RoomType.DOUBLE, response.getContent().get(0).getRoomType());
     assertEquals(2, response.getContent().get(0).getMaxOccupancy());
 
-    verify(roomRepository).findAll(any(Specification.class), any(Pageable.class));
+    verify(roomRepository).search(any(RoomSearchFilter.class), any(Pageable.class));
   }
 
   @Test
@@ -241,10 +352,12 @@ class RoomServiceTest {
     var pageable = PageRequest.of(0, 20);
     var emptyPage = new PageImpl<>(emptyList, pageable, 0);
 
-    when(roomRepository.findAll(any(Specification.class), any(Pageable.class)))
+    when(roomRepository.searchSlice(any(RoomSearchFilter.class), any(Pageable.class)))
         .thenReturn(emptyPage);
 
-    var response = roomService.getAllRooms(null, null, null, null, null, null, null, null);
+    var response =
+        roomService.getAllRooms(
+            null, null, null, null, null, null, null, null, null, null, null, null, null);
 
     assertNotNull(response);
     assertEquals(0, response.getContent().size());
@@ -253,7 +366,7 @@ class RoomServiceTest {
     assertEquals(0L, response.getTotalElements());
     assertEquals(0, response.getTotalPages());
 
-    verify(roomRepository).findAll(any(Specification.class), any(Pageable.class));
+    verify(roomRepository).search(any(RoomSearchFilter.class), any(Pageable.class));
   }
 
   @Test
@@ -261,16 +374,18 @@ class RoomServiceTest {
     var pageable = PageRequest.of(0, 20);
     var roomPage = new PageImpl<>(sampleRooms, pageable, sampleRooms.size());
 
-    when(roomRepository.findAll(any(Specification.class), any(Pageable.class)))
+    when(roomRepository.searchSlice(any(RoomSearchFilter.class), any(Pageable.class)))
         .thenReturn(roomPage);
 
-    var response = roomService.getAllRooms(null, null, null, null, null, null, null, null);
+    var response =
+        roomService.getAllRooms(
+            null, null, null, null, null, null, null, null, null, null, null, null, null);
 
     assertNotNull(response);
     assertEquals(0, response.getPage());
     assertEquals(20, response.getSize());
 
-    verify(roomRepository).findAll(any(Specification.class), any(Pageable.class));
+    verify(roomRepository).search(any(RoomSearchFilter.class), any(Pageable.class));
   }
 
   @Test
@@ -278,10 +393,12 @@ class RoomServiceTest {
     var pageable = PageRequest.of(0, 20);
     var roomPage = new PageImpl<>(List.of(singleRoom), pageable, 1);
 
-    when(roomRepository.findAll(any(Specification.class), any(Pageable.class)))
+    when(roomRepository.searchSlice(any(RoomSearchFilter.class), any(Pageable.class)))
         .thenReturn(roomPage);
 
-    var response = roomService.getAllRooms(null, null, null, null, null, null, null, null);
+    var response =
+        roomService.getAllRooms(
+            null, null, null, null, null, null, null, null, null, null, null, null, null);
 
     assertNotNull(response);
     assertEquals(1, response.getContent().size());
@@ -302,25 +419,27 @@ class RoomServiceTest {
     assertNotNull(roomResponse.getCreatedAt());
     assertNotNull(roomResponse.getUpdatedAt());
 
-    verify(roomRepository).findAll(any(Specification.class), any(Pageable.class));
+    verify(roomRepository).search(any(RoomSearchFilter.class), any(Pageable.class));
   }
 
   @Test
-  void getAllRoomsWithDatesShouldPassDatesToSpecification() {
+  void getAllRoomsWithDatesShouldReturnRooms() {
     var checkIn = LocalDate.of(2024, 12, 20);
     var checkOut = LocalDate.of(2024, 12, 25);
     var pageable = PageRequest.of(0, 20);
     var roomPage = new PageImpl<>(sampleRooms, pageable, sampleRooms.size());
 
-    when(roomRepository.findAll(any(Specification.class), any(Pageable.class)))
+    when(roomRepository.searchSlice(any(RoomSearchFilter.class), any(Pageable.class)))
         .thenReturn(roomPage);
 
-    var response = roomService.getAllRooms(checkIn, checkOut, null, null, null, null, null, null);
+    var response =
+        roomService.getAllRooms(
+            checkIn, checkOut, null, null, null, null, null, null, null, null, null, null, null);
 
     assertNotNull(response);
     assertEquals(3, response.getContent().size());
 
-    verify(roomRepository).findAll(any(Specification.class), any(Pageable.class));
+    verify(roomRepository).search(any(RoomSearchFilter.class), any(Pageable.class));
   }
 
   @Test
@@ -329,16 +448,18 @@ class RoomServiceTest {
     var pageable = PageRequest.of(0, 20);
     var roomPage = new PageImpl<Room>(filteredRooms, pageable, filteredRooms.size());
 
-    when(roomRepository.findAll(any(Specification.class), any(Pageable.class)))
+    when(roomRepository.searchSlice(any(RoomSearchFilter.class), any(Pageable.class)))
         .thenReturn(roomPage);
 
-    var response = roomService.getAllRooms(null, null, null, null, 100.0, null, null, null);
+    var response =
+        roomService.getAllRooms(
+            null, null, null, null, 100.0, null, null, null, null, null, null, null, null);
 
     assertNotNull(response);
     assertEquals(2, response.getContent().size());
     assertTrue(response.getContent().stream().allMatch(room -> room.getPricePerNight() >= 100.0));
 
-    verify(roomRepository).findAll(any(Specification.class), any(Pageable.class));
+    verify(roomRepository).search(any(RoomSearchFilter.class), any(Pageable.class));
   }
 
   @Test
@@ -347,16 +468,18 @@ class RoomServiceTest {
     var pageable = PageRequest.of(0, 20);
     var roomPage = new PageImpl<>(filteredRooms, pageable, filteredRooms.size());
 
-    when(roomRepository.findAll(any(Specification.class), any(Pageable.class)))
+    when(roomRepository.searchSlice(any(RoomSearchFilter.class), any(Pageable.class)))
         .thenReturn(roomPage);
 
-    var response = roomService.getAllRooms(null, null, null, null, null, 200.0, null, null);
+    var response =
+        roomService.getAllRooms(
+            null, null, null, null, null, 200.0, null, null, null, null, null, null, null);
 
     assertNotNull(response);
     assertEquals(2, response.getContent().size());
     assertTrue(response.getContent().stream().allMatch(room -> room.getPricePerNight() <= 200.0));
 
-    verify(roomRepository).findAll(any(Specification.class), any(Pageable.class));
+    verify(roomRepository).search(any(RoomSearchFilter.class), any(Pageable.class));
   }
 
   @Test
@@ -382,10 +505,12 @@ class RoomServiceTest {
     var pageable = PageRequest.of(0, 20);
     var roomPage = new PageImpl<>(List.of(roomWithImages), pageable, 1);
 
-    when(roomRepository.findAll(any(Specification.class), any(Pageable.class)))
+    when(roomRepository.searchSlice(any(RoomSearchFilter.class), any(Pageable.class)))
         .thenReturn(roomPage);
 
-    var response = roomService.getAllRooms(null, null, null, null, null, null, null, null);
+    var response =
+        roomService.getAllRooms(
+            null, null, null, null, null, null, null, null, null, null, null, null, null);
 
     assertNotNull(response);
     assertEquals(1, response.getContent().size());
@@ -396,6 +521,248 @@ class RoomServiceTest {
     assertEquals("https://example.com/room301-1.jpg", roomResponse.getImages().get(0).toString());
     assertEquals("https://example.com/room301-2.jpg", roomResponse.getImages().get(1).toString());
 
-    verify(roomRepository).findAll(any(Specification.class), any(Pageable.class));
+    verify(roomRepository).search(any(RoomSearchFilter.class), any(Pageable.class));
+  }
+
+  @Test
+  void getAllRoomsWithFacetsShouldMapGroupedCounts() {
+    ReflectionTestUtils.setField(roomService, "priceBucketWidth", 50.0);
+    var pageable = PageRequest.of(0, 20);
+    when(roomRepository.searchSlice(any(RoomSearchFilter.class), any(Pageable.class)))
+        .thenReturn(new SliceImpl<>(sampleRooms, pageable, false));
+    when(roomRepository.countFacets(any(RoomSearchFilter.class), eq(50.0)))
+        .thenReturn(
+            new RoomFacetCounts(
+                Map.of(Room.RoomType.SINGLE, 1L, Room.RoomType.DOUBLE, 2L),
+                new TreeMap<>(Map.of(1, 1L, 2, 2L)),
+                new TreeMap<>(Map.of(1, 1L, 2, 2L))));
+
+    var response =
+        roomService.getAllRooms(
+            null, null, null, null, null, null, null, null, null, null, true, null, null);
+
+    var facets = response.getFacets();
+    assertEquals(2, facets.getRoomTypes().size());
+    assertEquals(
+        List.of(1, 2),
+        facets.getMaxOccupancies().stream().map(OccupancyFacet::getMaxOccupancy).toList());
+    assertEquals(100.0, facets.getPriceRanges().get(1).getMinPrice());
+    assertEquals(150.0, facets.getPriceRanges().get(1).getMaxPrice());
+    assertEquals(2L, facets.getPriceRanges().get(1).getCount());
+  }
+
+  @Test
+  void getAllRoomsWithoutFacetsShouldNotGroup() {
+    var pageable = PageRequest.of(0, 20);
+    when(roomRepository.searchSlice(any(RoomSearchFilter.class), any(Pageable.class)))
+        .thenReturn(new SliceImpl<>(sampleRooms, pageable, false));
+
+    var response =
+        roomService.getAllRooms(
+            null, null, null, null, null, null, null, null, null, null, null, null, null);
+
+    assertNull(response.getFacets());
+    verify(roomRepository, never()).countFacets(any(), anyDouble());
+  }
+
+  @Test
+  void getAllRoomsWithTextShouldFilterAndSortByRelevance() {
+    when(roomRepository.searchSlice(any(RoomSearchFilter.class), any(Pageable.class)))
+        .thenReturn(new SliceImpl<>(List.of(), PageRequest.of(0, 20), false));
+
+    roomService.getAllRooms(
+        null, null, null, null, null, null, null, null, null, null, null, "  sea view ", null);
+
+    verify(roomRepository)
+        .searchSlice(
+            new RoomSearchFilter(null, null, null, null, "sea view", null),
+            PageRequest.of(0, 20, Sort.by(Sort.Order.desc("relevance"), Sort.Order.asc("id"))));
+  }
+
+  @Test
+  void getAllRoomsWithAmenitiesShouldFilterOnRequiredMask() {
+    var amenities = List.of("WiFi", "Mini Bar");
+    when(amenityDictionaryService.required(amenities)).thenReturn(0b110L);
+    when(roomRepository.searchSlice(any(RoomSearchFilter.class), any(Pageable.class)))
+        .thenReturn(new SliceImpl<>(List.of(), PageRequest.of(0, 20), false));
+
+    roomService.getAllRooms(
+        null, null, null, null, null, null, null, null, null, null, null, null, amenities);
+
+    verify(roomRepository)
+        .searchSlice(
+            eq(new RoomSearchFilter(null, null, null, null, null, 0b110L)), any(Pageable.class));
+  }
+
+  @Test
+  void getAllRoomsWithStayShouldFilterOnDates() {
+    var checkIn = LocalDate.now().plusDays(10);
+    var checkOut = checkIn.plusDays(2);
+    when(roomRepository.searchSlice(any(RoomSearchFilter.class), any(Pageable.class)))
+        .thenReturn(new SliceImpl<>(List.of(), PageRequest.of(0, 20), false));
+
+    roomService.getAllRooms(
+        checkIn, checkOut, null, null, null, null, null, null, null, null, null, null, null);
+
+    verify(roomRepository)
+        .searchSlice(
+            eq(new RoomSearchFilter(null, null, null, null, null, null, checkIn, checkOut)),
+            any(Pageable.class));
+  }
+
+  @Test
+  void getAllRoomsWithOnlyOneStayDateShouldThrow() {
+    var checkIn = LocalDate.now().plusDays(10);
+
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            roomService.getAllRooms(
+                checkIn, null, null, null, null, null, null, null, null, null, null, null, null));
+    verifyNoInteractions(roomRepository);
+  }
+
+  @Test
+  void getAllRoomsShouldServeCatalogMatchWithoutSearchQuery() {
+    var pageable =
+        PageRequest.of(0, 2, Sort.by(Sort.Order.desc("pricePerNight"), Sort.Order.desc("id")));
+    when(roomCatalogService.search(any(RoomSearchFilter.class), eq(pageable)))
+        .thenReturn(Optional.of(new RoomCatalog.Match(List.of(3L, 2L), 3)));
+    when(roomRepository.findAllById(List.of(3L, 2L))).thenReturn(List.of(doubleRoom, suiteRoom));
+
+    var response =
+        roomService.getAllRooms(
+            null,
+            null,
+            null,
+            null,
+            null,
+            null,
+            0,
+            2,
+            RoomSortOption.PRICE_DESC,
+            null,
+            null,
+            null,
+            null);
+
+    assertEquals(List.of(3L, 2L), response.getContent().stream().map(RoomResponse::getId).toList());
+    assertTrue(response.getHasNext());
+    assertEquals(3L, response.getTotalElements());
+    verify(roomRepository, never()).searchSlice(any(RoomSearchFilter.class), any(Pageable.class));
+    verify(roomRepository, never()).countMatching(any(RoomSearchFilter.class));
+  }
+
+  @Test
+  void checkRoomAvailabilityShouldReportHeldRoomAsUnavailable() {
+    var checkIn = LocalDate.now().plusDays(10);
+    var checkOut = checkIn.plusDays(2);
+    when(roomRepository.findById(1L)).thenReturn(Optional.of(singleRoom));
+    when(bookingHoldService.isHeld(1L, checkIn, checkOut, null)).thenReturn(true);
+    when(alternativeWindowService.find(singleRoom, checkIn, checkOut))
+        .thenReturn(AlternativeWindowService.Alternatives.NONE);
+
+    var response = roomService.checkRoomAvailability(1L, checkIn, checkOut);
+
+    assertFalse(response.getAvailable());
+  }
+
+  @Test
+  void checkRoomsAvailabilityShouldUseOneRoomQueryAndOneOverlapQuery() {
+    var checkIn = LocalDate.now().plusDays(10);
+    var checkOut = checkIn.plusDays(2);
+    var roomIds = List.of(3L, 1L, 2L);
+    when(roomRepository.findAllById(roomIds)).thenReturn(sampleRooms);
+    when(bookingRepository.findOverlappingRoomIds(List.of(2L, 3L), checkIn, checkOut))
+        .thenReturn(List.of(2L));
+
+    var response =
+        roomService.checkRoomsAvailability(checkIn, checkOut, roomIds, 2, null, null, null);
+
+    assertEquals(2, response.getRooms().size());
+    assertEquals(2L, response.getRooms().get(0).getRoomId());
+    assertFalse(response.getRooms().get(0).getAvailable());
+    assertEquals(3L, response.getRooms().get(1).getRoomId());
+    assertTrue(response.getRooms().get(1).getAvailable());
+    assertEquals(599.98, response.getRooms().get(1).getTotalPrice(), 0.001);
+    assertEquals(1, response.getAvailableCount());
+    verify(roomRepository, times(1)).findAllById(roomIds);
+    verify(bookingRepository, times(1))
+        .findOverlappingRoomIds(List.of(2L, 3L), checkIn, checkOut);
+  }
+
+  @Test
+  void checkRoomsAvailabilityShouldReportHeldRoomsAsUnavailable() {
+    var checkIn = LocalDate.now().plusDays(10);
+    var checkOut = checkIn.plusDays(2);
+    var roomIds = List.of(1L, 2L, 3L);
+    when(roomRepository.findAllById(roomIds)).thenReturn(sampleRooms);
+    when(bookingHoldService.findHeldRoomIds(roomIds, checkIn, checkOut)).thenReturn(List.of(3L));
+
+    var response =
+        roomService.checkRoomsAvailability(checkIn, checkOut, roomIds, null, null, null, null);
+
+    assertTrue(response.getRooms().get(0).getAvailable());
+    assertTrue(response.getRooms().get(1).getAvailable());
+    assertEquals(3L, response.getRooms().get(2).getRoomId());
+    assertFalse(response.getRooms().get(2).getAvailable());
+    assertEquals(2, response.getAvailableCount());
+  }
+
+  @Test
+  void checkRoomsAvailabilityShouldRejectFiltersMatchingTooManyRooms() {
+    var checkIn = LocalDate.now().plusDays(10);
+    var checkOut = checkIn.plusDays(2);
+    when(roomRepository.searchSlice(any(RoomSearchFilter.class), any(Pageable.class)))
+        .thenReturn(new SliceImpl<>(sampleRooms, PageRequest.of(0, 100), true));
+
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            roomService.checkRoomsAvailability(
+                checkIn, checkOut, null, null, RoomType.DOUBLE, null, null));
+    verifyNoInteractions(bookingRepository);
+  }
+
+  @Test
+  void getRoomCalendarShouldEncodeTakenDaysAsBitmap() {
+    var from = LocalDate.now().plusDays(10);
+    var to = from.plusDays(31);
+    var taken = new BitSet();
+    taken.set(1, 4);
+    taken.set(9);
+    when(roomRepository.findById(1L)).thenReturn(Optional.of(singleRoom));
+    when(occupancyCalendarService.roomDays(1L, from, to)).thenReturn(taken);
+
+    var response = roomService.getRoomCalendar(1L, from, to);
+
+    assertEquals(31, response.getDays());
+    assertArrayEquals(new byte[] {0x0E, 0x02}, response.getTakenDays());
+    assertEquals(4, response.getTakenDayCount());
+    assertEquals(1, response.getPrices().size());
+    assertEquals(31, response.getPrices().get(0).getNights());
+    assertEquals(99.99, response.getPrices().get(0).getPricePerNight(), 0.001);
+  }
+
+  @Test
+  void getRoomCalendarShouldMarkEveryDayOfUnavailableRoom() {
+    var from = LocalDate.now().plusDays(10);
+    singleRoom.setStatus(Room.RoomStatus.MAINTENANCE);
+    when(roomRepository.findById(1L)).thenReturn(Optional.of(singleRoom));
+
+    var response = roomService.getRoomCalendar(1L, from, from.plusDays(12));
+
+    assertArrayEquals(new byte[] {(byte) 0xFF, 0x0F}, response.getTakenDays());
+    verify(occupancyCalendarService, never()).roomDays(any(), any(), any());
+  }
+
+  @Test
+  void getRoomCalendarShouldRejectRangeLongerThanAYear() {
+    var from = LocalDate.now();
+    when(roomRepository.findById(1L)).thenReturn(Optional.of(singleRoom));
+
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> roomService.getRoomCalendar(1L, from, from.plusDays(400)));
   }
 }
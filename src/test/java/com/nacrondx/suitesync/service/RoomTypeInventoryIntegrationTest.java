@@ -0,0 +1,122 @@
+package com.nacrondx.suitesync.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.nacrondx.suitesync.entity.Room;
+import com.nacrondx.suitesync.exception.RoomNotAvailableException;
+import com.nacrondx.suitesync.model.booking.CreateRoomTypeBookingRequest;
+import com.nacrondx.suitesync.model.booking.RoomType;
+import com.nacrondx.suitesync.repository.RoomRepository;
+import com.nacrondx.suitesync.repository.UserRepository;
+import java.time.LocalDate;
+import java.util.HashSet;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class RoomTypeInventoryIntegrationTest {
+  private static final Room.RoomType ROOM_TYPE = Room.RoomType.DOUBLE;
+
+  @Autowired private BookingService bookingService;
+  @Autowired private RoomTypeInventoryService roomTypeInventoryService;
+  @Autowired private RoomRepository roomRepository;
+  @Autowired private UserRepository userRepository;
+
+  private LocalDate checkIn;
+  private int sellableRooms;
+
+  @BeforeEach
+  void setUp() {
+    var userId = userRepository.findAll().get(0).getId();
+    var jwt = Jwt.withTokenValue("token").header("alg", "none").claim("userId", userId).build();
+    SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt));
+
+    checkIn = LocalDate.now().plusYears(3);
+    sellableRooms =
+        (int)
+            roomRepository.findAll().stream()
+                .filter(room -> room.getRoomType() == ROOM_TYPE)
+                .filter(
+                    room ->
+                        room.getStatus() == Room.RoomStatus.AVAILABLE
+                            || room.getStatus() == Room.RoomStatus.OCCUPIED)
+                .count();
+  }
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  void roomTypeBookingsShouldFillDistinctRoomsUntilInventoryRunsOut() {
+    assertTrue(sellableRooms > 0, "Sample data should contain sellable rooms of the type");
+    assertEquals(
+        sellableRooms,
+        roomTypeInventoryService.availableRooms(ROOM_TYPE, checkIn, checkIn.plusDays(2)));
+
+    var assignedRoomIds = new HashSet<Long>();
+    for (int i = 0; i < sellableRooms; i++) {
+      assignedRoomIds.add(bookingService.createRoomTypeBooking(request()).getRoomId());
+    }
+
+    assertEquals(sellableRooms, assignedRoomIds.size());
+    assertEquals(
+        0, roomTypeInventoryService.availableRooms(ROOM_TYPE, checkIn, checkIn.plusDays(2)));
+    assertThrows(
+        RoomNotAvailableException.class, () -> bookingService.createRoomTypeBooking(request()));
+  }
+
+  @Test
+  void cancellingShouldReturnNightsToInventory() {
+    var booking = bookingService.createRoomTypeBooking(request());
+    assertEquals(
+        sellableRooms - 1,
+        roomTypeInventoryService.availableRooms(ROOM_TYPE, checkIn, checkIn.plusDays(2)));
+
+    bookingService.cancelBooking(booking.getId());
+
+    assertEquals(
+        sellableRooms,
+        roomTypeInventoryService.availableRooms(ROOM_TYPE, checkIn, checkIn.plusDays(2)));
+    assertEquals(
+        sellableRooms,
+        roomTypeInventoryService.availableRooms(
+            ROOM_TYPE, checkIn.plusDays(1), checkIn.plusDays(5)));
+  }
+
+  @Test
+  void stayStartingOnCheckOutDayShouldNotSeeThatRoomAsFree() {
+    bookingService.createRoomTypeBooking(request());
+
+    assertEquals(
+        sellableRooms - 1,
+        roomTypeInventoryService.availableRooms(
+            ROOM_TYPE, checkIn.plusDays(2), checkIn.plusDays(5)));
+    assertEquals(
+        sellableRooms,
+        roomTypeInventoryService.availableRooms(
+            ROOM_TYPE, checkIn.plusDays(3), checkIn.plusDays(5)));
+  }
+
+  private CreateRoomTypeBookingRequest request() {
+    var request = new CreateRoomTypeBookingRequest();
+    request.setRoomType(RoomType.fromValue(ROOM_TYPE.name()));
+    request.setCheckInDate(checkIn);
+    request.setCheckOutDate(checkIn.plusDays(2));
+    request.setNumberOfGuests(1);
+    return request;
+  }
+}
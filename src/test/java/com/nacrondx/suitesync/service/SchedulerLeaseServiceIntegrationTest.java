@@ -0,0 +1,65 @@
+package com.nacrondx.suitesync.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class SchedulerLeaseServiceIntegrationTest {
+  private static final Duration LEASE_DURATION = Duration.ofMinutes(5);
+
+  @Autowired private SchedulerLeaseService schedulerLeaseService;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @Test
+  void heldLeaseShouldBeRenewed() {
+    assertTrue(schedulerLeaseService.tryAcquire("test-renew", LEASE_DURATION));
+
+    assertTrue(schedulerLeaseService.renew("test-renew", LEASE_DURATION));
+  }
+
+  @Test
+  void expiredLeaseShouldNotBeRenewed() {
+    assertTrue(schedulerLeaseService.tryAcquire("test-expired", LEASE_DURATION));
+    expire("test-expired");
+
+    assertFalse(schedulerLeaseService.renew("test-expired", LEASE_DURATION));
+  }
+
+  @Test
+  void renewableLeaseShouldStopBatchesOnceLeaseRunsOut() {
+    var batches = new ArrayList<Integer>();
+
+    schedulerLeaseService.runWithRenewableLease(
+        "test-batches",
+        LEASE_DURATION,
+        lease -> {
+          int batch = 0;
+          do {
+            batches.add(++batch);
+            if (batch == 2) {
+              expire("test-batches");
+            }
+          } while (batch < 5 && lease.renew());
+        });
+
+    assertEquals(2, batches.size());
+  }
+
+  private void expire(String name) {
+    jdbcTemplate.update(
+        "UPDATE scheduler_leases SET lease_until = now() - interval '1 minute' WHERE name = ?",
+        name);
+  }
+}
@@ -0,0 +1,66 @@
+package com.nacrondx.suitesync.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.nacrondx.suitesync.entity.Room;
+import com.nacrondx.suitesync.event.RoomChangedEvent;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class TotalCountServiceTest {
+  private final SliceImpl<Integer> firstPage =
+      new SliceImpl<>(List.of(1), PageRequest.of(0, 1), true);
+
+  private TotalCountService totalCountService;
+  private AtomicLong rooms;
+  private AtomicLong bookings;
+
+  @BeforeEach
+  void setUp() {
+    totalCountService = new TotalCountService(null, null);
+    ReflectionTestUtils.setField(totalCountService, "countCacheTtlMillis", 60_000L);
+    rooms = new AtomicLong(10);
+    bookings = new AtomicLong(20);
+  }
+
+  @Test
+  void exactCountShouldBeCachedUnderKey() {
+    assertEquals(10, roomTotal());
+    rooms.set(11);
+
+    assertEquals(10, roomTotal());
+  }
+
+  @Test
+  void roomChangeShouldDropOnlyRoomCounts() {
+    assertEquals(10, roomTotal());
+    assertEquals(20, bookingTotal());
+    rooms.set(11);
+    bookings.set(21);
+
+    totalCountService.onRoomChanged(
+        RoomChangedEvent.saved(Room.builder().id(1L).roomType(Room.RoomType.SINGLE).build()));
+
+    assertEquals(11, roomTotal());
+    assertEquals(20, bookingTotal());
+  }
+
+  private long roomTotal() {
+    return resolve("rooms:all", rooms);
+  }
+
+  private long bookingTotal() {
+    return resolve("bookings:all", bookings);
+  }
+
+  private long resolve(String key, AtomicLong count) {
+    return totalCountService
+        .resolve(TotalCountService.Mode.EXACT, firstPage, key, count::get, () -> -1)
+        .totalElements();
+  }
+}
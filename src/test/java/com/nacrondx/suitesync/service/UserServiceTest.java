@@ -6,6 +6,8 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -26,6 +28,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
@@ -35,6 +38,8 @@ class UserServiceTest {
   @Mock private PasswordEncoder passwordEncoder;
   @Mock private EmailService emailService;
 
+  @Spy private TotalCountService totalCountService = new TotalCountService(null, null);
+
   @InjectMocks private UserService userService;
 
   private CreateUserRequest createUserRequest;
@@ -321,10 +326,10 @@ class UserServiceTest {
         new org.springframework.data.domain.PageImpl<>(
             users, org.springframework.data.domain.PageRequest.of(0, 20), 2);
 
-    when(userRepository.findAll(any(org.springframework.data.domain.Pageable.class)))
+    when(userRepository.findSliceBy(any(org.springframework.data.domain.Pageable.class)))
         .thenReturn(page);
 
-    var response = userService.getAllUsers(null, 0, 20);
+    var response = userService.getAllUsers(null, 0, 20, null);
 
     assertNotNull(response);
     assertEquals(2, response.getContent().size());
@@ -332,7 +337,7 @@ class UserServiceTest {
     assertEquals(20, response.getSize());
     assertEquals(2L, response.getTotalElements());
     assertEquals(1, response.getTotalPages());
-    verify(userRepository).findAll(any(org.springframework.data.domain.Pageable.class));
+    verify(userRepository).findSliceBy(any(org.springframework.data.domain.Pageable.class));
   }
 
   @Test
@@ -341,15 +346,15 @@ class UserServiceTest {
         new org.springframework.data.domain.PageImpl<>(
             List.of(savedUser), org.springframework.data.domain.PageRequest.of(0, 20), 1);
 
-    when(userRepository.findAll(any(org.springframework.data.domain.Pageable.class)))
+    when(userRepository.findSliceBy(any(org.springframework.data.domain.Pageable.class)))
         .thenReturn(page);
 
-    var response = userService.getAllUsers(null, null, null);
+    var response = userService.getAllUsers(null, null, null, null);
 
     assertNotNull(response);
     assertEquals(0, response.getPage());
     assertEquals(20, response.getSize());
-    verify(userRepository).findAll(any(org.springframework.data.domain.Pageable.class));
+    verify(userRepository).findSliceBy(any(org.springframework.data.domain.Pageable.class));
   }
 
   @Test
@@ -368,34 +373,24 @@ class UserServiceTest {
             .updatedAt(LocalDateTime.now())
             .build();
 
-    var staffUser =
-        User.builder()
-            .id(2L)
-            .email("staff@example.com")
-            .firstName("Staff")
-            .lastName("User")
-            .phoneNumber("+9876543210")
-            .passwordHash("$2a$10$hashedpassword")
-            .userType(User.UserType.STAFF)
-            .status(User.UserStatus.ACTIVE)
-            .createdAt(LocalDateTime.now())
-            .updatedAt(LocalDateTime.now())
-            .build();
-
-    var users = List.of(customerUser, staffUser);
-    var page =
-        new org.springframework.data.domain.PageImpl<>(
-            users, org.springframework.data.domain.PageRequest.of(0, 20), 2);
+    var slice =
+        new org.springframework.data.domain.SliceImpl<>(
+            List.of(customerUser), org.springframework.data.domain.PageRequest.of(0, 1), true);
 
-    when(userRepository.findAll(any(org.springframework.data.domain.Pageable.class)))
-        .thenReturn(page);
+    when(userRepository.findSliceByUserType(
+            eq(User.UserType.CUSTOMER), any(org.springframework.data.domain.Pageable.class)))
+        .thenReturn(slice);
+    when(userRepository.countByUserType(User.UserType.CUSTOMER)).thenReturn(2L);
 
-    var response = userService.getAllUsers(UserType.CUSTOMER, 0, 20);
+    var response = userService.getAllUsers(UserType.CUSTOMER, 0, 1, null);
 
     assertNotNull(response);
     assertEquals(1, response.getContent().size());
     assertEquals(UserType.CUSTOMER, response.getContent().get(0).getUserType());
-    verify(userRepository).findAll(any(org.springframework.data.domain.Pageable.class));
+    assertEquals(2L, response.getTotalElements());
+    assertEquals(2, response.getTotalPages());
+    verify(userRepository, never())
+        .findSliceBy(any(org.springframework.data.domain.Pageable.class));
   }
 
   @Test